@@ -0,0 +1,154 @@
+package ru.mityushin.jobfinder.server.aspect;
+
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.ReflectionUtils;
+import ru.mityushin.jobfinder.server.dto.PageDTO;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded rendering of arguments and results for debug logs.
+ * Entities are rendered by identifier only, so lazy associations are never touched.
+ */
+final class LogRenderer {
+
+    static final int MAX_ELEMENTS = 10;
+    static final int MAX_LENGTH = 256;
+    static final int MAX_DEPTH = 3;
+
+    private static final Map<Class<?>, Optional<Field>> ENTITY_IDS = new ConcurrentHashMap<>();
+
+    private LogRenderer() {
+    }
+
+    static String render(Object value) {
+        StringBuilder sb = new StringBuilder();
+        append(sb, value, 0);
+        return sb.toString();
+    }
+
+    static String renderArgs(Object[] args) {
+        StringBuilder sb = new StringBuilder();
+        appendArray(sb, args, 0);
+        return sb.toString();
+    }
+
+    private static void append(StringBuilder sb, Object value, int depth) {
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof CharSequence) {
+            appendTruncated(sb, (CharSequence) value);
+        } else if (depth >= MAX_DEPTH
+                && (value instanceof Collection || value instanceof Map || value.getClass().isArray())) {
+            sb.append(value.getClass().getSimpleName()).append("{...}");
+        } else if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            appendElements(sb, collection.iterator(), collection.size(), depth);
+        } else if (value instanceof Map) {
+            appendMap(sb, (Map<?, ?>) value, depth);
+        } else if (value.getClass().isArray()) {
+            appendArray(sb, value, depth);
+        } else if (value instanceof ResponseEntity) {
+            ResponseEntity<?> entity = (ResponseEntity<?>) value;
+            sb.append('<').append(entity.getStatusCodeValue()).append(',');
+            append(sb, entity.getBody(), depth);
+            sb.append('>');
+        } else if (value instanceof PageDTO) {
+            PageDTO<?> page = (PageDTO<?>) value;
+            sb.append("PageDTO(items=");
+            append(sb, page.getItems(), depth);
+            sb.append(", next=").append(page.getNext()).append(')');
+        } else {
+            Optional<Field> id = ENTITY_IDS.computeIfAbsent(value.getClass(), LogRenderer::findEntityId);
+            if (id.isPresent()) {
+                sb.append(value.getClass().getSimpleName()).append('#')
+                        .append(ReflectionUtils.getField(id.get(), value));
+            } else {
+                appendTruncated(sb, String.valueOf(value));
+            }
+        }
+    }
+
+    private static void appendElements(StringBuilder sb, Iterator<?> iterator, int size, int depth) {
+        sb.append('[');
+        for (int i = 0; i < MAX_ELEMENTS && iterator.hasNext(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            append(sb, iterator.next(), depth + 1);
+        }
+        if (size > MAX_ELEMENTS) {
+            sb.append(", ... (").append(size).append(" total)");
+        }
+        sb.append(']');
+    }
+
+    private static void appendMap(StringBuilder sb, Map<?, ?> map, int depth) {
+        sb.append('{');
+        int i = 0;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (i == MAX_ELEMENTS) {
+                sb.append(", ... (").append(map.size()).append(" total)");
+                break;
+            }
+            if (i++ > 0) {
+                sb.append(", ");
+            }
+            append(sb, entry.getKey(), depth + 1);
+            sb.append('=');
+            append(sb, entry.getValue(), depth + 1);
+        }
+        sb.append('}');
+    }
+
+    private static void appendArray(StringBuilder sb, Object array, int depth) {
+        int length = Array.getLength(array);
+        sb.append('[');
+        for (int i = 0; i < MAX_ELEMENTS && i < length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            append(sb, Array.get(array, i), depth + 1);
+        }
+        if (length > MAX_ELEMENTS) {
+            sb.append(", ... (").append(length).append(" total)");
+        }
+        sb.append(']');
+    }
+
+    private static void appendTruncated(StringBuilder sb, CharSequence value) {
+        if (value.length() > MAX_LENGTH) {
+            sb.append(value, 0, MAX_LENGTH).append("...(").append(value.length()).append(" chars)");
+        } else {
+            sb.append(value);
+        }
+    }
+
+    private static Optional<Field> findEntityId(Class<?> type) {
+        Class<?> entityType = type;
+        while (entityType != null && AnnotationUtils.getAnnotation(entityType, Entity.class) == null) {
+            entityType = entityType.getSuperclass();
+        }
+        if (entityType == null) {
+            return Optional.empty();
+        }
+        for (Class<?> current = entityType; current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Id.class)) {
+                    ReflectionUtils.makeAccessible(field);
+                    return Optional.of(field);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+}
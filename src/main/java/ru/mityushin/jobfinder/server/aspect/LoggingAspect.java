@@ -10,13 +10,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Aspect
 @Component
 @RequiredArgsConstructor
 public class LoggingAspect {
 
+    private final Map<Class<?>, Logger> loggers = new ConcurrentHashMap<>();
+
     @Pointcut("execution(* ru.mityushin.jobfinder.server.controller.*.*(..))")
     public void controllerMethods() {
     }
@@ -27,20 +31,22 @@ public class LoggingAspect {
 
     @Around("controllerMethods() || serviceMethods()")
     public Object logMethodCall(ProceedingJoinPoint thisJoinPoint) throws Throwable {
-        Logger log = LoggerFactory.getLogger(thisJoinPoint.getTarget().getClass());
-        String methodName = thisJoinPoint.getSignature().getName();
-        String methodArgs = Arrays.toString(thisJoinPoint.getArgs());
-        Class returnType = ((MethodSignature) thisJoinPoint.getSignature()).getReturnType();
-        log.debug("Call method {} with args: {}", methodName, methodArgs);
+        Logger log = loggers.computeIfAbsent(thisJoinPoint.getTarget().getClass(), LoggerFactory::getLogger);
+        if (!log.isDebugEnabled()) {
+            return thisJoinPoint.proceed();
+        }
+        MethodSignature signature = (MethodSignature) thisJoinPoint.getSignature();
+        String methodName = signature.getName();
+        log.debug("Call method {} with args: {}", methodName, LogRenderer.renderArgs(thisJoinPoint.getArgs()));
 
-        long startTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
         Object result = thisJoinPoint.proceed();
-        long finishTime = System.currentTimeMillis() - startTime;
+        long finishTime = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startTime);
 
-        if (returnType.equals(Void.TYPE)) {
-            log.debug("Method {} run {} millis", methodName, finishTime);
+        if (signature.getReturnType().equals(Void.TYPE)) {
+            log.debug("Method {} run {} us", methodName, finishTime);
         } else {
-            log.debug("Method {} run {} millis. Returns: {}", methodName, finishTime, result);
+            log.debug("Method {} run {} us. Returns: {}", methodName, finishTime, LogRenderer.render(result));
         }
         return result;
     }
@@ -0,0 +1,72 @@
+package ru.mityushin.jobfinder.server.aspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency timers for every controller and service method, tagged by class, method and exception.
+ * Histogram buckets are configured by {@code management.metrics.distribution.*.jobfinder} properties.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MetricsAspect {
+
+    static final String CONTROLLER_TIMER = "jobfinder.controller.calls";
+    static final String SERVICE_TIMER = "jobfinder.service.calls";
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Timer> controllerTimers = new ConcurrentHashMap<>();
+    private final Map<Method, Timer> serviceTimers = new ConcurrentHashMap<>();
+    private final Map<Method, Map<Class<?>, Timer>> controllerExceptionTimers = new ConcurrentHashMap<>();
+    private final Map<Method, Map<Class<?>, Timer>> serviceExceptionTimers = new ConcurrentHashMap<>();
+
+    @Around("ru.mityushin.jobfinder.server.aspect.LoggingAspect.controllerMethods()")
+    public Object timeControllerCall(ProceedingJoinPoint thisJoinPoint) throws Throwable {
+        return time(thisJoinPoint, CONTROLLER_TIMER, controllerTimers, controllerExceptionTimers);
+    }
+
+    @Around("ru.mityushin.jobfinder.server.aspect.LoggingAspect.serviceMethods()")
+    public Object timeServiceCall(ProceedingJoinPoint thisJoinPoint) throws Throwable {
+        return time(thisJoinPoint, SERVICE_TIMER, serviceTimers, serviceExceptionTimers);
+    }
+
+    private Object time(ProceedingJoinPoint thisJoinPoint,
+                        String name,
+                        Map<Method, Timer> timers,
+                        Map<Method, Map<Class<?>, Timer>> exceptionTimers) throws Throwable {
+        Method method = ((MethodSignature) thisJoinPoint.getSignature()).getMethod();
+        long startTime = System.nanoTime();
+        try {
+            Object result = thisJoinPoint.proceed();
+            timers.computeIfAbsent(method, m -> timer(name, m, NO_EXCEPTION))
+                    .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            exceptionTimers.computeIfAbsent(method, m -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(e.getClass(), type -> timer(name, method, type.getSimpleName()))
+                    .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer timer(String name, Method method, String exception) {
+        return Timer.builder(name)
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+}
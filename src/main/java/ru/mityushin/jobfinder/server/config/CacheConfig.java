@@ -0,0 +1,129 @@
+package ru.mityushin.jobfinder.server.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.actuate.metrics.cache.CaffeineCacheMeterBinderProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.Nullable;
+import ru.mityushin.jobfinder.server.service.invalidation.BroadcastingCache;
+import ru.mityushin.jobfinder.server.service.invalidation.InvalidationBus;
+import ru.mityushin.jobfinder.server.service.invalidation.InvalidationListener;
+import ru.mityushin.jobfinder.server.util.CacheNames;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Every cache is configured by {@code jobfinder.cache.<property>.enabled} and {@code .spec} (Caffeine spec).
+ * A disabled cache is replaced by {@link NoOpCache}, so annotated methods always read through.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    private static final String DEFAULT_SPEC = "maximumSize=10000,expireAfterWrite=5m,recordStats";
+
+    /**
+     * Evictions are deferred until the surrounding transaction commits,
+     * so a concurrent read cannot put back a row that is about to change.
+     * When an {@link InvalidationBus} is present, committed evictions are also sent to the other nodes.
+     */
+    @Bean
+    public CacheManager cacheManager(Environment environment,
+                                     MeterRegistry meterRegistry,
+                                     ObjectProvider<InvalidationBus> invalidationBus) {
+        List<Cache> caches = Arrays.asList(
+                cache(CacheNames.USER_DETAILS, "user-details", environment, meterRegistry),
+                cache(CacheNames.PUBLICATIONS, "publications", environment, meterRegistry),
+                cache(CacheNames.ORGANIZATIONS, "organizations", environment, meterRegistry),
+                cache(CacheNames.PERSONS, "persons", environment, meterRegistry),
+                cache(CacheNames.ORGANIZATION_PAGES, "organization-pages", environment, meterRegistry),
+                cache(CacheNames.PUBLICATION_PAGES, "publication-pages", environment, meterRegistry));
+        InvalidationBus bus = invalidationBus.getIfAvailable();
+        if (bus != null) {
+            SimpleCacheManager local = new SimpleCacheManager();
+            local.setCaches(caches);
+            local.initializeCaches();
+            bus.subscribe(new LocalCacheInvalidator(local));
+            caches = caches.stream()
+                    .map(cache -> new BroadcastingCache(cache, bus))
+                    .collect(Collectors.toList());
+        }
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(caches);
+        cacheManager.initializeCaches();
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    /**
+     * Keeps the standard Caffeine cache metrics for caches wrapped by {@link BroadcastingCache}.
+     */
+    @Bean
+    public BroadcastingCacheMeterBinderProvider broadcastingCacheMeterBinderProvider() {
+        return new BroadcastingCacheMeterBinderProvider();
+    }
+
+    private static Cache cache(String name, String property, Environment environment, MeterRegistry meterRegistry) {
+        String prefix = "jobfinder.cache." + property;
+        if (!environment.getProperty(prefix + ".enabled", Boolean.class, Boolean.TRUE)) {
+            return new NoOpCache(name);
+        }
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> cache =
+                Caffeine.from(environment.getProperty(prefix + ".spec", DEFAULT_SPEC)).build();
+        Gauge.builder("jobfinder.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", name)
+                .register(meterRegistry);
+        return new CaffeineCache(name, cache, false);
+    }
+
+    @RequiredArgsConstructor
+    private static class LocalCacheInvalidator implements InvalidationListener {
+        private final CacheManager local;
+
+        @Override
+        public void invalidate(String cacheName, @Nullable Object key) {
+            Cache cache = local.getCache(cacheName);
+            if (cache == null) {
+                return;
+            }
+            if (key == null) {
+                cache.clear();
+            } else {
+                cache.evict(key);
+            }
+        }
+
+        @Override
+        public void reset() {
+            local.getCacheNames().forEach(name -> invalidate(name, null));
+        }
+    }
+
+    static class BroadcastingCacheMeterBinderProvider implements CacheMeterBinderProvider<BroadcastingCache> {
+        private final CaffeineCacheMeterBinderProvider caffeine = new CaffeineCacheMeterBinderProvider();
+
+        @Override
+        public MeterBinder getMeterBinder(BroadcastingCache cache, Iterable<Tag> tags) {
+            if (cache.getTarget() instanceof CaffeineCache) {
+                return caffeine.getMeterBinder((CaffeineCache) cache.getTarget(), tags);
+            }
+            return null;
+        }
+    }
+}
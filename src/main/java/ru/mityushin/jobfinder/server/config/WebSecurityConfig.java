@@ -1,5 +1,8 @@
 package ru.mityushin.jobfinder.server.config;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
@@ -8,12 +11,24 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import ru.mityushin.jobfinder.server.filter.TokenAuthenticationFilter;
+import ru.mityushin.jobfinder.server.service.token.TokenService;
 
 @Configuration
 @EnableWebSecurity
 @EnableGlobalMethodSecurity(securedEnabled = true, prePostEnabled = true)
+@RequiredArgsConstructor
 public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 
+    /**
+     * Tokens are issued for HTTP Basic credentials only.
+     */
+    private static final String TOKEN_PATH = "/api/auth/token";
+
+    private final TokenService tokenService;
+
     @Override
     protected void configure(HttpSecurity http) throws Exception {
         http
@@ -25,8 +40,12 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
                 .and()
                 .authorizeRequests()
 //                .antMatchers("/").permitAll()
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                .requestMatchers(EndpointRequest.toAnyEndpoint()).hasRole("ADMIN")
                 .anyRequest().authenticated()
                 .and()
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService, new AntPathRequestMatcher(TOKEN_PATH)),
+                        BasicAuthenticationFilter.class)
                 .httpBasic();
 //                .formLogin()
 //                .loginPage("/login")
@@ -0,0 +1,24 @@
+package ru.mityushin.jobfinder.server.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import ru.mityushin.jobfinder.server.dto.TokenDTO;
+import ru.mityushin.jobfinder.server.service.token.TokenService;
+import ru.mityushin.jobfinder.server.service.userdetails.ExtendedUserDetails;
+
+@RestController
+@RequestMapping(value = "/api/auth")
+@RequiredArgsConstructor
+public class AuthController {
+
+    private final TokenService tokenService;
+
+    @PostMapping(value = "/token")
+    @ResponseBody
+    public ResponseEntity<TokenDTO> createToken(@AuthenticationPrincipal ExtendedUserDetails userDetails) {
+        return new ResponseEntity<>(tokenService.issue(userDetails), HttpStatus.CREATED);
+    }
+}
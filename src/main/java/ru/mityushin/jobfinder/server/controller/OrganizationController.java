@@ -1,16 +1,22 @@
 package ru.mityushin.jobfinder.server.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.mityushin.jobfinder.server.service.organization.OrganizationService;
 import ru.mityushin.jobfinder.server.dto.OrganizationDTO;
+import ru.mityushin.jobfinder.server.dto.PageDTO;
+import ru.mityushin.jobfinder.server.util.EntityTags;
+import ru.mityushin.jobfinder.server.util.JsonArrayStreamer;
 import ru.mityushin.jobfinder.server.dto.PersonDTO;
 
 import javax.validation.Valid;
-import java.util.Collection;
 import java.util.UUID;
 
 @RestController
@@ -18,11 +24,20 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class OrganizationController {
     private final OrganizationService organizationService;
+    private final JsonArrayStreamer jsonArrayStreamer;
 
     @GetMapping
     @ResponseBody
-    public ResponseEntity<Collection<OrganizationDTO>> getOrganizations() {
-        return new ResponseEntity<>(organizationService.findAll(), HttpStatus.OK);
+    public ResponseEntity<PageDTO<OrganizationDTO>> getOrganizations(@RequestParam(value = "after", required = false) String after,
+                                                                     @RequestParam(value = "limit", required = false) Integer limit) {
+        return new ResponseEntity<>(organizationService.findAll(after, limit), HttpStatus.OK);
+    }
+
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamOrganizations() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .body(jsonArrayStreamer.stream(OrganizationDTO.class, organizationService::streamAll));
     }
 
     @Secured({"ROLE_ORGANIZATION_MANAGER"})
@@ -34,16 +49,22 @@ public class OrganizationController {
 
     @GetMapping(value = "/{uuid}")
     @ResponseBody
-    public ResponseEntity<OrganizationDTO> getOrganization(@PathVariable("uuid") UUID uuid) {
-        return new ResponseEntity<>(organizationService.find(uuid), HttpStatus.OK);
+    public ResponseEntity<OrganizationDTO> getOrganization(@PathVariable("uuid") UUID uuid, WebRequest request) {
+        if (EntityTags.notModified(request, () -> organizationService.findVersion(uuid))) {
+            return null;
+        }
+        OrganizationDTO organization = organizationService.find(uuid);
+        return ResponseEntity.ok().eTag(EntityTags.of(organization.getVersion())).body(organization);
     }
 
     @Secured({"ROLE_ORGANIZATION_MANAGER"})
     @PutMapping(value = "/{uuid}")
     @ResponseBody
     public ResponseEntity<OrganizationDTO> updateOrganization(@PathVariable("uuid") UUID uuid,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                @Valid @RequestBody OrganizationDTO organizationDTO) {
-        return new ResponseEntity<>(organizationService.update(uuid, organizationDTO), HttpStatus.OK);
+        OrganizationDTO updated = organizationService.update(uuid, organizationDTO, EntityTags.ifMatch(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(updated.getVersion())).body(updated);
     }
 
     @Secured({"ROLE_ORGANIZATION_MANAGER"})
@@ -56,8 +77,10 @@ public class OrganizationController {
     @Secured({"ROLE_USER"})
     @GetMapping(value = "/{uuid}/subscribers")
     @ResponseBody
-    public ResponseEntity<Collection<PersonDTO>> getSubscribers(@PathVariable("uuid") UUID uuid) {
-        return new ResponseEntity<>(organizationService.getSubscribers(uuid), HttpStatus.OK);
+    public ResponseEntity<PageDTO<PersonDTO>> getSubscribers(@PathVariable("uuid") UUID uuid,
+                                                             @RequestParam(value = "after", required = false) String after,
+                                                             @RequestParam(value = "limit", required = false) Integer limit) {
+        return new ResponseEntity<>(organizationService.getSubscribers(uuid, after, limit), HttpStatus.OK);
     }
 
     @Secured({"ROLE_USER"})
@@ -1,13 +1,20 @@
 package ru.mityushin.jobfinder.server.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.mityushin.jobfinder.server.dto.PublicationDTO;
 import ru.mityushin.jobfinder.server.service.person.PersonService;
 import ru.mityushin.jobfinder.server.dto.PersonDTO;
+import ru.mityushin.jobfinder.server.dto.PageDTO;
+import ru.mityushin.jobfinder.server.util.EntityTags;
+import ru.mityushin.jobfinder.server.util.JsonArrayStreamer;
 
 import javax.validation.Valid;
 import java.util.Collection;
@@ -19,12 +26,22 @@ import java.util.UUID;
 public class PersonController {
 
     private final PersonService personService;
+    private final JsonArrayStreamer jsonArrayStreamer;
 
     @Secured({"ROLE_USER"})
     @GetMapping
     @ResponseBody
-    public ResponseEntity<Collection<PersonDTO>> getPersons() {
-        return new ResponseEntity<>(personService.findAll(), HttpStatus.OK);
+    public ResponseEntity<PageDTO<PersonDTO>> getPersons(@RequestParam(value = "after", required = false) String after,
+                                                         @RequestParam(value = "limit", required = false) Integer limit) {
+        return new ResponseEntity<>(personService.findAll(after, limit), HttpStatus.OK);
+    }
+
+    @Secured({"ROLE_USER"})
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamPersons() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .body(jsonArrayStreamer.stream(PersonDTO.class, personService::streamAll));
     }
 
     @PostMapping
@@ -49,16 +66,22 @@ public class PersonController {
     @Secured({"ROLE_USER"})
     @GetMapping(value = "/{uuid}")
     @ResponseBody
-    public ResponseEntity<PersonDTO> getPerson(@PathVariable("uuid") UUID uuid) {
-        return new ResponseEntity<>(personService.find(uuid), HttpStatus.OK);
+    public ResponseEntity<PersonDTO> getPerson(@PathVariable("uuid") UUID uuid, WebRequest request) {
+        if (EntityTags.notModified(request, () -> personService.findVersion(uuid))) {
+            return null;
+        }
+        PersonDTO person = personService.find(uuid);
+        return ResponseEntity.ok().eTag(EntityTags.of(person.getVersion())).body(person);
     }
 
     @Secured({"ROLE_USER"})
     @PutMapping(value = "/{uuid}")
     @ResponseBody
     public ResponseEntity<PersonDTO> updatePerson(@PathVariable(value = "uuid") UUID uuid,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                   @Valid @RequestBody PersonDTO personDTO) {
-        return new ResponseEntity<>(personService.update(uuid, personDTO), HttpStatus.OK);
+        PersonDTO updated = personService.update(uuid, personDTO, EntityTags.ifMatch(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(updated.getVersion())).body(updated);
     }
 
     @Secured({"ROLE_USER"})
@@ -1,15 +1,31 @@
 package ru.mityushin.jobfinder.server.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.mityushin.jobfinder.server.service.publication.PublicationBulkService;
 import ru.mityushin.jobfinder.server.service.publication.PublicationService;
+import ru.mityushin.jobfinder.server.service.search.PublicationSearchService;
+import ru.mityushin.jobfinder.server.dto.BulkItemResultDTO;
 import ru.mityushin.jobfinder.server.dto.PublicationDTO;
+import ru.mityushin.jobfinder.server.dto.PublicationSummaryDTO;
+import ru.mityushin.jobfinder.server.dto.PageDTO;
+import ru.mityushin.jobfinder.server.dto.ChangeFeedDTO;
+import ru.mityushin.jobfinder.server.dto.PublicationChangeDTO;
+import ru.mityushin.jobfinder.server.util.EntityTags;
+import ru.mityushin.jobfinder.server.util.JsonArrayStreamer;
+import ru.mityushin.jobfinder.server.util.JsonItemReader;
 
 import javax.validation.Valid;
-import java.util.Collection;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -18,11 +34,43 @@ import java.util.UUID;
 public class PublicationController {
 
     private final PublicationService publicationService;
+    private final JsonArrayStreamer jsonArrayStreamer;
+    private final PublicationSearchService publicationSearchService;
+    private final PublicationBulkService publicationBulkService;
 
     @GetMapping
     @ResponseBody
-    public ResponseEntity<Collection<PublicationDTO>> getPublications() {
-        return new ResponseEntity<>(publicationService.findAll(), HttpStatus.OK);
+    public ResponseEntity<PageDTO<PublicationDTO>> getPublications(@RequestParam(value = "after", required = false) String after,
+                                                                   @RequestParam(value = "limit", required = false) Integer limit) {
+        return new ResponseEntity<>(publicationService.findAll(after, limit), HttpStatus.OK);
+    }
+
+    @GetMapping(params = "view=summary")
+    @ResponseBody
+    public ResponseEntity<PageDTO<PublicationSummaryDTO>> getPublicationSummaries(@RequestParam(value = "after", required = false) String after,
+                                                                                  @RequestParam(value = "limit", required = false) Integer limit) {
+        return new ResponseEntity<>(publicationService.findSummaries(after, limit), HttpStatus.OK);
+    }
+
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamPublications() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .body(jsonArrayStreamer.stream(PublicationDTO.class, publicationService::streamAll));
+    }
+
+    @GetMapping(value = "/changes")
+    @ResponseBody
+    public ResponseEntity<ChangeFeedDTO<PublicationChangeDTO>> getPublicationChanges(@RequestParam(value = "since", required = false) Long since,
+                                                                                     @RequestParam(value = "limit", required = false) Integer limit) {
+        return new ResponseEntity<>(publicationService.findChanges(since, limit), HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/search")
+    @ResponseBody
+    public ResponseEntity<List<PublicationDTO>> searchPublications(@RequestParam(value = "q", required = false) String query,
+                                                                   @RequestParam(value = "limit", required = false) Integer limit) {
+        return new ResponseEntity<>(publicationSearchService.search(query, limit), HttpStatus.OK);
     }
 
     @Secured({"ROLE_CONTENT_MAKER"})
@@ -32,18 +80,31 @@ public class PublicationController {
         return new ResponseEntity<>(publicationService.create(publicationDTO), HttpStatus.CREATED);
     }
 
+    @Secured({"ROLE_CONTENT_MAKER"})
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, JsonItemReader.NDJSON_VALUE})
+    @ResponseBody
+    public ResponseEntity<List<BulkItemResultDTO>> createPublications(InputStream body) throws IOException {
+        return new ResponseEntity<>(publicationBulkService.createAll(body), HttpStatus.OK);
+    }
+
     @GetMapping(value = "/{uuid}")
     @ResponseBody
-    public ResponseEntity<PublicationDTO> getPublication(@PathVariable("uuid") UUID uuid) {
-        return new ResponseEntity<>(publicationService.find(uuid), HttpStatus.OK);
+    public ResponseEntity<PublicationDTO> getPublication(@PathVariable("uuid") UUID uuid, WebRequest request) {
+        if (EntityTags.notModified(request, () -> publicationService.findVersion(uuid))) {
+            return null;
+        }
+        PublicationDTO publication = publicationService.find(uuid);
+        return ResponseEntity.ok().eTag(EntityTags.of(publication.getVersion())).body(publication);
     }
 
     @Secured({"ROLE_MODERATOR", "ROLE_CONTENT_MAKER"})
     @PutMapping(value = "/{uuid}")
     @ResponseBody
     public ResponseEntity<?> updatePublication(@PathVariable("uuid") UUID uuid,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                @Valid @RequestBody PublicationDTO publicationDTO) {
-        return new ResponseEntity<>(publicationService.update(uuid, publicationDTO), HttpStatus.OK);
+        PublicationDTO updated = publicationService.update(uuid, publicationDTO, EntityTags.ifMatch(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(updated.getVersion())).body(updated);
     }
 
     @Secured({"ROLE_MODERATOR", "ROLE_USER"})
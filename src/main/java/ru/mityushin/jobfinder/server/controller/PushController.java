@@ -0,0 +1,27 @@
+package ru.mityushin.jobfinder.server.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.mityushin.jobfinder.server.service.push.PushService;
+
+/**
+ * Server-sent events: {@code publication} carries a publication change with its change sequence as the event id,
+ * {@code organization} an organization that has been created, edited or (un)subscribed to, and {@code reset}
+ * tells the client that events have been dropped and it should resync from {@code /api/publications/changes}.
+ */
+@RestController
+@RequestMapping(value = "/api/events")
+@RequiredArgsConstructor
+public class PushController {
+
+    private final PushService pushService;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe() {
+        return pushService.subscribe();
+    }
+}
@@ -1,53 +1,71 @@
 package ru.mityushin.jobfinder.server.controller;
 
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+import ru.mityushin.jobfinder.server.util.ErrorBodyWriter;
 import ru.mityushin.jobfinder.server.util.exception.PermissionDeniedException;
+import ru.mityushin.jobfinder.server.util.exception.PreconditionFailedException;
+import ru.mityushin.jobfinder.server.util.exception.ServiceUnavailableException;
 import ru.mityushin.jobfinder.server.util.exception.data.DataAlreadyExistsException;
 import ru.mityushin.jobfinder.server.util.exception.data.DataNotFoundException;
+import ru.mityushin.jobfinder.server.util.exception.data.InvalidParametersException;
 import ru.mityushin.jobfinder.server.util.exception.data.MissingRequiredParametersException;
 
+import javax.persistence.OptimisticLockException;
+
 @ControllerAdvice
 public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionHandler {
 
-    private static String createBodyWithMessage(String msg) {
-        return "{\"message\": \"" + msg + "\"}";
-    }
+    static final String LOST_UPDATE_MESSAGE = "This data has been changed by another request, read it again.";
 
-    private static HttpHeaders createHeaders() {
-        HttpHeaders httpHeaders = new HttpHeaders();
-        httpHeaders.setContentType(MediaType.APPLICATION_JSON);
-        return httpHeaders;
-    }
-
-    @ExceptionHandler(MissingRequiredParametersException.class)
+    @ExceptionHandler({MissingRequiredParametersException.class, InvalidParametersException.class})
     protected ResponseEntity<Object> handleBadRequest(RuntimeException ex, WebRequest request) {
-        return handleExceptionInternal(ex, createBodyWithMessage(ex.getMessage()),
-                createHeaders(), HttpStatus.BAD_REQUEST, request);
+        return handleExceptionInternal(ex, ErrorBodyWriter.write(ex.getMessage()),
+                ErrorBodyWriter.HEADERS, HttpStatus.BAD_REQUEST, request);
     }
 
     @ExceptionHandler(PermissionDeniedException.class)
     protected ResponseEntity<Object> handleForbidden(RuntimeException ex, WebRequest request) {
-        return handleExceptionInternal(ex, createBodyWithMessage(ex.getMessage()),
-                createHeaders(), HttpStatus.FORBIDDEN, request);
+        return handleExceptionInternal(ex, ErrorBodyWriter.write(ex.getMessage()),
+                ErrorBodyWriter.HEADERS, HttpStatus.FORBIDDEN, request);
     }
 
     @ExceptionHandler(DataNotFoundException.class)
     protected ResponseEntity<Object> handleNotFound(RuntimeException ex, WebRequest request) {
-        return handleExceptionInternal(ex, createBodyWithMessage(ex.getMessage()),
-                createHeaders(), HttpStatus.NOT_FOUND, request);
+        return handleExceptionInternal(ex, ErrorBodyWriter.write(ex.getMessage()),
+                ErrorBodyWriter.HEADERS, HttpStatus.NOT_FOUND, request);
     }
 
     @ExceptionHandler(DataAlreadyExistsException.class)
     protected ResponseEntity<Object> handleConflict(RuntimeException ex, WebRequest request) {
-        return handleExceptionInternal(ex, createBodyWithMessage(ex.getMessage()),
-                createHeaders(), HttpStatus.CONFLICT, request);
+        return handleExceptionInternal(ex, ErrorBodyWriter.write(ex.getMessage()),
+                ErrorBodyWriter.HEADERS, HttpStatus.CONFLICT, request);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    protected ResponseEntity<Object> handlePreconditionFailed(RuntimeException ex, WebRequest request) {
+        return handleExceptionInternal(ex, ErrorBodyWriter.write(ex.getMessage()),
+                ErrorBodyWriter.HEADERS, HttpStatus.PRECONDITION_FAILED, request);
+    }
+
+    /**
+     * Another update committed between reading the entity and writing it back.
+     */
+    @ExceptionHandler({ObjectOptimisticLockingFailureException.class, OptimisticLockException.class})
+    protected ResponseEntity<Object> handleLostUpdate(RuntimeException ex, WebRequest request) {
+        return handleExceptionInternal(ex, ErrorBodyWriter.write(LOST_UPDATE_MESSAGE),
+                ErrorBodyWriter.HEADERS, HttpStatus.PRECONDITION_FAILED, request);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    protected ResponseEntity<Object> handleServiceUnavailable(RuntimeException ex, WebRequest request) {
+        return handleExceptionInternal(ex, ErrorBodyWriter.write(ex.getMessage()),
+                ErrorBodyWriter.HEADERS, HttpStatus.SERVICE_UNAVAILABLE, request);
     }
 
 }
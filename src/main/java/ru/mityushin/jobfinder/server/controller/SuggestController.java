@@ -0,0 +1,29 @@
+package ru.mityushin.jobfinder.server.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.RestController;
+import ru.mityushin.jobfinder.server.dto.SuggestionDTO;
+import ru.mityushin.jobfinder.server.service.search.SuggestService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/suggest")
+@RequiredArgsConstructor
+public class SuggestController {
+
+    private final SuggestService suggestService;
+
+    @GetMapping
+    @ResponseBody
+    public ResponseEntity<List<SuggestionDTO>> suggest(@RequestParam(value = "prefix", required = false) String prefix,
+                                                       @RequestParam(value = "limit", required = false) Integer limit) {
+        return new ResponseEntity<>(suggestService.suggest(prefix, limit), HttpStatus.OK);
+    }
+}
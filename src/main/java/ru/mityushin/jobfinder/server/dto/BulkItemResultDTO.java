@@ -0,0 +1,29 @@
+package ru.mityushin.jobfinder.server.dto;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Builder
+@Getter
+@EqualsAndHashCode
+public class BulkItemResultDTO {
+    /**
+     * Position of the item in the request, starting from 0
+     */
+    private Integer index;
+    /**
+     * Status the item would have got if it had been sent alone: 201 or 400
+     */
+    private Integer status;
+    /**
+     * UUID of the created entity, {@code null} for a rejected item
+     */
+    private UUID uuid;
+    /**
+     * Why the item has been rejected, {@code null} for a created one
+     */
+    private String message;
+}
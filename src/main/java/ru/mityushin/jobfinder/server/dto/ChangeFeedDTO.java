@@ -0,0 +1,22 @@
+package ru.mityushin.jobfinder.server.dto;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.List;
+
+@Builder
+@Getter
+@EqualsAndHashCode
+public class ChangeFeedDTO<T> {
+    private List<T> items;
+    /**
+     * Value of {@code since} for the next poll
+     */
+    private Long since;
+    /**
+     * {@code true} if more changes are available right away
+     */
+    private Boolean more;
+}
@@ -1,5 +1,6 @@
 package ru.mityushin.jobfinder.server.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -19,4 +20,6 @@ public class OrganizationDTO {
     private String title;
     private String description;
     private Integer subscribersCount;
+    @JsonIgnore
+    private Long version;
 }
@@ -0,0 +1,18 @@
+package ru.mityushin.jobfinder.server.dto;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.List;
+
+@Builder
+@Getter
+@EqualsAndHashCode
+public class PageDTO<T> {
+    private List<T> items;
+    /**
+     * Opaque cursor of the next page, {@code null} on the last page
+     */
+    private String next;
+}
@@ -1,5 +1,6 @@
 package ru.mityushin.jobfinder.server.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -32,4 +33,6 @@ public class PersonDTO {
     private String lastName;
     private Sex sex;
     private String country;
+    @JsonIgnore
+    private Long version;
 }
@@ -0,0 +1,20 @@
+package ru.mityushin.jobfinder.server.dto;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Builder
+@Getter
+@EqualsAndHashCode
+public class PublicationChangeDTO {
+    private UUID uuid;
+    private Long changeSeq;
+    private Boolean deleted;
+    /**
+     * Current state of the publication, {@code null} for a deleted one
+     */
+    private PublicationDTO publication;
+}
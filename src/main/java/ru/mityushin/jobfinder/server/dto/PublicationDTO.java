@@ -1,5 +1,6 @@
 package ru.mityushin.jobfinder.server.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 import javax.validation.constraints.NotNull;
@@ -21,4 +22,6 @@ public class PublicationDTO {
     @Size(min = 3, message = "Content length must be more than 3.")
     private String content;
     private Boolean visible;
+    @JsonIgnore
+    private Long version;
 }
@@ -0,0 +1,21 @@
+package ru.mityushin.jobfinder.server.dto;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * {@link PublicationDTO} without the content, for lists that only show titles
+ */
+@Builder
+@Getter
+@EqualsAndHashCode
+public class PublicationSummaryDTO {
+    private UUID uuid;
+    private UUID authorUuid;
+    private String title;
+    private String description;
+    private Boolean visible;
+}
@@ -0,0 +1,21 @@
+package ru.mityushin.jobfinder.server.dto;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import ru.mityushin.jobfinder.server.util.enums.SuggestionType;
+
+import java.util.UUID;
+
+@Builder
+@Getter
+@EqualsAndHashCode
+public class SuggestionDTO {
+    private SuggestionType type;
+    private UUID uuid;
+    private String title;
+    /**
+     * Popularity the suggestions are ordered by: the subscriber count of an organization, 0 for a publication
+     */
+    private Integer weight;
+}
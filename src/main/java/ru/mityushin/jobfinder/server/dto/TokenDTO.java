@@ -0,0 +1,14 @@
+package ru.mityushin.jobfinder.server.dto;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@Builder
+@Getter
+@EqualsAndHashCode
+public class TokenDTO {
+    private String token;
+    private String tokenType;
+    private Long expiresIn;
+}
@@ -0,0 +1,154 @@
+package ru.mityushin.jobfinder.server.filter;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import ru.mityushin.jobfinder.server.util.CacheNames;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the serialized JSON of list pages, identity and gzip encoded, and writes it straight to the output stream.
+ * Entries are dropped by the services on every write; the cache TTL bounds a page stored by a request
+ * that raced with such a write. Runs after the security filter chain, so authentication is still enforced.
+ */
+@Component
+@RequiredArgsConstructor
+public class ListResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final Map<String, String> CACHES = new HashMap<>();
+    private static final String GZIP = "gzip";
+    /**
+     * Streamed lists are written asynchronously and may be arbitrarily large, so they are never buffered here.
+     */
+    private static final String STREAM_PARAMETER = "stream";
+
+    static {
+        CACHES.put("/api/organizations", CacheNames.ORGANIZATION_PAGES);
+        CACHES.put("/api/publications", CacheNames.PUBLICATION_PAGES);
+    }
+
+    private final CacheManager cacheManager;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                || !CACHES.containsKey(path(request))
+                || request.getParameter(STREAM_PARAMETER) != null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Cache cache = cacheManager.getCache(CACHES.get(path(request)));
+        if (cache == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String key = request.getQueryString() == null ? "" : request.getQueryString();
+        CachedResponse cached = cache.get(key, CachedResponse.class);
+        if (cached == null) {
+            ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+            filterChain.doFilter(request, wrapper);
+            if (wrapper.getStatus() != HttpServletResponse.SC_OK || wrapper.getContentType() == null) {
+                wrapper.copyBodyToResponse();
+                return;
+            }
+            cached = new CachedResponse(wrapper.getContentType(), wrapper.getContentAsByteArray());
+            cache.put(key, cached);
+        }
+        write(cached, request, response);
+    }
+
+    private static void write(CachedResponse cached,
+                              HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? cached.gzipEtag : cached.etag;
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        byte[] body = gzip ? cached.gzipBody : cached.body;
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType);
+        response.setContentLength(body.length);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        response.getOutputStream().write(body);
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : StringUtils.commaDelimitedListToStringArray(acceptEncoding)) {
+            String[] parts = StringUtils.tokenizeToStringArray(coding, ";");
+            if (parts.length > 0 && GZIP.equalsIgnoreCase(parts[0])) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : StringUtils.commaDelimitedListToStringArray(ifNoneMatch)) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static final class CachedResponse {
+        private final String contentType;
+        private final byte[] body;
+        private final byte[] gzipBody;
+        private final String etag;
+        private final String gzipEtag;
+
+        CachedResponse(String contentType, byte[] body) throws IOException {
+            this.contentType = contentType;
+            this.body = body;
+            this.gzipBody = gzip(body);
+            String hash = DigestUtils.md5DigestAsHex(body);
+            this.etag = "\"" + hash + "\"";
+            this.gzipEtag = "\"" + hash + "-" + GZIP + "\"";
+        }
+
+        private static byte[] gzip(byte[] body) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 32);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(body);
+            }
+            return out.toByteArray();
+        }
+    }
+}
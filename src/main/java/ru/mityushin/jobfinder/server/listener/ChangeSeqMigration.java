@@ -0,0 +1,53 @@
+package ru.mityushin.jobfinder.server.listener;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.mityushin.jobfinder.server.repo.PublicationRepository;
+
+/**
+ * Gives publications written before {@code CHANGE_SEQ} existed a place in the change feed, above every assigned value.
+ * Holds the same lock as the writers, so a client that has already synced past the current maximum still gets them.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class ChangeSeqMigration implements ApplicationListener<ContextRefreshedEvent> {
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Logger log;
+
+    private boolean hasAlreadyMigrated = false;
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        if (hasAlreadyMigrated) {
+            return;
+        }
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!POSTGRESQL.equals(database)) {
+            log.warn("Change sequence migration supports only {}, skipped for {}.", POSTGRESQL, database);
+        } else {
+            Integer migrated = transactionTemplate.execute(status -> {
+                jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class,
+                        PublicationRepository.CHANGE_SEQ_LOCK_ID);
+                return jdbcTemplate.update("UPDATE PUBLICATION SET CHANGE_SEQ = ID + " +
+                        "(SELECT coalesce(max(CHANGE_SEQ), 0) FROM PUBLICATION) WHERE CHANGE_SEQ IS NULL");
+            });
+            if (migrated != null && migrated > 0) {
+                log.info("Change sequence has been assigned to {} publications.", migrated);
+            }
+        }
+        hasAlreadyMigrated = true;
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.mityushin.jobfinder.server.model.Organization;
 import ru.mityushin.jobfinder.server.model.Person;
 import ru.mityushin.jobfinder.server.model.Publication;
@@ -16,6 +17,7 @@ import ru.mityushin.jobfinder.server.repo.PublicationRepository;
 import ru.mityushin.jobfinder.server.repo.RoleRepository;
 import ru.mityushin.jobfinder.server.service.role.RoleService;
 import ru.mityushin.jobfinder.server.util.enums.SecurityRole;
+import ru.mityushin.jobfinder.server.util.mapper.RoleMapper;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -29,6 +31,7 @@ public class InitialDataLoader implements ApplicationListener<ContextRefreshedEv
     private final PublicationRepository publicationRepository;
     private final RoleService roleService;
     private final PasswordEncoder encoder;
+    private final TransactionTemplate transactionTemplate;
     private final Logger log;
 
     private boolean hasAlreadySetup = false;
@@ -39,6 +42,7 @@ public class InitialDataLoader implements ApplicationListener<ContextRefreshedEv
             for (SecurityRole securityRole : SecurityRole.values()) {
                 createRoleIfDoesntExists(securityRole.name());
             }
+            roleService.refresh();
             Person admin = createPersonIfDoesntExists("admin",
                     UUID.fromString("00000000-0000-0000-0000-000000000000"),
                     roleService.getAdminRoles());
@@ -64,7 +68,7 @@ public class InitialDataLoader implements ApplicationListener<ContextRefreshedEv
                     .password(encoder.encode("password"))
                     .firstName(username)
                     .lastName("Test")
-                    .roles(roles)
+                    .roles(RoleMapper.map(roles))
                     .deleted(Boolean.FALSE)
                     .locked(Boolean.FALSE)
                     .enabled(Boolean.TRUE)
@@ -93,6 +97,7 @@ public class InitialDataLoader implements ApplicationListener<ContextRefreshedEv
                 .creatorUuid(creatorUuid)
                 .title(title)
                 .description(creatorUuid.toString())
+                .subscribersCount(0)
                 .deleted(false)
                 .build();
         return organizationRepository.save(organization);
@@ -131,7 +136,10 @@ public class InitialDataLoader implements ApplicationListener<ContextRefreshedEv
                 .visible(true)
                 .deleted(false)
                 .build();
-        return publicationRepository.save(publication);
+        return transactionTemplate.execute(status -> {
+            publication.setChangeSeq(publicationRepository.nextChangeSeq());
+            return publicationRepository.save(publication);
+        });
     }
 
     private Collection<String> findAllPublicationTitlesByAuthor(UUID author) {
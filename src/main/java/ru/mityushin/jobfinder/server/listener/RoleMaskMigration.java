@@ -0,0 +1,77 @@
+package ru.mityushin.jobfinder.server.listener;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.mityushin.jobfinder.server.util.enums.SecurityRole;
+
+/**
+ * Moves person roles from the {@code PERSON_ROLE} join table into {@code PERSON.ROLE_MASK}.
+ * The table is kept as {@code PERSON_ROLE_LEGACY} and replaced by a read-only view with the same columns,
+ * which is recreated on every start so it follows {@link SecurityRole}. Runs before {@link InitialDataLoader}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class RoleMaskMigration implements ApplicationListener<ContextRefreshedEvent> {
+    private static final String POSTGRESQL = "PostgreSQL";
+    private static final long LOCK_ID = 0x4A46524F4C45L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Logger log;
+
+    private boolean hasAlreadyMigrated = false;
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        if (hasAlreadyMigrated) {
+            return;
+        }
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!POSTGRESQL.equals(database)) {
+            log.warn("Role mask migration supports only {}, skipped for {}.", POSTGRESQL, database);
+        } else {
+            transactionTemplate.execute(status -> {
+                migrate();
+                return null;
+            });
+        }
+        hasAlreadyMigrated = true;
+    }
+
+    private void migrate() {
+        // Serializes concurrently starting nodes.
+        jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, LOCK_ID);
+        String tableType = jdbcTemplate.query("SELECT table_type FROM information_schema.tables " +
+                        "WHERE table_schema = current_schema() AND table_name = 'person_role'",
+                rs -> rs.next() ? rs.getString(1) : null);
+        if ("BASE TABLE".equals(tableType)) {
+            int migrated = jdbcTemplate.update("UPDATE PERSON p SET ROLE_MASK = p.ROLE_MASK | m.MASK " +
+                    "FROM (SELECT pr.PERSON_ID, bit_or(" + maskOf("r.NAME") + ") AS MASK " +
+                    "FROM PERSON_ROLE pr JOIN ROLE r ON r.ID = pr.ROLE_ID GROUP BY pr.PERSON_ID) m " +
+                    "WHERE m.PERSON_ID = p.ID");
+            jdbcTemplate.execute("ALTER TABLE PERSON_ROLE RENAME TO PERSON_ROLE_LEGACY");
+            log.info("Roles of {} persons have been moved to PERSON.ROLE_MASK.", migrated);
+        }
+        jdbcTemplate.execute("CREATE OR REPLACE VIEW PERSON_ROLE AS " +
+                "SELECT p.ID AS PERSON_ID, r.ID AS ROLE_ID FROM PERSON p JOIN ROLE r " +
+                "ON (p.ROLE_MASK & " + maskOf("r.NAME") + ") <> 0");
+    }
+
+    private static String maskOf(String column) {
+        StringBuilder sql = new StringBuilder("CASE ").append(column);
+        for (SecurityRole role : SecurityRole.values()) {
+            sql.append(" WHEN '").append(role.name()).append("' THEN ").append(role.getMask());
+        }
+        return sql.append(" ELSE 0 END").toString();
+    }
+}
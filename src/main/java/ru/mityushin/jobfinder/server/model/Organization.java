@@ -37,9 +37,22 @@ public class Organization {
     @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     private Set<Person> subscribers;
 
+    /**
+     * Denormalized size of {@link #subscribers}. Changed only by SQL increments, never by entity updates.
+     */
+    @Column(name = "SUBSCRIBERS_COUNT", nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private Integer subscribersCount;
+
     @Column(name = "DELETED", nullable = false)
     private Boolean deleted;
 
+    /**
+     * Sent as the ETag of the organization. The subscribers count queries bump it as well, since they bypass the entity.
+     */
+    @Version
+    @Column(name = "VERSION", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
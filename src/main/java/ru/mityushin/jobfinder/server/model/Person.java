@@ -1,6 +1,8 @@
 package ru.mityushin.jobfinder.server.model;
 
 import lombok.*;
+import ru.mityushin.jobfinder.server.model.converter.SecurityRoleMaskConverter;
+import ru.mityushin.jobfinder.server.util.enums.SecurityRole;
 import ru.mityushin.jobfinder.server.util.enums.Sex;
 
 import javax.persistence.*;
@@ -48,11 +50,12 @@ public class Person {
     @ManyToMany(mappedBy = "subscribers")
     private Set<Organization> organizations;
 
-    @ManyToMany(fetch = FetchType.EAGER)
-    @JoinTable(name = "PERSON_ROLE",
-            joinColumns = @JoinColumn(name = "person_id", referencedColumnName = "id"),
-            inverseJoinColumns = @JoinColumn(name = "role_id", referencedColumnName = "id"))
-    private Set<Role> roles;
+    /**
+     * Read-only {@code PERSON_ROLE} view is derived from this column for SQL that still joins through it.
+     */
+    @Column(name = "ROLE_MASK", nullable = false, columnDefinition = "integer default 0")
+    @Convert(converter = SecurityRoleMaskConverter.class)
+    private Set<SecurityRole> roles;
 
     @Column(name = "DELETED", nullable = false)
     private Boolean deleted;
@@ -69,6 +72,13 @@ public class Person {
     @Column(name = "CREDENTIALS_EXPIRE")
     private ZonedDateTime credentialsExpire;
 
+    /**
+     * Optimistic lock of the profile, also sent as its ETag.
+     */
+    @Version
+    @Column(name = "VERSION", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -10,9 +10,14 @@ import java.util.UUID;
 @NoArgsConstructor
 @Setter
 @Entity
-@Table(name = "PUBLICATION")
+@Table(name = "PUBLICATION",
+        indexes = @Index(name = "PUBLICATION_CHANGE_SEQ_IDX", columnList = "CHANGE_SEQ", unique = true))
 public class Publication {
 
+    public static final int TITLE_LENGTH = 50;
+    public static final int DESCRIPTION_LENGTH = 50;
+    public static final int CONTENT_LENGTH = 255;
+
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "ID", nullable = false)
     private Long id;
@@ -23,13 +28,13 @@ public class Publication {
     @Column(name = "AUTHOR_UUID", nullable = false)
     private UUID authorUuid;
 
-    @Column(name = "TITLE", length = 50, nullable = false)
+    @Column(name = "TITLE", length = TITLE_LENGTH, nullable = false)
     private String title;
 
-    @Column(name = "DESCRIPTION", length = 50)
+    @Column(name = "DESCRIPTION", length = DESCRIPTION_LENGTH)
     private String description;
 
-    @Column(name = "CONTENT", length = 255, nullable = false)
+    @Column(name = "CONTENT", length = CONTENT_LENGTH, nullable = false)
     private String content;
 
     @Column(name = "VISIBLE", nullable = false)
@@ -38,4 +43,18 @@ public class Publication {
     @Column(name = "DELETED", nullable = false)
     private Boolean deleted;
 
+    /**
+     * Incremented by every update through the entity, sent as the ETag of the publication.
+     */
+    @Version
+    @Column(name = "VERSION", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    /**
+     * Position of the last create, update or delete of this publication in the change feed.
+     * Assigned from {@link ru.mityushin.jobfinder.server.repo.PublicationRepository#nextChangeSeq()}.
+     */
+    @Column(name = "CHANGE_SEQ")
+    private Long changeSeq;
+
 }
@@ -4,7 +4,6 @@ import lombok.*;
 
 import javax.persistence.*;
 import java.util.Objects;
-import java.util.Set;
 
 @Builder
 @AllArgsConstructor
@@ -22,9 +21,6 @@ public class Role {
     @Column(name = "NAME", unique = true)
     private String name;
 
-    @ManyToMany(mappedBy = "roles")
-    private Set<Person> persons;
-
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
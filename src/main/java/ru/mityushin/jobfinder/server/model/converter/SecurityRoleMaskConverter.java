@@ -0,0 +1,24 @@
+package ru.mityushin.jobfinder.server.model.converter;
+
+import ru.mityushin.jobfinder.server.util.enums.SecurityRole;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.util.Set;
+
+/**
+ * Stores a set of roles as a bitmask, see {@link SecurityRole#getMask()}.
+ */
+@Converter
+public class SecurityRoleMaskConverter implements AttributeConverter<Set<SecurityRole>, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(Set<SecurityRole> roles) {
+        return SecurityRole.toMask(roles);
+    }
+
+    @Override
+    public Set<SecurityRole> convertToEntityAttribute(Integer mask) {
+        return SecurityRole.fromMask(mask == null ? 0 : mask);
+    }
+}
@@ -1,15 +1,89 @@
 package ru.mityushin.jobfinder.server.repo;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.mityushin.jobfinder.server.model.Organization;
+import ru.mityushin.jobfinder.server.repo.projection.PersonView;
+import ru.mityushin.jobfinder.server.repo.projection.TextView;
 
+import javax.persistence.QueryHint;
+import javax.transaction.Transactional;
 import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface OrganizationRepository extends CrudRepository<Organization, Long> {
     Collection<Organization> findAll();
+    List<Organization> findAllByDeletedFalseAndIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    Stream<Organization> streamAllByDeletedFalseOrderByIdAsc();
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    Stream<TextView> streamTextsByDeletedFalse();
+
     Collection<Organization> findAllByCreatorUuid(UUID creatorUuid);
     Organization findByUuid(UUID uuid);
+
+    @Query("select o.version from Organization o where o.uuid = :uuid and o.deleted = false")
+    Long findVersionByUuid(@Param("uuid") UUID uuid);
+
+    @Query(value = "SELECT p.ID AS id, CAST(p.UUID AS VARCHAR) AS uuid, p.USERNAME AS username, " +
+            "p.FIRST_NAME AS firstName, p.LAST_NAME AS lastName, p.SEX AS sex, p.COUNTRY AS country " +
+            "FROM ORGANIZATION_SUBSCRIBERS s JOIN PERSON p ON p.ID = s.SUBSCRIBERS_ID " +
+            "WHERE s.ORGANIZATIONS_ID = :organizationId AND s.SUBSCRIBERS_ID > :afterId " +
+            "ORDER BY s.SUBSCRIBERS_ID", nativeQuery = true)
+    List<PersonView> findSubscribers(@Param("organizationId") Long organizationId,
+                                     @Param("afterId") Long afterId,
+                                     Pageable pageable);
+
+    /**
+     * @return 1 if the person has been subscribed, 0 if the subscription already exists
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO ORGANIZATION_SUBSCRIBERS (ORGANIZATIONS_ID, SUBSCRIBERS_ID) " +
+            "SELECT :organizationId, p.ID FROM PERSON p WHERE p.UUID = :personUuid " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int addSubscriber(@Param("organizationId") Long organizationId, @Param("personUuid") UUID personUuid);
+
+    /**
+     * @return 1 if the person has been unsubscribed, 0 if there was no subscription
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM ORGANIZATION_SUBSCRIBERS s USING PERSON p " +
+            "WHERE s.ORGANIZATIONS_ID = :organizationId AND s.SUBSCRIBERS_ID = p.ID AND p.UUID = :personUuid",
+            nativeQuery = true)
+    int removeSubscriber(@Param("organizationId") Long organizationId, @Param("personUuid") UUID personUuid);
+
+    @Transactional
+    @Modifying
+    @Query("update Organization o set o.subscribersCount = o.subscribersCount + :delta, o.version = o.version + 1 " +
+            "where o.id = :id")
+    int addSubscribersCount(@Param("id") Long id, @Param("delta") int delta);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE ORGANIZATION o SET SUBSCRIBERS_COUNT = coalesce(s.COUNT, 0), VERSION = o.VERSION + 1 " +
+            "FROM ORGANIZATION o2 LEFT JOIN (SELECT ORGANIZATIONS_ID, count(*) AS COUNT " +
+            "FROM ORGANIZATION_SUBSCRIBERS GROUP BY ORGANIZATIONS_ID) s ON s.ORGANIZATIONS_ID = o2.ID " +
+            "WHERE o.ID = o2.ID AND o.SUBSCRIBERS_COUNT <> coalesce(s.COUNT, 0)", nativeQuery = true)
+    int reconcileSubscribersCount();
 }
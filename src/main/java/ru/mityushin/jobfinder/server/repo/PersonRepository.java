@@ -1,16 +1,38 @@
 package ru.mityushin.jobfinder.server.repo;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.mityushin.jobfinder.server.model.Person;
 
+import javax.persistence.QueryHint;
 import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface PersonRepository extends CrudRepository<Person, Long> {
     Collection<Person> findAll();
+    List<Person> findAllByDeletedFalseAndIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    Stream<Person> streamAllByDeletedFalseOrderByIdAsc();
+
     Person findByUuid(UUID uuid);
+
+    @Query("select p.version from Person p where p.uuid = :uuid and p.deleted = false")
+    Long findVersionByUuid(@Param("uuid") UUID uuid);
+
     Person findByUsername(String username);
     boolean existsByUsername(String username);
 }
@@ -1,15 +1,70 @@
 package ru.mityushin.jobfinder.server.repo;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.mityushin.jobfinder.server.model.Publication;
+import ru.mityushin.jobfinder.server.repo.projection.PublicationSummaryView;
+import ru.mityushin.jobfinder.server.repo.projection.TextView;
 
+import javax.persistence.QueryHint;
 import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface PublicationRepository extends CrudRepository<Publication, Long> {
+    long CHANGE_SEQ_LOCK_ID = 0x4A465055424CL;
+
     Collection<Publication> findAll();
+    List<Publication> findAllByDeletedFalseAndIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    /**
+     * Selects only the columns of the projection, and the rows are not managed by the persistence context.
+     */
+    List<PublicationSummaryView> findSummariesByDeletedFalseAndIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    Stream<Publication> streamAllByDeletedFalseOrderByIdAsc();
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    Stream<TextView> streamTextsByDeletedFalse();
+
     Collection<Publication> findAllByAuthorUuid(UUID authorUuid);
     Publication findByUuid(UUID uuid);
+
+    @Query("select p.version from Publication p where p.uuid = :uuid and p.deleted = false")
+    Long findVersionByUuid(@Param("uuid") UUID uuid);
+
+    List<Publication> findAllByUuidIn(Collection<UUID> uuids);
+    List<Publication> findAllByChangeSeqGreaterThanOrderByChangeSeqAsc(Long since, Pageable pageable);
+
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(" + CHANGE_SEQ_LOCK_ID + ")", nativeQuery = true)
+    int lockChangeSeq();
+
+    @Query("select coalesce(max(p.changeSeq), 0) from Publication p")
+    long findMaxChangeSeq();
+
+    /**
+     * Must be called in the transaction that saves the publication. The advisory lock is held until that
+     * transaction ends, so writers commit in sequence order and a reader of the change feed never skips
+     * a value that becomes visible later.
+     */
+    default long nextChangeSeq() {
+        lockChangeSeq();
+        return findMaxChangeSeq() + 1;
+    }
 }
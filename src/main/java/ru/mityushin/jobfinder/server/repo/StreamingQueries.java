@@ -0,0 +1,13 @@
+package ru.mityushin.jobfinder.server.repo;
+
+/**
+ * Hint values shared by the repository methods returning {@link java.util.stream.Stream}.
+ * The fetch size makes the PostgreSQL driver read through a server-side cursor instead of
+ * materializing the whole result set; it only takes effect inside a transaction.
+ */
+public final class StreamingQueries {
+    public static final String FETCH_SIZE = "256";
+
+    private StreamingQueries() {
+    }
+}
@@ -0,0 +1,14 @@
+package ru.mityushin.jobfinder.server.repo.projection;
+
+/**
+ * Columns of {@code PERSON} shown by {@link ru.mityushin.jobfinder.server.dto.PersonDTO}
+ */
+public interface PersonView {
+    Long getId();
+    String getUuid();
+    String getUsername();
+    String getFirstName();
+    String getLastName();
+    String getSex();
+    String getCountry();
+}
@@ -0,0 +1,15 @@
+package ru.mityushin.jobfinder.server.repo.projection;
+
+import java.util.UUID;
+
+/**
+ * Columns of {@code PUBLICATION} shown by {@link ru.mityushin.jobfinder.server.dto.PublicationSummaryDTO}
+ */
+public interface PublicationSummaryView {
+    Long getId();
+    UUID getUuid();
+    UUID getAuthorUuid();
+    String getTitle();
+    String getDescription();
+    Boolean getVisible();
+}
@@ -0,0 +1,9 @@
+package ru.mityushin.jobfinder.server.repo.projection;
+
+/**
+ * Free text of an organization or a publication, read without loading the entity
+ */
+public interface TextView {
+    String getTitle();
+    String getDescription();
+}
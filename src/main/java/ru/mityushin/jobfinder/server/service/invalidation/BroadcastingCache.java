@@ -0,0 +1,64 @@
+package ru.mityushin.jobfinder.server.service.invalidation;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Publishes evictions of the target cache to the other nodes. Reads and writes stay local.
+ */
+@RequiredArgsConstructor
+public class BroadcastingCache implements Cache {
+    @Getter
+    private final Cache target;
+    private final InvalidationBus invalidationBus;
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return target.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return target.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return target.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return target.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        target.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return target.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        target.evict(key);
+        invalidationBus.publish(getName(), key);
+    }
+
+    @Override
+    public void clear() {
+        target.clear();
+        invalidationBus.publish(getName(), null);
+    }
+}
@@ -0,0 +1,18 @@
+package ru.mityushin.jobfinder.server.service.invalidation;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Delivers cache invalidations to the other nodes of the cluster.
+ */
+public interface InvalidationBus {
+
+    /**
+     * Queues an invalidation for the other nodes; the local cache is not touched.
+     *
+     * @param key evicted key or {@code null} if the whole cache has been cleared
+     */
+    void publish(String cacheName, @Nullable Object key);
+
+    void subscribe(InvalidationListener listener);
+}
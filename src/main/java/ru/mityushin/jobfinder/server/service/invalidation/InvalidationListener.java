@@ -0,0 +1,19 @@
+package ru.mityushin.jobfinder.server.service.invalidation;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Applies invalidations published by other nodes.
+ */
+public interface InvalidationListener {
+
+    /**
+     * @param key evicted key or {@code null} if the whole cache has been cleared
+     */
+    void invalidate(String cacheName, @Nullable Object key);
+
+    /**
+     * Called after the bus has reconnected, since messages may have been lost in between.
+     */
+    void reset();
+}
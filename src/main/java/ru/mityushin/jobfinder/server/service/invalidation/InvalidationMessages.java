@@ -0,0 +1,103 @@
+package ru.mityushin.jobfinder.server.service.invalidation;
+
+import org.slf4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Payload format: the sender node id on the first line, then one {@code cache<TAB>key} line per invalidation.
+ * Keys are {@code *} for a whole cache, {@code u<uuid>} or {@code s<string>}.
+ */
+final class InvalidationMessages {
+
+    /**
+     * NOTIFY payloads must be shorter than 8000 bytes.
+     */
+    static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private static final char SEPARATOR = '\t';
+    private static final char LINE = '\n';
+    private static final String ALL = "*";
+
+    private InvalidationMessages() {
+    }
+
+    /**
+     * Keys of other types, or strings containing separators, invalidate the whole cache.
+     */
+    static String entry(String cacheName, Object key) {
+        if (key instanceof UUID) {
+            return cacheName + SEPARATOR + 'u' + key;
+        }
+        if (key instanceof String && ((String) key).indexOf(SEPARATOR) < 0 && ((String) key).indexOf(LINE) < 0) {
+            return cacheName + SEPARATOR + 's' + key;
+        }
+        return cacheName + SEPARATOR + ALL;
+    }
+
+    static List<String> payloads(String node, Collection<String> entries) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(node);
+        int bytes = node.length();
+        for (String entry : entries) {
+            int length = entry.getBytes(StandardCharsets.UTF_8).length + 1;
+            if (bytes + length > MAX_PAYLOAD_BYTES && payload.length() > node.length()) {
+                payloads.add(payload.toString());
+                payload.setLength(node.length());
+                bytes = node.length();
+            }
+            payload.append(LINE).append(entry);
+            bytes += length;
+        }
+        if (payload.length() > node.length()) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    /**
+     * Applies a payload unless it has been sent by {@code node} itself. A malformed entry or a failing listener
+     * is logged and skipped, so it can't stop the remaining invalidations from being applied.
+     */
+    static void apply(String node, String payload, Collection<InvalidationListener> listeners, Logger log) {
+        String[] lines = payload.split(String.valueOf(LINE));
+        if (lines[0].equals(node)) {
+            return;
+        }
+        for (int i = 1; i < lines.length; i++) {
+            int separator = lines[i].indexOf(SEPARATOR);
+            if (separator <= 0 || separator == lines[i].length() - 1) {
+                continue;
+            }
+            String cacheName = lines[i].substring(0, separator);
+            String key = lines[i].substring(separator + 1);
+            Object cacheKey;
+            switch (key.charAt(0)) {
+                case 'u':
+                    try {
+                        cacheKey = UUID.fromString(key.substring(1));
+                    } catch (IllegalArgumentException e) {
+                        log.warn("Ignoring malformed invalidation of {}: {}.", cacheName, key);
+                        continue;
+                    }
+                    break;
+                case 's':
+                    cacheKey = key.substring(1);
+                    break;
+                default:
+                    cacheKey = null;
+            }
+            for (InvalidationListener listener : listeners) {
+                try {
+                    listener.invalidate(cacheName, cacheKey);
+                } catch (RuntimeException e) {
+                    log.warn("Failed to invalidate {} of {}.", cacheKey, cacheName, e);
+                }
+            }
+        }
+    }
+}
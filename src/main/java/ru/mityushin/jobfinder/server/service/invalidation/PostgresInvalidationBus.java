@@ -0,0 +1,207 @@
+package ru.mityushin.jobfinder.server.service.invalidation;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends invalidations with {@code pg_notify} over the pooled data source, batched for a few milliseconds,
+ * and receives them on a dedicated {@code LISTEN} connection that is reopened whenever it fails.
+ */
+@Component
+@ConditionalOnProperty(value = "jobfinder.cache.invalidation.enabled", havingValue = "true")
+public class PostgresInvalidationBus implements InvalidationBus {
+
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int POLL_MILLIS = 1_000;
+    private static final long KEEP_ALIVE_MILLIS = 10_000;
+
+    private final String node = UUID.randomUUID().toString();
+    private final BlockingQueue<String> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private final List<InvalidationListener> listeners = new CopyOnWriteArrayList<>();
+    private final DataSource dataSource;
+    private final DataSourceProperties dataSourceProperties;
+    private final Logger log;
+    private final String channel;
+    private final long batchDelayMillis;
+    private final long reconnectDelayMillis;
+
+    private volatile boolean running;
+    private Thread sender;
+    private Thread receiver;
+
+    public PostgresInvalidationBus(DataSource dataSource,
+                                   DataSourceProperties dataSourceProperties,
+                                   Logger log,
+                                   @Value("${jobfinder.cache.invalidation.channel:jobfinder_cache_invalidation}") String channel,
+                                   @Value("${jobfinder.cache.invalidation.batch-delay-ms:2}") long batchDelayMillis,
+                                   @Value("${jobfinder.cache.invalidation.reconnect-delay-ms:1000}") long reconnectDelayMillis) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid notification channel name: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.dataSourceProperties = dataSourceProperties;
+        this.log = log;
+        this.channel = channel;
+        this.batchDelayMillis = batchDelayMillis;
+        this.reconnectDelayMillis = reconnectDelayMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        sender = daemon("cache-invalidation-sender", this::send);
+        receiver = daemon("cache-invalidation-receiver", this::receive);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        sender.interrupt();
+        receiver.interrupt();
+        sender.join(reconnectDelayMillis);
+        receiver.join(reconnectDelayMillis);
+    }
+
+    @Override
+    public void publish(String cacheName, @Nullable Object key) {
+        if (!queue.offer(InvalidationMessages.entry(cacheName, key))) {
+            log.warn("Cache invalidation queue is full, {} of {} is not published.", key, cacheName);
+        }
+    }
+
+    @Override
+    public void subscribe(InvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    private void send() {
+        Set<String> batch = new LinkedHashSet<>();
+        List<String> drained = new ArrayList<>();
+        while (running) {
+            try {
+                batch.add(queue.take());
+                TimeUnit.MILLISECONDS.sleep(batchDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(drained);
+            batch.addAll(drained);
+            drained.clear();
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+                for (String payload : InvalidationMessages.payloads(node, batch)) {
+                    statement.setString(1, channel);
+                    statement.setString(2, payload);
+                    statement.execute();
+                }
+            } catch (SQLException e) {
+                log.warn("Failed to publish {} cache invalidations: {}", batch.size(), e.getMessage());
+            }
+            batch.clear();
+        }
+    }
+
+    private void receive() {
+        boolean reconnected = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (reconnected) {
+                    log.info("Cache invalidation listener has reconnected, local caches are reset.");
+                    reset();
+                }
+                reconnected = true;
+                listen(connection);
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener has failed: {}", e.getMessage());
+                }
+            } catch (RuntimeException e) {
+                log.error("Cache invalidation listener has failed.", e);
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(reconnectDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        long lastActivity = System.currentTimeMillis();
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+            long now = System.currentTimeMillis();
+            if (notifications != null && notifications.length > 0) {
+                for (PGNotification notification : notifications) {
+                    onNotification(notification.getParameter());
+                }
+                lastActivity = now;
+            } else if (now - lastActivity > KEEP_ALIVE_MILLIS) {
+                // A silently dropped connection only shows up on the next round trip.
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+                lastActivity = now;
+            }
+        }
+    }
+
+    /**
+     * Must not throw, or the receiver would reconnect and reset the caches for a single bad message.
+     */
+    void onNotification(String payload) {
+        try {
+            InvalidationMessages.apply(node, payload, listeners, log);
+        } catch (RuntimeException e) {
+            log.error("Failed to apply cache invalidation message {}", payload, e);
+        }
+    }
+
+    private void reset() {
+        for (InvalidationListener listener : listeners) {
+            try {
+                listener.reset();
+            } catch (RuntimeException e) {
+                log.error("Failed to reset a cache after reconnecting.", e);
+            }
+        }
+    }
+
+    private static Thread daemon(String name, Runnable runnable) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+}
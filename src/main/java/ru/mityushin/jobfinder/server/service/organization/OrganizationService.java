@@ -1,18 +1,22 @@
 package ru.mityushin.jobfinder.server.service.organization;
 
+import org.springframework.lang.Nullable;
 import ru.mityushin.jobfinder.server.dto.OrganizationDTO;
+import ru.mityushin.jobfinder.server.dto.PageDTO;
 import ru.mityushin.jobfinder.server.dto.PersonDTO;
 
-import java.util.Collection;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface OrganizationService {
-    Collection<OrganizationDTO> findAll();
+    PageDTO<OrganizationDTO> findAll(String after, Integer limit);
+    void streamAll(Consumer<OrganizationDTO> consumer);
     OrganizationDTO find(UUID uuid);
+    Long findVersion(UUID uuid);
     OrganizationDTO create(OrganizationDTO organizationDTO);
-    OrganizationDTO update(UUID uuid, OrganizationDTO organizationDTO);
+    OrganizationDTO update(UUID uuid, OrganizationDTO organizationDTO, @Nullable Long version);
     OrganizationDTO delete(UUID uuid);
-    Collection<PersonDTO> getSubscribers(UUID uuid);
+    PageDTO<PersonDTO> getSubscribers(UUID uuid, String after, Integer limit);
     OrganizationDTO subscribe(UUID uuid);
     OrganizationDTO unsubscribe(UUID uuid);
 }
@@ -2,14 +2,23 @@ package ru.mityushin.jobfinder.server.service.organization;
 
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import ru.mityushin.jobfinder.server.model.Organization;
-import ru.mityushin.jobfinder.server.model.Person;
 import ru.mityushin.jobfinder.server.repo.OrganizationRepository;
-import ru.mityushin.jobfinder.server.repo.PersonRepository;
+import ru.mityushin.jobfinder.server.repo.projection.PersonView;
+import ru.mityushin.jobfinder.server.service.push.EntityChangedEvent;
+import ru.mityushin.jobfinder.server.service.push.PushTopic;
+import ru.mityushin.jobfinder.server.util.CacheNames;
+import ru.mityushin.jobfinder.server.util.EntityTags;
 import ru.mityushin.jobfinder.server.util.JobFinderUtils;
+import ru.mityushin.jobfinder.server.util.PageCursor;
 import ru.mityushin.jobfinder.server.dto.OrganizationDTO;
+import ru.mityushin.jobfinder.server.dto.PageDTO;
 import ru.mityushin.jobfinder.server.dto.PersonDTO;
 import ru.mityushin.jobfinder.server.util.exception.PermissionDeniedException;
 import ru.mityushin.jobfinder.server.util.exception.data.DataAlreadyExistsException;
@@ -18,27 +27,43 @@ import ru.mityushin.jobfinder.server.util.exception.data.MissingRequiredParamete
 import ru.mityushin.jobfinder.server.util.mapper.OrganizationMapper;
 import ru.mityushin.jobfinder.server.util.mapper.PersonMapper;
 
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
 import javax.validation.constraints.NotNull;
-import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class OrganizationServiceImpl implements OrganizationService {
     private final OrganizationRepository organizationRepository;
-    private final PersonRepository personRepository;
     private final Logger log;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
-    public Collection<OrganizationDTO> findAll() {
-        return organizationRepository.findAll().stream()
-                .filter((Organization o) -> !o.getDeleted())
-                .map(OrganizationMapper::map)
-                .collect(Collectors.toList());
+    public PageDTO<OrganizationDTO> findAll(String after, Integer limit) {
+        int pageSize = PageCursor.limit(limit);
+        List<Organization> organizations = organizationRepository.findAllByDeletedFalseAndIdGreaterThanOrderByIdAsc(
+                PageCursor.decode(after), PageCursor.request(pageSize));
+        return PageCursor.page(organizations, pageSize, Organization::getId, OrganizationMapper::map);
     }
 
+    @Transactional
+    @Override
+    public void streamAll(Consumer<OrganizationDTO> consumer) {
+        try (Stream<Organization> organizations = organizationRepository.streamAllByDeletedFalseOrderByIdAsc()) {
+            organizations.forEach(organization -> {
+                consumer.accept(OrganizationMapper.map(organization));
+                entityManager.detach(organization);
+            });
+        }
+    }
+
+    @Cacheable(value = CacheNames.ORGANIZATIONS, key = "#uuid")
     @Override
     public OrganizationDTO find(UUID uuid) {
         Organization organization = organizationRepository.findByUuid(uuid);
@@ -49,6 +74,16 @@ public class OrganizationServiceImpl implements OrganizationService {
         return OrganizationMapper.map(organization);
     }
 
+    @Override
+    public Long findVersion(UUID uuid) {
+        Long version = organizationRepository.findVersionByUuid(uuid);
+        if (version == null) {
+            throw new DataNotFoundException("This organization has been deleted or has not been created yet.");
+        }
+        return version;
+    }
+
+    @CacheEvict(value = CacheNames.ORGANIZATION_PAGES, allEntries = true)
     @Override
     public OrganizationDTO create(OrganizationDTO organizationDTO) {
         if (organizationDTO.getTitle() == null) {
@@ -59,20 +94,34 @@ public class OrganizationServiceImpl implements OrganizationService {
         organization.setCreatorUuid(JobFinderUtils.getPrincipalIdentifier());
         organization.setDeleted(Boolean.FALSE);
         organization.setSubscribers(new HashSet<>());
-        return OrganizationMapper.map(organizationRepository.save(organization));
+        organization.setSubscribersCount(0);
+        Organization saved = organizationRepository.save(organization);
+        eventPublisher.publishEvent(new EntityChangedEvent(PushTopic.ORGANIZATION, saved.getUuid()));
+        return OrganizationMapper.map(saved);
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.ORGANIZATIONS, key = "#uuid"),
+            @CacheEvict(value = CacheNames.ORGANIZATION_PAGES, allEntries = true)
+    })
     @Override
-    public OrganizationDTO update(UUID uuid, OrganizationDTO organizationDTO) {
+    public OrganizationDTO update(UUID uuid, OrganizationDTO organizationDTO, @Nullable Long version) {
         Organization organizationFromRepo = organizationRepository.findByUuid(uuid);
         if (isInaccessible(organizationFromRepo)) {
             throw new DataNotFoundException("This organization has been deleted or has not been created yet.");
         }
         checkPermission(organizationFromRepo);
+        EntityTags.checkVersion(version, organizationFromRepo.getVersion());
         Organization prepared = mergeOrganizationDto(organizationFromRepo, organizationDTO);
-        return OrganizationMapper.map(organizationRepository.save(prepared));
+        Organization saved = organizationRepository.save(prepared);
+        eventPublisher.publishEvent(new EntityChangedEvent(PushTopic.ORGANIZATION, uuid));
+        return OrganizationMapper.map(saved);
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.ORGANIZATIONS, key = "#uuid"),
+            @CacheEvict(value = CacheNames.ORGANIZATION_PAGES, allEntries = true)
+    })
     @Override
     public OrganizationDTO delete(UUID uuid) {
         Organization organization = organizationRepository.findByUuid(uuid);
@@ -81,50 +130,65 @@ public class OrganizationServiceImpl implements OrganizationService {
         }
         checkPermission(organization);
         organization.setDeleted(Boolean.TRUE);
-        return OrganizationMapper.map(organizationRepository.save(organization));
+        Organization saved = organizationRepository.save(organization);
+        eventPublisher.publishEvent(new EntityChangedEvent(PushTopic.ORGANIZATION, uuid));
+        return OrganizationMapper.map(saved);
     }
 
     @Override
-    public Collection<PersonDTO> getSubscribers(UUID uuid) {
+    public PageDTO<PersonDTO> getSubscribers(UUID uuid, String after, Integer limit) {
         Organization organization = organizationRepository.findByUuid(uuid);
         if (isInaccessible(organization)) {
             throw new DataNotFoundException("This organization has been deleted or has not been created yet.");
         }
-        return organization.getSubscribers().stream()
-                .map(PersonMapper::map)
-                .collect(Collectors.toList());
+        int pageSize = PageCursor.limit(limit);
+        List<PersonView> subscribers = organizationRepository.findSubscribers(organization.getId(),
+                PageCursor.decode(after), PageCursor.request(pageSize));
+        return PageCursor.page(subscribers, pageSize, PersonView::getId, PersonMapper::map);
     }
 
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.ORGANIZATIONS, key = "#uuid"),
+            @CacheEvict(value = CacheNames.ORGANIZATION_PAGES, allEntries = true)
+    })
     @Override
     public OrganizationDTO subscribe(UUID uuid) {
         Organization organization = organizationRepository.findByUuid(uuid);
         if (isInaccessible(organization)) {
             throw new DataNotFoundException("This organization has been deleted or has not been created yet.");
         }
-        Person currentPerson = getCurrentPerson();
-        log.info("CURRENT: {}", currentPerson);
-        boolean added = organization.getSubscribers().add(currentPerson);
-        if (!added) {
+        int added = organizationRepository.addSubscriber(organization.getId(), JobFinderUtils.getPrincipalIdentifier());
+        if (added == 0) {
             throw new DataAlreadyExistsException("You has been subscribed to this organization yet.");
         }
-        return OrganizationMapper.map(organizationRepository.save(organization));
+        organizationRepository.addSubscribersCount(organization.getId(), 1);
+        // The update bumps the version in SQL, so the response must carry the committed count and version.
+        entityManager.refresh(organization);
+        eventPublisher.publishEvent(new EntityChangedEvent(PushTopic.ORGANIZATION, uuid));
+        return OrganizationMapper.map(organization);
     }
 
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.ORGANIZATIONS, key = "#uuid"),
+            @CacheEvict(value = CacheNames.ORGANIZATION_PAGES, allEntries = true)
+    })
     @Override
     public OrganizationDTO unsubscribe(UUID uuid) {
         Organization organization = organizationRepository.findByUuid(uuid);
         if (isInaccessible(organization)) {
             throw new DataNotFoundException("This organization has been deleted or has not been created yet.");
         }
-        boolean removed = organization.getSubscribers().remove(getCurrentPerson());
-        if (!removed) {
+        int removed = organizationRepository.removeSubscriber(organization.getId(), JobFinderUtils.getPrincipalIdentifier());
+        if (removed == 0) {
             throw new DataNotFoundException("You hasn't been subscribed to this organization yet.");
         }
-        return OrganizationMapper.map(organizationRepository.save(organization));
-    }
-
-    private Person getCurrentPerson() {
-        return personRepository.findByUuid(JobFinderUtils.getPrincipalIdentifier());
+        organizationRepository.addSubscribersCount(organization.getId(), -1);
+        // The update bumps the version in SQL, so the response must carry the committed count and version.
+        entityManager.refresh(organization);
+        eventPublisher.publishEvent(new EntityChangedEvent(PushTopic.ORGANIZATION, uuid));
+        return OrganizationMapper.map(organization);
     }
 
     private static void checkPermission(Organization organization) {
@@ -145,6 +209,8 @@ public class OrganizationServiceImpl implements OrganizationService {
                 .uuid(organization.getUuid())
                 .creatorUuid(organization.getCreatorUuid())
                 .deleted(organization.getDeleted())
+                .subscribersCount(organization.getSubscribersCount())
+                .version(organization.getVersion())
                 .title(organizationDTO.getTitle())
                 .description(organizationDTO.getDescription())
                 .build();
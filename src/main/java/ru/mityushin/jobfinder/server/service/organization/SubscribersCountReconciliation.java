@@ -0,0 +1,5 @@
+package ru.mityushin.jobfinder.server.service.organization;
+
+public interface SubscribersCountReconciliation {
+    void reconcile();
+}
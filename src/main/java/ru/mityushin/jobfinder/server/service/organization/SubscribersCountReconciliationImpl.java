@@ -0,0 +1,40 @@
+package ru.mityushin.jobfinder.server.service.organization;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.mityushin.jobfinder.server.repo.OrganizationRepository;
+import ru.mityushin.jobfinder.server.util.CacheNames;
+
+/**
+ * Recalculates {@code ORGANIZATION.SUBSCRIBERS_COUNT} from the join table
+ * in case some increments were lost, e.g. after manual data fixes.
+ */
+@Component
+@RequiredArgsConstructor
+public class SubscribersCountReconciliationImpl implements SubscribersCountReconciliation {
+    private final OrganizationRepository organizationRepository;
+    private final CacheManager cacheManager;
+    private final Logger log;
+
+    @Scheduled(cron = "${jobfinder.organization.subscribers-count.reconcile-cron:0 15 * * * *}")
+    @Override
+    public void reconcile() {
+        int fixed = organizationRepository.reconcileSubscribersCount();
+        if (fixed > 0) {
+            log.warn("Subscribers count has been reconciled for {} organizations.", fixed);
+            clear(CacheNames.ORGANIZATIONS);
+            clear(CacheNames.ORGANIZATION_PAGES);
+        }
+    }
+
+    private void clear(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -1,18 +1,23 @@
 package ru.mityushin.jobfinder.server.service.person;
 
+import org.springframework.lang.Nullable;
+import ru.mityushin.jobfinder.server.dto.PageDTO;
 import ru.mityushin.jobfinder.server.dto.PersonDTO;
 import ru.mityushin.jobfinder.server.dto.PublicationDTO;
 
 import java.util.Collection;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface PersonService {
-    Collection<PersonDTO> findAll();
+    PageDTO<PersonDTO> findAll(String after, Integer limit);
+    void streamAll(Consumer<PersonDTO> consumer);
     PersonDTO find(UUID uuid);
+    Long findVersion(UUID uuid);
     PersonDTO createAdmin(PersonDTO personDTO);
     PersonDTO getCurrent();
     PersonDTO createUser(PersonDTO personDTO);
-    PersonDTO update(UUID uuid, PersonDTO personDTO);
+    PersonDTO update(UUID uuid, PersonDTO personDTO, @Nullable Long version);
     PersonDTO delete(UUID uuid);
     PersonDTO addRoleToPerson(UUID uuid, PersonDTO personDTO);
     PersonDTO deleteRoleFromPerson(UUID uuid, String role);
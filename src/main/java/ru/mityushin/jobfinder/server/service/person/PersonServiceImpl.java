@@ -1,31 +1,44 @@
 package ru.mityushin.jobfinder.server.service.person;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.lang.Nullable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import ru.mityushin.jobfinder.server.dto.PageDTO;
 import ru.mityushin.jobfinder.server.dto.PublicationDTO;
 import ru.mityushin.jobfinder.server.model.Person;
 import ru.mityushin.jobfinder.server.model.Role;
 import ru.mityushin.jobfinder.server.repo.PersonRepository;
 import ru.mityushin.jobfinder.server.repo.PublicationRepository;
-import ru.mityushin.jobfinder.server.repo.RoleRepository;
 import ru.mityushin.jobfinder.server.service.role.RoleService;
 import ru.mityushin.jobfinder.server.dto.PersonDTO;
+import ru.mityushin.jobfinder.server.util.CacheNames;
+import ru.mityushin.jobfinder.server.util.EntityTags;
 import ru.mityushin.jobfinder.server.util.JobFinderUtils;
+import ru.mityushin.jobfinder.server.util.PageCursor;
+import ru.mityushin.jobfinder.server.util.enums.SecurityRole;
 import ru.mityushin.jobfinder.server.util.exception.PermissionDeniedException;
 import ru.mityushin.jobfinder.server.util.exception.data.DataAlreadyExistsException;
 import ru.mityushin.jobfinder.server.util.exception.data.DataNotFoundException;
 import ru.mityushin.jobfinder.server.util.exception.data.MissingRequiredParametersException;
 import ru.mityushin.jobfinder.server.util.mapper.PersonMapper;
 import ru.mityushin.jobfinder.server.util.mapper.PublicationMapper;
+import ru.mityushin.jobfinder.server.util.mapper.RoleMapper;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -33,18 +46,31 @@ public class PersonServiceImpl implements PersonService {
 
     private final PersonRepository personRepository;
     private final PublicationRepository publicationRepository;
-    private final RoleRepository roleRepository;
     private final RoleService roleService;
     private final PasswordEncoder encoder;
+    private final CacheManager cacheManager;
+    private final EntityManager entityManager;
 
     @Override
-    public Collection<PersonDTO> findAll() {
-        return personRepository.findAll().stream()
-                .filter(o -> !o.getDeleted())
-                .map(PersonMapper::map)
-                .collect(Collectors.toList());
+    public PageDTO<PersonDTO> findAll(String after, Integer limit) {
+        int pageSize = PageCursor.limit(limit);
+        List<Person> persons = personRepository.findAllByDeletedFalseAndIdGreaterThanOrderByIdAsc(
+                PageCursor.decode(after), PageCursor.request(pageSize));
+        return PageCursor.page(persons, pageSize, Person::getId, PersonMapper::map);
+    }
+
+    @Transactional
+    @Override
+    public void streamAll(Consumer<PersonDTO> consumer) {
+        try (Stream<Person> persons = personRepository.streamAllByDeletedFalseOrderByIdAsc()) {
+            persons.forEach(person -> {
+                consumer.accept(PersonMapper.map(person));
+                entityManager.detach(person);
+            });
+        }
     }
 
+    @Cacheable(value = CacheNames.PERSONS, key = "#uuid")
     @Override
     public PersonDTO find(UUID uuid) {
         Person person = personRepository.findByUuid(uuid);
@@ -55,6 +81,15 @@ public class PersonServiceImpl implements PersonService {
         return PersonMapper.map(person);
     }
 
+    @Override
+    public Long findVersion(UUID uuid) {
+        Long version = personRepository.findVersionByUuid(uuid);
+        if (version == null) {
+            throw new DataNotFoundException("This profile has been deleted or has not been created yet.");
+        }
+        return version;
+    }
+
     @Transactional
     @Override
     public PersonDTO createAdmin(PersonDTO personDTO) {
@@ -91,7 +126,7 @@ public class PersonServiceImpl implements PersonService {
         person.setUuid(UUID.randomUUID());
         person.setPassword(encoder.encode(personDTO.getPassword()));
         person.setOrganizations(new HashSet<>());
-        person.setRoles(roles);
+        person.setRoles(RoleMapper.map(roles));
         person.setDeleted(Boolean.FALSE);
         person.setLocked(Boolean.FALSE);
         person.setEnabled(Boolean.TRUE);
@@ -101,22 +136,27 @@ public class PersonServiceImpl implements PersonService {
     }
 
     @Transactional
+    @CacheEvict(value = CacheNames.PERSONS, key = "#uuid")
     @Override
-    public PersonDTO update(UUID uuid, PersonDTO personDTO) {
+    public PersonDTO update(UUID uuid, PersonDTO personDTO, @Nullable Long version) {
         Person personFromRepo = personRepository.findByUuid(uuid);
         if (isInaccessible(personFromRepo)) {
             throw new DataNotFoundException("This profile has been deleted or has not been created yet.");
         }
+        EntityTags.checkVersion(version, personFromRepo.getVersion());
         if (personDTO.getOldPassword() != null
                 && !encoder.encode(personDTO.getOldPassword()).equals(personFromRepo.getPassword())) {
             throw new PermissionDeniedException("Old password is invalid");
         }
         Person prepared = mergePersonDtoAndEncodePassword(personFromRepo, personDTO, encoder);
         Person saved = personRepository.save(prepared);
+        entityManager.flush();
+        evictUserDetails(personFromRepo.getUsername());
         return PersonMapper.map(saved);
     }
 
     @Transactional
+    @CacheEvict(value = CacheNames.PERSONS, key = "#uuid")
     @Override
     public PersonDTO delete(UUID uuid) {
         Person person = personRepository.findByUuid(uuid);
@@ -124,10 +164,12 @@ public class PersonServiceImpl implements PersonService {
             throw new DataNotFoundException("This profile has been deleted or has not been created yet.");
         }
         person.setDeleted(Boolean.TRUE);
+        evictUserDetails(person.getUsername());
         return PersonMapper.map(personRepository.save(person));
     }
 
     @Transactional
+    @CacheEvict(value = CacheNames.PERSONS, key = "#uuid")
     @Override
     public PersonDTO addRoleToPerson(UUID uuid, PersonDTO personDTO) {
         Person person = personRepository.findByUuid(uuid);
@@ -135,32 +177,28 @@ public class PersonServiceImpl implements PersonService {
             throw new DataNotFoundException("This profile has been deleted or has not been created yet.");
         }
         for (String role : personDTO.getRoles()) {
-            Role roleFromRepo = roleRepository.findByName(role);
-            if (roleFromRepo == null) {
-                throw new DataNotFoundException("Role " + role + " has been deleted or has not been created yet.");
-            }
-            boolean added = person.getRoles().add(roleFromRepo);
+            boolean added = person.getRoles().add(findSecurityRole(role));
             if (!added) {
                 throw new DataAlreadyExistsException("This person already has role " + role);
             }
         }
+        evictUserDetails(person.getUsername());
         return PersonMapper.map(personRepository.save(person));
     }
 
+    @Transactional
+    @CacheEvict(value = CacheNames.PERSONS, key = "#uuid")
     @Override
     public PersonDTO deleteRoleFromPerson(UUID uuid, String role) {
         Person person = personRepository.findByUuid(uuid);
         if (person == null) {
             throw new DataNotFoundException("This profile has been deleted or has not been created yet.");
         }
-        Role roleFromRepo = roleRepository.findByName(role);
-        if (roleFromRepo == null) {
-            throw new DataNotFoundException("Role " + role + " has been deleted or has not been created yet.");
-        }
-        boolean removed = person.getRoles().remove(roleFromRepo);
+        boolean removed = person.getRoles().remove(findSecurityRole(role));
         if (!removed) {
             throw new DataAlreadyExistsException("This person hasn't role " + role + " yet.");
         }
+        evictUserDetails(person.getUsername());
         return PersonMapper.map(personRepository.save(person));
     }
 
@@ -175,6 +213,21 @@ public class PersonServiceImpl implements PersonService {
                 .collect(Collectors.toList());
     }
 
+    private SecurityRole findSecurityRole(String name) {
+        SecurityRole securityRole = SecurityRole.find(name);
+        if (securityRole == null || roleService.findByName(name) == null) {
+            throw new DataNotFoundException("Role " + name + " has been deleted or has not been created yet.");
+        }
+        return securityRole;
+    }
+
+    private void evictUserDetails(String username) {
+        Cache cache = cacheManager.getCache(CacheNames.USER_DETAILS);
+        if (cache != null) {
+            cache.evict(username);
+        }
+    }
+
     private static boolean isInaccessible(@Nullable Person person) {
         return person == null
                 || person.getDeleted()
@@ -199,6 +252,7 @@ public class PersonServiceImpl implements PersonService {
                 .enabled(person.getEnabled())
                 .expire(person.getExpire())
                 .credentialsExpire(person.getCredentialsExpire())
+                .version(person.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,11 @@
+package ru.mityushin.jobfinder.server.service.publication;
+
+import ru.mityushin.jobfinder.server.dto.BulkItemResultDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+public interface PublicationBulkService {
+    List<BulkItemResultDTO> createAll(InputStream body) throws IOException;
+}
@@ -0,0 +1,191 @@
+package ru.mityushin.jobfinder.server.service.publication;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.mityushin.jobfinder.server.dto.BulkItemResultDTO;
+import ru.mityushin.jobfinder.server.dto.PublicationDTO;
+import ru.mityushin.jobfinder.server.model.Publication;
+import ru.mityushin.jobfinder.server.repo.PublicationRepository;
+import ru.mityushin.jobfinder.server.service.push.EntitiesChangedEvent;
+import ru.mityushin.jobfinder.server.service.push.PushTopic;
+import ru.mityushin.jobfinder.server.util.CacheNames;
+import ru.mityushin.jobfinder.server.util.JobFinderUtils;
+import ru.mityushin.jobfinder.server.util.JsonItemReader;
+import ru.mityushin.jobfinder.server.util.exception.data.InvalidParametersException;
+import ru.mityushin.jobfinder.server.util.mapper.PublicationMapper;
+
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Creates publications from a stream of items, bypassing the persistence context. The whole body is read and
+ * validated first, outside of any transaction, so a slow upload holds neither a connection nor the change feed
+ * lock; the number of items is capped to bound the memory this takes. Valid items are then inserted in one short
+ * transaction, in JDBC batches with ids allocated from the sequence behind the identity column, one round trip
+ * per batch. Invalid items are reported without failing the rest, malformed JSON rejects the whole request.
+ */
+@Service
+public class PublicationBulkServiceImpl implements PublicationBulkService {
+
+    static final String ALLOCATE_IDS =
+            "SELECT nextval(pg_get_serial_sequence('publication', 'id')) FROM generate_series(1, ?)";
+    static final String INSERT = "INSERT INTO PUBLICATION "
+            + "(ID, UUID, AUTHOR_UUID, TITLE, DESCRIPTION, CONTENT, VISIBLE, DELETED, VERSION, CHANGE_SEQ) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final PublicationRepository publicationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonItemReader jsonItemReader;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int maxItems;
+
+    public PublicationBulkServiceImpl(PublicationRepository publicationRepository,
+                                      JdbcTemplate jdbcTemplate,
+                                      TransactionTemplate transactionTemplate,
+                                      JsonItemReader jsonItemReader,
+                                      ObjectMapper objectMapper,
+                                      Validator validator,
+                                      ApplicationEventPublisher eventPublisher,
+                                      @Value("${jobfinder.publication.bulk.batch-size:500}") int batchSize,
+                                      @Value("${jobfinder.publication.bulk.max-items:10000}") int maxItems) {
+        this.publicationRepository = publicationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.jsonItemReader = jsonItemReader;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxItems = maxItems;
+    }
+
+    @CacheEvict(value = CacheNames.PUBLICATION_PAGES, allEntries = true)
+    @Override
+    public List<BulkItemResultDTO> createAll(InputStream body) throws IOException {
+        Import bulk = new Import(JobFinderUtils.getPrincipalIdentifier());
+        jsonItemReader.read(body, bulk::add);
+        if (!bulk.publications.isEmpty()) {
+            transactionTemplate.execute(status -> {
+                insert(bulk.publications);
+                return null;
+            });
+        }
+        return bulk.results;
+    }
+
+    /**
+     * The change feed lock is held until commit, so the whole import gets consecutive change sequence numbers.
+     */
+    private void insert(List<Publication> publications) {
+        long nextChangeSeq = publicationRepository.nextChangeSeq();
+        for (int from = 0; from < publications.size(); from += batchSize) {
+            List<Publication> batch = publications.subList(from, Math.min(from + batchSize, publications.size()));
+            List<Long> ids = jdbcTemplate.queryForList(ALLOCATE_IDS, Long.class, batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).setId(ids.get(i));
+                batch.get(i).setChangeSeq(nextChangeSeq++);
+            }
+            jdbcTemplate.batchUpdate(INSERT, batch, batch.size(), (statement, publication) -> {
+                statement.setLong(1, publication.getId());
+                statement.setObject(2, publication.getUuid());
+                statement.setObject(3, publication.getAuthorUuid());
+                statement.setString(4, publication.getTitle());
+                statement.setString(5, publication.getDescription());
+                statement.setString(6, publication.getContent());
+                statement.setBoolean(7, publication.getVisible());
+                statement.setBoolean(8, publication.getDeleted());
+                statement.setLong(9, publication.getVersion());
+                statement.setLong(10, publication.getChangeSeq());
+            });
+            eventPublisher.publishEvent(new EntitiesChangedEvent(PushTopic.PUBLICATION,
+                    batch.stream().map(Publication::getUuid).collect(Collectors.toList())));
+        }
+    }
+
+    private class Import {
+        private final UUID authorUuid;
+        private final List<BulkItemResultDTO> results = new ArrayList<>();
+        private final List<Publication> publications = new ArrayList<>();
+
+        Import(UUID authorUuid) {
+            this.authorUuid = authorUuid;
+        }
+
+        void add(JsonNode item) {
+            int index = results.size();
+            if (index == maxItems) {
+                throw new InvalidParametersException("At most " + maxItems + " publications can be created at once.");
+            }
+            if (item == null || !item.isObject()) {
+                reject(index, "Item must be a JSON object.");
+                return;
+            }
+            PublicationDTO publicationDTO;
+            try {
+                publicationDTO = objectMapper.treeToValue(item, PublicationDTO.class);
+            } catch (JsonProcessingException e) {
+                reject(index, e.getOriginalMessage());
+                return;
+            }
+            List<String> problems = validator.validate(publicationDTO).stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .collect(Collectors.toList());
+            checkLength(problems, "title", publicationDTO.getTitle(), Publication.TITLE_LENGTH);
+            checkLength(problems, "description", publicationDTO.getDescription(), Publication.DESCRIPTION_LENGTH);
+            checkLength(problems, "content", publicationDTO.getContent(), Publication.CONTENT_LENGTH);
+            if (!problems.isEmpty()) {
+                reject(index, problems.stream()
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            Publication publication = PublicationMapper.map(publicationDTO);
+            publication.setUuid(UUID.randomUUID());
+            publication.setAuthorUuid(authorUuid);
+            publication.setVisible(Boolean.TRUE);
+            publication.setDeleted(Boolean.FALSE);
+            publication.setVersion(0L);
+            publications.add(publication);
+            results.add(BulkItemResultDTO.builder()
+                    .index(index)
+                    .status(HttpStatus.CREATED.value())
+                    .uuid(publication.getUuid())
+                    .build());
+        }
+
+        private void reject(int index, String message) {
+            results.add(BulkItemResultDTO.builder()
+                    .index(index)
+                    .status(HttpStatus.BAD_REQUEST.value())
+                    .message(message)
+                    .build());
+        }
+    }
+
+    /**
+     * The columns are shorter than the DTO allows, and a value that doesn't fit would fail the whole batch.
+     */
+    private static void checkLength(List<String> problems, String field, @Nullable String value, int maxLength) {
+        if (value != null && value.length() > maxLength) {
+            problems.add(field + ": length must be at most " + maxLength);
+        }
+    }
+}
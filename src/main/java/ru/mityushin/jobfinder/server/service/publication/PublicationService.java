@@ -1,14 +1,23 @@
 package ru.mityushin.jobfinder.server.service.publication;
 
+import org.springframework.lang.Nullable;
+import ru.mityushin.jobfinder.server.dto.ChangeFeedDTO;
+import ru.mityushin.jobfinder.server.dto.PageDTO;
+import ru.mityushin.jobfinder.server.dto.PublicationChangeDTO;
 import ru.mityushin.jobfinder.server.dto.PublicationDTO;
+import ru.mityushin.jobfinder.server.dto.PublicationSummaryDTO;
 
-import java.util.Collection;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface PublicationService {
-    Collection<PublicationDTO> findAll();
+    PageDTO<PublicationDTO> findAll(String after, Integer limit);
+    PageDTO<PublicationSummaryDTO> findSummaries(String after, Integer limit);
+    void streamAll(Consumer<PublicationDTO> consumer);
     PublicationDTO find(UUID uuid);
+    Long findVersion(UUID uuid);
     PublicationDTO create(PublicationDTO publicationDTO);
-    PublicationDTO update(UUID uuid, PublicationDTO publicationDTO);
+    PublicationDTO update(UUID uuid, PublicationDTO publicationDTO, @Nullable Long version);
     PublicationDTO delete(UUID uuid);
+    ChangeFeedDTO<PublicationChangeDTO> findChanges(Long since, Integer limit);
 }
@@ -1,33 +1,75 @@
 package ru.mityushin.jobfinder.server.service.publication;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import ru.mityushin.jobfinder.server.model.Publication;
 import ru.mityushin.jobfinder.server.repo.PublicationRepository;
+import ru.mityushin.jobfinder.server.repo.projection.PublicationSummaryView;
+import ru.mityushin.jobfinder.server.service.push.EntityChangedEvent;
+import ru.mityushin.jobfinder.server.service.push.PushTopic;
+import ru.mityushin.jobfinder.server.util.CacheNames;
+import ru.mityushin.jobfinder.server.util.EntityTags;
 import ru.mityushin.jobfinder.server.util.JobFinderUtils;
+import ru.mityushin.jobfinder.server.util.PageCursor;
+import ru.mityushin.jobfinder.server.dto.ChangeFeedDTO;
+import ru.mityushin.jobfinder.server.dto.PageDTO;
+import ru.mityushin.jobfinder.server.dto.PublicationChangeDTO;
 import ru.mityushin.jobfinder.server.dto.PublicationDTO;
+import ru.mityushin.jobfinder.server.dto.PublicationSummaryDTO;
 import ru.mityushin.jobfinder.server.util.exception.PermissionDeniedException;
 import ru.mityushin.jobfinder.server.util.exception.data.DataNotFoundException;
+import ru.mityushin.jobfinder.server.util.exception.data.InvalidParametersException;
 import ru.mityushin.jobfinder.server.util.mapper.PublicationMapper;
 
-import java.util.Collection;
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class PublicationServiceImpl implements PublicationService {
 
     private final PublicationRepository publicationRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
-    public Collection<PublicationDTO> findAll() {
-        return publicationRepository.findAll().stream()
-                .filter((Publication p) -> !p.getDeleted())
-                .map(PublicationMapper::map)
-                .collect(Collectors.toList());
+    public PageDTO<PublicationDTO> findAll(String after, Integer limit) {
+        int pageSize = PageCursor.limit(limit);
+        List<Publication> publications = publicationRepository.findAllByDeletedFalseAndIdGreaterThanOrderByIdAsc(
+                PageCursor.decode(after), PageCursor.request(pageSize));
+        return PageCursor.page(publications, pageSize, Publication::getId, PublicationMapper::map);
     }
 
+    @Override
+    public PageDTO<PublicationSummaryDTO> findSummaries(String after, Integer limit) {
+        int pageSize = PageCursor.limit(limit);
+        List<PublicationSummaryView> publications = publicationRepository.findSummariesByDeletedFalseAndIdGreaterThanOrderByIdAsc(
+                PageCursor.decode(after), PageCursor.request(pageSize));
+        return PageCursor.page(publications, pageSize, PublicationSummaryView::getId, PublicationMapper::mapSummary);
+    }
+
+    @Transactional
+    @Override
+    public void streamAll(Consumer<PublicationDTO> consumer) {
+        try (Stream<Publication> publications = publicationRepository.streamAllByDeletedFalseOrderByIdAsc()) {
+            publications.forEach(publication -> {
+                consumer.accept(PublicationMapper.map(publication));
+                entityManager.detach(publication);
+            });
+        }
+    }
+
+    @Cacheable(value = CacheNames.PUBLICATIONS, key = "#uuid")
     @Override
     public PublicationDTO find(UUID uuid) {
         Publication publication = publicationRepository.findByUuid(uuid);
@@ -38,6 +80,17 @@ public class PublicationServiceImpl implements PublicationService {
         return PublicationMapper.map(publication);
     }
 
+    @Override
+    public Long findVersion(UUID uuid) {
+        Long version = publicationRepository.findVersionByUuid(uuid);
+        if (version == null) {
+            throw new DataNotFoundException("This publication has been deleted or has not been created yet.");
+        }
+        return version;
+    }
+
+    @Transactional
+    @CacheEvict(value = CacheNames.PUBLICATION_PAGES, allEntries = true)
     @Override
     public PublicationDTO create(PublicationDTO publicationDTO) {
         Publication publication = PublicationMapper.map(publicationDTO);
@@ -45,29 +98,70 @@ public class PublicationServiceImpl implements PublicationService {
         publication.setAuthorUuid(JobFinderUtils.getPrincipalIdentifier());
         publication.setVisible(Boolean.TRUE);
         publication.setDeleted(Boolean.FALSE);
-        return PublicationMapper.map(publicationRepository.save(publication));
+        publication.setChangeSeq(publicationRepository.nextChangeSeq());
+        Publication saved = publicationRepository.save(publication);
+        eventPublisher.publishEvent(new EntityChangedEvent(PushTopic.PUBLICATION, saved.getUuid()));
+        return PublicationMapper.map(saved);
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.PUBLICATIONS, key = "#uuid"),
+            @CacheEvict(value = CacheNames.PUBLICATION_PAGES, allEntries = true)
+    })
+    @Transactional
     @Override
-    public PublicationDTO update(UUID uuid, PublicationDTO publicationDTO) {
+    public PublicationDTO update(UUID uuid, PublicationDTO publicationDTO, @Nullable Long version) {
         Publication publicationFromRepo = publicationRepository.findByUuid(uuid);
         checkAccessible(publicationFromRepo);
+        EntityTags.checkVersion(version, publicationFromRepo.getVersion());
         Publication publication = PublicationMapper.map(publicationDTO);
         publication.setId(publicationFromRepo.getId());
         publication.setUuid(uuid);
         publication.setAuthorUuid(publicationFromRepo.getAuthorUuid());
         publication.setDeleted(Boolean.FALSE);
+        publication.setVersion(publicationFromRepo.getVersion());
+        publication.setChangeSeq(publicationRepository.nextChangeSeq());
 
         Publication saved = publicationRepository.save(publication);
+        entityManager.flush();
+        eventPublisher.publishEvent(new EntityChangedEvent(PushTopic.PUBLICATION, uuid));
         return PublicationMapper.map(saved);
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.PUBLICATIONS, key = "#uuid"),
+            @CacheEvict(value = CacheNames.PUBLICATION_PAGES, allEntries = true)
+    })
+    @Transactional
     @Override
     public PublicationDTO delete(UUID uuid) {
         Publication publication = publicationRepository.findByUuid(uuid);
         checkAccessible(publication);
         publication.setDeleted(Boolean.TRUE);
-        return PublicationMapper.map(publicationRepository.save(publication));
+        publication.setChangeSeq(publicationRepository.nextChangeSeq());
+        Publication saved = publicationRepository.save(publication);
+        eventPublisher.publishEvent(new EntityChangedEvent(PushTopic.PUBLICATION, uuid));
+        return PublicationMapper.map(saved);
+    }
+
+    @Override
+    public ChangeFeedDTO<PublicationChangeDTO> findChanges(Long since, Integer limit) {
+        long from = since == null ? 0L : since;
+        if (from < 0) {
+            throw new InvalidParametersException("Parameter 'since' must not be negative.");
+        }
+        int pageSize = PageCursor.limit(limit);
+        List<Publication> changed = publicationRepository.findAllByChangeSeqGreaterThanOrderByChangeSeqAsc(
+                from, PageCursor.request(pageSize));
+        boolean more = changed.size() > pageSize;
+        List<Publication> items = more ? changed.subList(0, pageSize) : changed;
+        return ChangeFeedDTO.<PublicationChangeDTO>builder()
+                .items(items.stream()
+                        .map(PublicationMapper::mapChange)
+                        .collect(Collectors.toList()))
+                .since(items.isEmpty() ? from : items.get(items.size() - 1).getChangeSeq())
+                .more(more)
+                .build();
     }
 
     private static void checkAccessible(Publication publication) {
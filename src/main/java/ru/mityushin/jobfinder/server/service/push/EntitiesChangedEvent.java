@@ -0,0 +1,22 @@
+package ru.mityushin.jobfinder.server.service.push;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@link EntityChangedEvent} for a batch of entities of one topic, so that listeners can read them back
+ * in one query instead of one each.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@RequiredArgsConstructor
+public class EntitiesChangedEvent {
+    private final PushTopic topic;
+    private final List<UUID> uuids;
+}
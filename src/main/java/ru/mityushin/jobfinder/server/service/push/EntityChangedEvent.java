@@ -0,0 +1,21 @@
+package ru.mityushin.jobfinder.server.service.push;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.UUID;
+
+/**
+ * Published by the services when an entity pushed to event stream subscribers has changed.
+ * Carries no state: the current one is read when the event is sent, so repeated changes coalesce.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@RequiredArgsConstructor
+public class EntityChangedEvent {
+    private final PushTopic topic;
+    private final UUID uuid;
+}
@@ -0,0 +1,153 @@
+package ru.mityushin.jobfinder.server.service.push;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Event stream subscriber with a bounded queue that keeps only the latest message per entity.
+ * A subscriber that falls behind by more than the capacity loses its queue and gets a single
+ * {@value #RESET_EVENT} event, after which it should resync from the change feed.
+ * <p>
+ * The {@code offer} methods return {@code true} when the caller must schedule {@link #drain()};
+ * at most one drain is scheduled at a time. A subscriber whose send has been pending for too long
+ * is {@linkplain #isStalled stalled} and should be dropped.
+ */
+class PushClient {
+    static final String RESET_EVENT = "reset";
+
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final Map<String, PushMessage> queue = new LinkedHashMap<>();
+
+    private boolean overflowed;
+    private boolean heartbeat;
+    private boolean scheduled;
+    private boolean closed;
+    private volatile long sendingSince;
+
+    PushClient(SseEmitter emitter, int capacity) {
+        this.emitter = emitter;
+        this.capacity = capacity;
+    }
+
+    synchronized boolean offer(String key, PushMessage message) {
+        if (closed) {
+            return false;
+        }
+        if (queue.size() >= capacity && !queue.containsKey(key)) {
+            queue.clear();
+            overflowed = true;
+        }
+        queue.put(key, message);
+        return schedule();
+    }
+
+    synchronized boolean offerHeartbeat() {
+        if (closed) {
+            return false;
+        }
+        heartbeat = true;
+        return schedule();
+    }
+
+    synchronized boolean offerReset() {
+        if (closed) {
+            return false;
+        }
+        queue.clear();
+        overflowed = true;
+        return schedule();
+    }
+
+    synchronized void close() {
+        closed = true;
+        queue.clear();
+    }
+
+    void complete() {
+        emitter.complete();
+    }
+
+    boolean isSending() {
+        return sendingSince != 0;
+    }
+
+    boolean isStalled(long now, long timeoutMillis) {
+        long since = sendingSince;
+        return since != 0 && now - since > timeoutMillis;
+    }
+
+    /**
+     * Writes queued messages until the queue is empty or the subscriber is closed. Blocks while the socket
+     * does not accept more data, during which new messages keep coalescing in the queue.
+     *
+     * @return {@code false} if the connection has failed
+     */
+    boolean drain() {
+        while (true) {
+            List<PushMessage> batch;
+            boolean reset;
+            boolean ping;
+            synchronized (this) {
+                if (closed || (queue.isEmpty() && !overflowed && !heartbeat)) {
+                    scheduled = false;
+                    return !closed;
+                }
+                batch = new ArrayList<>(queue.values());
+                queue.clear();
+                reset = overflowed;
+                ping = heartbeat && batch.isEmpty() && !reset;
+                overflowed = false;
+                heartbeat = false;
+            }
+            try {
+                if (reset) {
+                    send(SseEmitter.event().name(RESET_EVENT).data("{}"));
+                }
+                for (PushMessage message : batch) {
+                    if (isClosed()) {
+                        break;
+                    }
+                    send(message.toEvent());
+                }
+                if (ping) {
+                    send(SseEmitter.event().comment("heartbeat"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                synchronized (this) {
+                    closed = true;
+                    scheduled = false;
+                    queue.clear();
+                }
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+
+    private void send(SseEmitter.SseEventBuilder event) throws IOException {
+        sendingSince = System.currentTimeMillis();
+        try {
+            emitter.send(event);
+        } finally {
+            sendingSince = 0;
+        }
+    }
+
+    private synchronized boolean isClosed() {
+        return closed;
+    }
+
+    private boolean schedule() {
+        if (scheduled) {
+            return false;
+        }
+        scheduled = true;
+        return true;
+    }
+}
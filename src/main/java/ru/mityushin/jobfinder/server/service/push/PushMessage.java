@@ -0,0 +1,23 @@
+package ru.mityushin.jobfinder.server.service.push;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-sent event serialized once and shared by all subscribers.
+ */
+@Getter
+@RequiredArgsConstructor
+class PushMessage {
+    @Nullable
+    private final String id;
+    private final String name;
+    private final String data;
+
+    SseEmitter.SseEventBuilder toEvent() {
+        SseEmitter.SseEventBuilder event = SseEmitter.event().name(name).data(data);
+        return id == null ? event : event.id(id);
+    }
+}
@@ -0,0 +1,7 @@
+package ru.mityushin.jobfinder.server.service.push;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface PushService {
+    SseEmitter subscribe();
+}
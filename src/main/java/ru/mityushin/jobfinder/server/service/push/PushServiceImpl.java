@@ -0,0 +1,310 @@
+package ru.mityushin.jobfinder.server.service.push;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.mityushin.jobfinder.server.dto.PublicationChangeDTO;
+import ru.mityushin.jobfinder.server.model.Organization;
+import ru.mityushin.jobfinder.server.model.Publication;
+import ru.mityushin.jobfinder.server.repo.OrganizationRepository;
+import ru.mityushin.jobfinder.server.repo.PublicationRepository;
+import ru.mityushin.jobfinder.server.service.invalidation.InvalidationBus;
+import ru.mityushin.jobfinder.server.service.invalidation.InvalidationListener;
+import ru.mityushin.jobfinder.server.util.exception.ServiceUnavailableException;
+import ru.mityushin.jobfinder.server.util.mapper.OrganizationMapper;
+import ru.mityushin.jobfinder.server.util.mapper.PublicationMapper;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Fans committed changes out to event stream subscribers. Open streams are parked async requests, so they
+ * hold no Tomcat worker. A single dispatcher reads and serializes the current state of a changed entity once
+ * for all subscribers, and a small writer pool drains the per-subscriber queues. A subscriber whose send
+ * has been pending for longer than the send timeout is dropped, and its writer is replaced until the blocked
+ * write fails, so stalled connections don't hold up the others.
+ * Changes made on other nodes arrive over the {@link InvalidationBus}.
+ */
+@Service
+public class PushServiceImpl implements PushService, InvalidationListener {
+
+    private final Set<PushClient> clients = ConcurrentHashMap.newKeySet();
+    private final Set<PushClient> stalled = new HashSet<>();
+    private final Set<EntityChangedEvent> pending = new LinkedHashSet<>();
+    private final PublicationRepository publicationRepository;
+    private final OrganizationRepository organizationRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<InvalidationBus> invalidationBus;
+    private final Logger log;
+    private final Semaphore slots;
+    private final int queueCapacity;
+    private final int writerThreads;
+    private final long timeoutMillis;
+    private final long sendTimeoutMillis;
+
+    private volatile boolean running;
+    private InvalidationBus bus;
+    private Thread dispatcher;
+    private ThreadPoolExecutor writers;
+
+    public PushServiceImpl(PublicationRepository publicationRepository,
+                           OrganizationRepository organizationRepository,
+                           ObjectMapper objectMapper,
+                           ObjectProvider<InvalidationBus> invalidationBus,
+                           MeterRegistry meterRegistry,
+                           Logger log,
+                           @Value("${jobfinder.push.max-clients:40000}") int maxClients,
+                           @Value("${jobfinder.push.queue-capacity:256}") int queueCapacity,
+                           @Value("${jobfinder.push.writer-threads:8}") int writerThreads,
+                           @Value("${jobfinder.push.timeout-ms:1800000}") long timeoutMillis,
+                           @Value("${jobfinder.push.send-timeout-ms:10000}") long sendTimeoutMillis) {
+        this.publicationRepository = publicationRepository;
+        this.organizationRepository = organizationRepository;
+        this.objectMapper = objectMapper;
+        this.invalidationBus = invalidationBus;
+        this.log = log;
+        this.slots = new Semaphore(maxClients);
+        this.queueCapacity = queueCapacity;
+        this.writerThreads = writerThreads;
+        this.timeoutMillis = timeoutMillis;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+        Gauge.builder("jobfinder.push.clients", clients, Set::size)
+                .description("Open event streams")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        AtomicInteger writerNumber = new AtomicInteger();
+        writers = new ThreadPoolExecutor(writerThreads, writerThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "push-writer-" + writerNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        dispatcher = new Thread(this::dispatch, "push-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        bus = invalidationBus.getIfAvailable();
+        if (bus != null) {
+            bus.subscribe(this);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        dispatcher.interrupt();
+        writers.shutdownNow();
+        clients.forEach(client -> remove(client, true));
+        dispatcher.join(TimeUnit.SECONDS.toMillis(1));
+    }
+
+    @Override
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        if (!slots.tryAcquire()) {
+            throw new ServiceUnavailableException("Too many event streams are open, try again later.");
+        }
+        PushClient client = new PushClient(emitter, queueCapacity);
+        clients.add(client);
+        emitter.onCompletion(() -> remove(client, false));
+        emitter.onError(e -> remove(client, false));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (bus != null) {
+            bus.publish(event.getTopic().getChannel(), event.getUuid());
+        }
+        enqueue(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntitiesChanged(EntitiesChangedEvent event) {
+        for (UUID uuid : event.getUuids()) {
+            onEntityChanged(new EntityChangedEvent(event.getTopic(), uuid));
+        }
+    }
+
+    @Override
+    public void invalidate(String cacheName, @Nullable Object key) {
+        PushTopic topic = PushTopic.ofChannel(cacheName);
+        if (topic != null && key instanceof UUID) {
+            enqueue(new EntityChangedEvent(topic, (UUID) key));
+        }
+    }
+
+    /**
+     * Changes relayed by other nodes may have been lost, so every subscriber is told to resync.
+     */
+    @Override
+    public void reset() {
+        for (PushClient client : clients) {
+            offer(client, PushClient::offerReset);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobfinder.push.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (PushClient client : clients) {
+            offer(client, PushClient::offerHeartbeat);
+        }
+    }
+
+    private void enqueue(EntityChangedEvent event) {
+        if (clients.isEmpty()) {
+            return;
+        }
+        synchronized (pending) {
+            pending.add(event);
+            pending.notify();
+        }
+    }
+
+    private void dispatch() {
+        List<EntityChangedEvent> batch = new ArrayList<>();
+        while (running) {
+            synchronized (pending) {
+                try {
+                    while (pending.isEmpty()) {
+                        pending.wait();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                batch.addAll(pending);
+                pending.clear();
+            }
+            for (EntityChangedEvent event : batch) {
+                try {
+                    PushMessage message = load(event);
+                    if (message != null) {
+                        fanOut(event.getTopic().name() + ':' + event.getUuid(), message);
+                    }
+                } catch (RuntimeException | JsonProcessingException e) {
+                    log.warn("Failed to push {}: {}", event, e.getMessage());
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    @Nullable
+    private PushMessage load(EntityChangedEvent event) throws JsonProcessingException {
+        String name = event.getTopic().getEventName();
+        switch (event.getTopic()) {
+            case PUBLICATION:
+                Publication publication = publicationRepository.findByUuid(event.getUuid());
+                if (publication == null) {
+                    return null;
+                }
+                PublicationChangeDTO change = PublicationMapper.mapChange(publication);
+                return new PushMessage(String.valueOf(change.getChangeSeq()), name, objectMapper.writeValueAsString(change));
+            case ORGANIZATION:
+                Organization organization = organizationRepository.findByUuid(event.getUuid());
+                if (organization == null || organization.getDeleted()) {
+                    return null;
+                }
+                return new PushMessage(null, name, objectMapper.writeValueAsString(OrganizationMapper.map(organization)));
+            default:
+                return null;
+        }
+    }
+
+    private void fanOut(String key, PushMessage message) {
+        for (PushClient client : clients) {
+            offer(client, pushClient -> pushClient.offer(key, message));
+        }
+    }
+
+    private void offer(PushClient client, Predicate<PushClient> offer) {
+        if (client.isStalled(System.currentTimeMillis(), sendTimeoutMillis)) {
+            drop(client);
+        } else if (offer.test(client)) {
+            schedule(client);
+        }
+    }
+
+    private void schedule(PushClient client) {
+        if (!running) {
+            return;
+        }
+        writers.execute(() -> {
+            try {
+                if (!client.drain()) {
+                    remove(client, true);
+                }
+            } finally {
+                synchronized (stalled) {
+                    if (stalled.remove(client)) {
+                        resizeWriters();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * The writer stays blocked until the socket write fails or completes, so up to {@code writerThreads}
+     * extra writers take over the other subscribers meanwhile.
+     */
+    private void drop(PushClient client) {
+        log.info("Dropping an event stream that has not accepted data for {} ms.", sendTimeoutMillis);
+        remove(client, false);
+        synchronized (stalled) {
+            if (client.isSending() && stalled.size() < writerThreads && stalled.add(client)) {
+                resizeWriters();
+            }
+        }
+    }
+
+    private void resizeWriters() {
+        int size = writerThreads + stalled.size();
+        if (size > writers.getMaximumPoolSize()) {
+            writers.setMaximumPoolSize(size);
+            writers.setCorePoolSize(size);
+        } else {
+            writers.setCorePoolSize(size);
+            writers.setMaximumPoolSize(size);
+        }
+    }
+
+    private void remove(PushClient client, boolean complete) {
+        if (clients.remove(client)) {
+            slots.release();
+        }
+        client.close();
+        if (complete) {
+            client.complete();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package ru.mityushin.jobfinder.server.service.push;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
+
+@Getter
+@RequiredArgsConstructor
+public enum PushTopic {
+    PUBLICATION("publication"),
+    ORGANIZATION("organization");
+
+    private static final String CHANNEL_PREFIX = "push.";
+
+    /**
+     * Name of the server-sent event
+     */
+    private final String eventName;
+
+    /**
+     * Name the change is relayed under over the {@link ru.mityushin.jobfinder.server.service.invalidation.InvalidationBus},
+     * chosen so that it never matches a cache.
+     */
+    public String getChannel() {
+        return CHANNEL_PREFIX + eventName;
+    }
+
+    @Nullable
+    public static PushTopic ofChannel(String channel) {
+        for (PushTopic topic : values()) {
+            if (topic.getChannel().equals(channel)) {
+                return topic;
+            }
+        }
+        return null;
+    }
+}
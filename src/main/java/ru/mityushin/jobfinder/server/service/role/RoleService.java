@@ -1,11 +1,23 @@
 package ru.mityushin.jobfinder.server.service.role;
 
+import org.springframework.lang.Nullable;
 import ru.mityushin.jobfinder.server.model.Role;
 
 import java.util.Set;
 
+/**
+ * Serves roles from an in-memory snapshot; returned sets are immutable and shared.
+ */
 public interface RoleService {
     Set<Role> getAdminRoles();
     Set<Role> getModeratorRoles();
     Set<Role> getUserRoles();
+
+    @Nullable
+    Role findByName(String name);
+
+    /**
+     * Reloads roles from the database and atomically replaces the snapshot.
+     */
+    void refresh();
 }
@@ -1,12 +1,20 @@
 package ru.mityushin.jobfinder.server.service.role;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import ru.mityushin.jobfinder.server.model.Role;
 import ru.mityushin.jobfinder.server.repo.RoleRepository;
 import ru.mityushin.jobfinder.server.util.enums.SecurityRole;
 
+import javax.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
@@ -15,43 +23,63 @@ public class RoleServiceImpl implements RoleService {
 
     private final RoleRepository roleRepository;
 
-    private Set<Role> adminRoles;
-    private Set<Role> moderatorRoles;
-    private Set<Role> userRoles;
+    private volatile Snapshot snapshot;
 
-    private boolean hasAlreadyLoaded = false;
+    @PostConstruct
+    @Override
+    public void refresh() {
+        snapshot = new Snapshot(roleRepository.findAll());
+    }
 
     @Override
     public Set<Role> getAdminRoles() {
-        checkLoadRoles();
-        return adminRoles;
+        return snapshot.adminRoles;
     }
 
     @Override
     public Set<Role> getModeratorRoles() {
-        checkLoadRoles();
-        return moderatorRoles;
+        return snapshot.moderatorRoles;
     }
 
     @Override
     public Set<Role> getUserRoles() {
-        checkLoadRoles();
-        return userRoles;
+        return snapshot.userRoles;
+    }
+
+    @Nullable
+    @Override
+    public Role findByName(String name) {
+        return snapshot.byName.get(name);
     }
 
-    private void checkLoadRoles() {
-        if (!hasAlreadyLoaded) {
-            Set<Role> roles = roleRepository.findAll();
-            adminRoles = roles.stream()
-                    .filter(role -> SecurityRole.isDefaultAdminSecurityRole(role.getName()))
-                    .collect(Collectors.toSet());
-            moderatorRoles = roles.stream()
-                    .filter(role -> SecurityRole.isDefaultModeratorSecurityRole(role.getName()))
-                    .collect(Collectors.toSet());
-            userRoles = roles.stream()
-                    .filter(role -> SecurityRole.isDefaultUserSecurityRole(role.getName()))
-                    .collect(Collectors.toSet());
-            hasAlreadyLoaded = true;
+    /**
+     * Holds detached copies of the roles, so shared sets never reference managed entities.
+     */
+    private static final class Snapshot {
+        private final Map<String, Role> byName;
+        private final Set<Role> adminRoles;
+        private final Set<Role> moderatorRoles;
+        private final Set<Role> userRoles;
+
+        private Snapshot(Collection<Role> roles) {
+            Map<String, Role> map = new HashMap<>();
+            for (Role role : roles) {
+                map.put(role.getName(), Role.builder()
+                        .id(role.getId())
+                        .name(role.getName())
+                        .build());
+            }
+            byName = Collections.unmodifiableMap(map);
+            adminRoles = filter(map.values(), SecurityRole::isDefaultAdminSecurityRole);
+            moderatorRoles = filter(map.values(), SecurityRole::isDefaultModeratorSecurityRole);
+            userRoles = filter(map.values(), SecurityRole::isDefaultUserSecurityRole);
+        }
+
+        private static Set<Role> filter(Collection<Role> roles, Predicate<String> predicate) {
+            Set<Role> filtered = roles.stream()
+                    .filter(role -> predicate.test(role.getName()))
+                    .collect(Collectors.toCollection(HashSet::new));
+            return Collections.unmodifiableSet(filtered);
         }
     }
 }
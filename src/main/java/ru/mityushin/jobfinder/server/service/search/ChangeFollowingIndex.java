@@ -0,0 +1,223 @@
+package ru.mityushin.jobfinder.server.service.search;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.mityushin.jobfinder.server.service.invalidation.InvalidationBus;
+import ru.mityushin.jobfinder.server.service.invalidation.InvalidationListener;
+import ru.mityushin.jobfinder.server.service.push.EntitiesChangedEvent;
+import ru.mityushin.jobfinder.server.service.push.EntityChangedEvent;
+import ru.mityushin.jobfinder.server.service.push.PushTopic;
+import ru.mityushin.jobfinder.server.util.exception.ServiceUnavailableException;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * In-memory index built in the background once the application is ready and then kept up to date with
+ * committed changes, both local ones and those relayed by other nodes over the {@link InvalidationBus}.
+ * Changes made while the index is being built are applied right after it, and a reconnect of the bus
+ * rebuilds the index, since relayed changes may have been lost. A failed build is retried with backoff;
+ * changes aren't buffered in between, since the next build reads them anyway.
+ *
+ * @param <I> the index, replaced as a whole on rebuild
+ */
+public abstract class ChangeFollowingIndex<I> implements InvalidationListener {
+
+    private static final long MAX_RETRY_DELAY_MILLIS = 60_000;
+
+    private final ObjectProvider<InvalidationBus> invalidationBus;
+    private final Logger log;
+    private final String name;
+    private final Set<EntityChangedEvent> changedWhileBuilding = new LinkedHashSet<>();
+    private volatile I index;
+    private boolean building;
+    private long builds;
+    /**
+     * Delay of the first retry after a failed build, doubled on each further failure.
+     */
+    long retryDelayMillis = 1_000;
+
+    protected ChangeFollowingIndex(ObjectProvider<InvalidationBus> invalidationBus, Logger log, String name) {
+        this.invalidationBus = invalidationBus;
+        this.log = log;
+        this.name = name;
+    }
+
+    /**
+     * Reads everything to index. Runs in the background, so it must not rely on the calling thread.
+     */
+    protected abstract I build();
+
+    protected abstract boolean follows(PushTopic topic);
+
+    /**
+     * Applies the current state of the changed entity. Calls are serialized, so the state read last is
+     * the one left in the index.
+     */
+    protected abstract void apply(I index, EntityChangedEvent event);
+
+    /**
+     * Applies the current state of a batch of changed entities, one by one unless overridden.
+     */
+    protected void applyAll(I index, PushTopic topic, List<UUID> uuids) {
+        uuids.forEach(uuid -> apply(index, new EntityChangedEvent(topic, uuid)));
+    }
+
+    /**
+     * @throws ServiceUnavailableException until the first build has finished
+     */
+    protected I index() {
+        I current = index;
+        if (current == null) {
+            throw new ServiceUnavailableException("The " + name + " index is being built, try again later.");
+        }
+        return current;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        InvalidationBus bus = invalidationBus.getIfAvailable();
+        if (bus != null) {
+            bus.subscribe(this);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildInBackground();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (follows(event.getTopic())) {
+            changed(event);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntitiesChanged(EntitiesChangedEvent event) {
+        if (!follows(event.getTopic())) {
+            return;
+        }
+        boolean built;
+        synchronized (this) {
+            built = index != null;
+            if (building) {
+                event.getUuids().forEach(uuid -> changedWhileBuilding.add(new EntityChangedEvent(event.getTopic(), uuid)));
+            }
+        }
+        if (built) {
+            reapplyAll(event);
+        }
+    }
+
+    @Override
+    public void invalidate(String cacheName, @Nullable Object key) {
+        PushTopic topic = PushTopic.ofChannel(cacheName);
+        if (topic != null && follows(topic) && key instanceof UUID) {
+            changed(new EntityChangedEvent(topic, (UUID) key));
+        }
+    }
+
+    @Override
+    public void reset() {
+        rebuildInBackground();
+    }
+
+    void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            building = true;
+        }
+        I built = build();
+        List<EntityChangedEvent> changed;
+        synchronized (this) {
+            index = built;
+            building = false;
+            builds++;
+            changed = new ArrayList<>(changedWhileBuilding);
+            changedWhileBuilding.clear();
+        }
+        changed.forEach(this::reapply);
+        log.info("Built the {} index in {} ms.", name, System.currentTimeMillis() - start);
+    }
+
+    private void rebuildInBackground() {
+        synchronized (this) {
+            if (building) {
+                return;
+            }
+            building = true;
+        }
+        Thread builder = new Thread(this::rebuildUntilBuilt, name + "-index-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    private void rebuildUntilBuilt() {
+        long delay = retryDelayMillis;
+        long failedBuilds;
+        while (true) {
+            try {
+                rebuild();
+                return;
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    building = false;
+                    changedWhileBuilding.clear();
+                    failedBuilds = builds;
+                }
+                log.error("Failed to build the {} index, retrying in {} ms: {}", name, delay, e.getMessage());
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            delay = Math.min(delay * 2, MAX_RETRY_DELAY_MILLIS);
+            synchronized (this) {
+                // Another build has started or succeeded in the meantime.
+                if (building || builds != failedBuilds) {
+                    return;
+                }
+                building = true;
+            }
+        }
+    }
+
+    private void changed(EntityChangedEvent event) {
+        boolean built;
+        synchronized (this) {
+            built = index != null;
+            if (building) {
+                changedWhileBuilding.add(event);
+            }
+        }
+        if (built) {
+            reapply(event);
+        }
+    }
+
+    private synchronized void reapply(EntityChangedEvent event) {
+        I current = index;
+        if (current != null) {
+            apply(current, event);
+        }
+    }
+
+    private synchronized void reapplyAll(EntitiesChangedEvent event) {
+        I current = index;
+        if (current != null) {
+            applyAll(current, event.getTopic(), event.getUuids());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package ru.mityushin.jobfinder.server.service.search;
+
+import ru.mityushin.jobfinder.server.dto.PublicationDTO;
+
+import java.util.List;
+
+public interface PublicationSearchService {
+    List<PublicationDTO> search(String query, Integer limit);
+}
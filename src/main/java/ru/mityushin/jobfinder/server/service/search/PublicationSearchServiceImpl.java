@@ -0,0 +1,145 @@
+package ru.mityushin.jobfinder.server.service.search;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.mityushin.jobfinder.server.dto.PublicationDTO;
+import ru.mityushin.jobfinder.server.model.Publication;
+import ru.mityushin.jobfinder.server.repo.PublicationRepository;
+import ru.mityushin.jobfinder.server.service.invalidation.InvalidationBus;
+import ru.mityushin.jobfinder.server.service.push.EntityChangedEvent;
+import ru.mityushin.jobfinder.server.service.push.PushTopic;
+import ru.mityushin.jobfinder.server.util.PageCursor;
+import ru.mityushin.jobfinder.server.util.exception.data.MissingRequiredParametersException;
+import ru.mityushin.jobfinder.server.util.mapper.PublicationMapper;
+import ru.mityushin.jobfinder.server.util.search.TextAnalyzer;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Full-text search over publications. Title terms weigh three times and description terms twice as much
+ * as content terms. Misspelled query words are searched for along with their correction, so a word found
+ * only in the content still matches as typed.
+ */
+@Service
+public class PublicationSearchServiceImpl extends ChangeFollowingIndex<SearchIndex> implements PublicationSearchService {
+
+    static final int TITLE_WEIGHT = 3;
+    static final int DESCRIPTION_WEIGHT = 2;
+    static final int CONTENT_WEIGHT = 1;
+
+    private final PublicationRepository publicationRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final SpellingService spellingService;
+
+    public PublicationSearchServiceImpl(PublicationRepository publicationRepository,
+                                        EntityManager entityManager,
+                                        TransactionTemplate transactionTemplate,
+                                        SpellingService spellingService,
+                                        ObjectProvider<InvalidationBus> invalidationBus,
+                                        Logger log) {
+        super(invalidationBus, log, "search");
+        this.publicationRepository = publicationRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.spellingService = spellingService;
+    }
+
+    @Override
+    public List<PublicationDTO> search(String query, Integer limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new MissingRequiredParametersException("Required parameter 'q' doesn't specified.");
+        }
+        int pageSize = PageCursor.limit(limit);
+        List<UUID> hits = index().search(queryTerms(query), pageSize);
+        if (hits.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<UUID, Publication> publications = publicationRepository.findAllByUuidIn(hits).stream()
+                .collect(Collectors.toMap(Publication::getUuid, Function.identity()));
+        return hits.stream()
+                .map(publications::get)
+                .filter(publication -> publication != null && !publication.getDeleted())
+                .map(PublicationMapper::map)
+                .collect(Collectors.toList());
+    }
+
+    private List<String> queryTerms(String query) {
+        List<String> terms = TextAnalyzer.analyze(query);
+        for (String word : TextAnalyzer.words(query)) {
+            String corrected = spellingService.correct(word);
+            if (!corrected.equals(word)) {
+                terms.addAll(TextAnalyzer.analyze(corrected));
+            }
+        }
+        return terms;
+    }
+
+    @Override
+    protected SearchIndex build() {
+        SearchIndex built = new SearchIndex();
+        transactionTemplate.execute(status -> {
+            try (Stream<Publication> publications = publicationRepository.streamAllByDeletedFalseOrderByIdAsc()) {
+                publications.forEach(publication -> {
+                    built.put(publication.getUuid(), termFrequencies(publication));
+                    entityManager.detach(publication);
+                });
+            }
+            return null;
+        });
+        return built;
+    }
+
+    @Override
+    protected boolean follows(PushTopic topic) {
+        return topic == PushTopic.PUBLICATION;
+    }
+
+    @Override
+    protected void apply(SearchIndex index, EntityChangedEvent event) {
+        Publication publication = publicationRepository.findByUuid(event.getUuid());
+        if (publication == null || publication.getDeleted()) {
+            index.remove(event.getUuid());
+        } else {
+            index.put(event.getUuid(), termFrequencies(publication));
+        }
+    }
+
+    @Override
+    protected void applyAll(SearchIndex index, PushTopic topic, List<UUID> uuids) {
+        Map<UUID, Publication> publications = publicationRepository.findAllByUuidIn(uuids).stream()
+                .collect(Collectors.toMap(Publication::getUuid, Function.identity()));
+        for (UUID uuid : uuids) {
+            Publication publication = publications.get(uuid);
+            if (publication == null || publication.getDeleted()) {
+                index.remove(uuid);
+            } else {
+                index.put(uuid, termFrequencies(publication));
+            }
+        }
+    }
+
+    static Map<String, Integer> termFrequencies(Publication publication) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addTerms(frequencies, publication.getTitle(), TITLE_WEIGHT);
+        addTerms(frequencies, publication.getDescription(), DESCRIPTION_WEIGHT);
+        addTerms(frequencies, publication.getContent(), CONTENT_WEIGHT);
+        return frequencies;
+    }
+
+    private static void addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        for (String term : TextAnalyzer.analyze(text)) {
+            frequencies.merge(term, weight, Integer::sum);
+        }
+    }
+}
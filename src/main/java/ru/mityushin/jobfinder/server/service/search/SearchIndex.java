@@ -0,0 +1,409 @@
+package ru.mityushin.jobfinder.server.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index ranked with Okapi BM25. Every version of a document gets the next internal doc id,
+ * so posting lists stay sorted by appending. Replaced and removed documents are only marked deleted until
+ * they make up a quarter of the index, then the postings are compacted in place.
+ * Searches share a read lock, changes take the write lock.
+ */
+class SearchIndex {
+
+    static final float K1 = 1.2f;
+    static final float B = 0.75f;
+
+    private static final int MIN_COMPACTION_SIZE = 1024;
+    private static final ThreadLocal<Accumulator> ACCUMULATOR = ThreadLocal.withInitial(Accumulator::new);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<Postings> postings = new ArrayList<>();
+    private final Map<UUID, Integer> docIds = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private long[] uuidHigh = new long[16];
+    private long[] uuidLow = new long[16];
+    private int[] lengths = new int[16];
+    private int[][] docTerms = new int[16][];
+    private int maxDoc;
+    private long totalLength;
+
+    /**
+     * Adds the document or replaces its previous version.
+     *
+     * @param frequencies weighted frequency of every term of the document
+     */
+    void put(UUID uuid, Map<String, Integer> frequencies) {
+        lock.writeLock().lock();
+        try {
+            Integer previous = docIds.remove(uuid);
+            if (previous != null) {
+                delete(previous);
+            }
+            if (frequencies.isEmpty()) {
+                return;
+            }
+            int doc = maxDoc++;
+            ensureCapacity(maxDoc);
+            int[] terms = new int[frequencies.size()];
+            int length = 0;
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                int term = termIds.computeIfAbsent(entry.getKey(), key -> {
+                    postings.add(new Postings());
+                    return postings.size() - 1;
+                });
+                postings.get(term).add(doc, entry.getValue());
+                terms[i++] = term;
+                length += entry.getValue();
+            }
+            uuidHigh[doc] = uuid.getMostSignificantBits();
+            uuidLow[doc] = uuid.getLeastSignificantBits();
+            lengths[doc] = length;
+            docTerms[doc] = terms;
+            totalLength += length;
+            docIds.put(uuid, doc);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(UUID uuid) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docIds.remove(uuid);
+            if (doc != null) {
+                delete(doc);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return docIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Documents matching any of the terms, best first. Terms are scored rarest first, and once the k-th best
+     * score reaches the most the remaining terms could add, a document matching only those can no longer
+     * make it (MaxScore). The remaining terms are then looked up just for the documents that still can.
+     */
+    List<UUID> search(Collection<String> terms, int limit) {
+        lock.readLock().lock();
+        try {
+            int count = docIds.size();
+            if (count == 0) {
+                return new ArrayList<>();
+            }
+            List<Postings> matched = new ArrayList<>();
+            for (String term : new LinkedHashSet<>(terms)) {
+                Integer termId = termIds.get(term);
+                if (termId != null && postings.get(termId).live > 0) {
+                    matched.add(postings.get(termId));
+                }
+            }
+            matched.sort(Comparator.comparingInt(termPostings -> termPostings.live));
+            float[] idfs = new float[matched.size()];
+            for (int i = 0; i < idfs.length; i++) {
+                int live = matched.get(i).live;
+                idfs[i] = (float) Math.log(1 + (count - live + 0.5) / (live + 0.5));
+            }
+            Scoring scoring = new Scoring((float) totalLength / count);
+            Accumulator accumulator = ACCUMULATOR.get();
+            accumulator.reset(maxDoc);
+            int next = 0;
+            while (next < idfs.length) {
+                if (next > 0 && accumulator.kthBest(limit) >= maxRemaining(idfs, next)) {
+                    refine(matched, idfs, next, scoring, accumulator, limit);
+                    break;
+                }
+                score(matched.get(next), idfs[next], scoring, accumulator);
+                next++;
+            }
+            return top(accumulator, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void score(Postings termPostings, float idf, Scoring scoring, Accumulator accumulator) {
+        boolean hasDeleted = !deleted.isEmpty();
+        int[] docs = termPostings.docs;
+        byte[] frequencies = termPostings.frequencies;
+        for (int i = 0; i < termPostings.size; i++) {
+            int doc = docs[i];
+            if (hasDeleted && deleted.get(doc)) {
+                continue;
+            }
+            accumulator.add(doc, scoring.score(idf, frequencies[i] & 0xFF, lengths[doc]));
+        }
+    }
+
+    private void refine(List<Postings> matched, float[] idfs, int from, Scoring scoring, Accumulator accumulator,
+                        int limit) {
+        float threshold = accumulator.kthBest(limit);
+        float remaining = maxRemaining(idfs, from);
+        int[] candidates = accumulator.candidates(threshold - remaining);
+        for (int term = from; term < idfs.length; term++) {
+            Postings termPostings = matched.get(term);
+            for (int doc : candidates) {
+                int i = Arrays.binarySearch(termPostings.docs, 0, termPostings.size, doc);
+                if (i >= 0) {
+                    accumulator.add(doc, scoring.score(idfs[term], termPostings.frequencies[i] & 0xFF, lengths[doc]));
+                }
+            }
+        }
+    }
+
+    /**
+     * BM25 approaches {@code idf * (k1 + 1)} as the term frequency grows.
+     */
+    private static float maxRemaining(float[] idfs, int from) {
+        float remaining = 0;
+        for (int i = from; i < idfs.length; i++) {
+            remaining += idfs[i] * (K1 + 1);
+        }
+        return remaining;
+    }
+
+    private List<UUID> top(Accumulator accumulator, int limit) {
+        float[] scores = accumulator.scores;
+        Comparator<Integer> ranking = (a, b) -> {
+            int byScore = Float.compare(scores[a], scores[b]);
+            return byScore != 0 ? byScore : Integer.compare(b, a);
+        };
+        PriorityQueue<Integer> heap = new PriorityQueue<>(limit + 1, ranking);
+        float threshold = -1;
+        for (int i = 0; i < accumulator.touchedCount; i++) {
+            int doc = accumulator.touched[i];
+            // On a tie the document found first stays.
+            if (scores[doc] <= threshold) {
+                continue;
+            }
+            heap.add(doc);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+            if (heap.size() == limit) {
+                threshold = scores[heap.peek()];
+            }
+        }
+        UUID[] result = new UUID[heap.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            int doc = heap.poll();
+            result[i] = new UUID(uuidHigh[doc], uuidLow[doc]);
+        }
+        return new ArrayList<>(Arrays.asList(result));
+    }
+
+    private void delete(int doc) {
+        deleted.set(doc);
+        totalLength -= lengths[doc];
+        for (int term : docTerms[doc]) {
+            postings.get(term).live--;
+        }
+        docTerms[doc] = null;
+    }
+
+    private void compactIfNeeded() {
+        int deletedCount = maxDoc - docIds.size();
+        if (maxDoc < MIN_COMPACTION_SIZE || deletedCount * 4 < maxDoc) {
+            return;
+        }
+        int[] remap = new int[maxDoc];
+        int next = 0;
+        for (int doc = 0; doc < maxDoc; doc++) {
+            if (deleted.get(doc)) {
+                remap[doc] = -1;
+                continue;
+            }
+            remap[doc] = next;
+            uuidHigh[next] = uuidHigh[doc];
+            uuidLow[next] = uuidLow[doc];
+            lengths[next] = lengths[doc];
+            docTerms[next] = docTerms[doc];
+            next++;
+        }
+        Arrays.fill(docTerms, next, maxDoc, null);
+        for (Postings termPostings : postings) {
+            termPostings.remap(remap);
+        }
+        docIds.replaceAll((uuid, doc) -> remap[doc]);
+        deleted.clear();
+        maxDoc = next;
+    }
+
+    private void ensureCapacity(int size) {
+        if (size <= lengths.length) {
+            return;
+        }
+        int capacity = Math.max(size, lengths.length + (lengths.length >> 1));
+        uuidHigh = Arrays.copyOf(uuidHigh, capacity);
+        uuidLow = Arrays.copyOf(uuidLow, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+        docTerms = Arrays.copyOf(docTerms, capacity);
+    }
+
+    /**
+     * Doc ids in ascending order with the weighted term frequency, capped at 255 to fit a byte.
+     */
+    private static final class Postings {
+        int[] docs = new int[2];
+        byte[] frequencies = new byte[2];
+        int size;
+        int live;
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = (byte) Math.min(frequency, 255);
+            size++;
+            live++;
+        }
+
+        void remap(int[] remap) {
+            int next = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[next] = doc;
+                    frequencies[next] = frequencies[i];
+                    next++;
+                }
+            }
+            size = next;
+            if (size < docs.length / 4) {
+                docs = Arrays.copyOf(docs, Math.max(size, 2));
+                frequencies = Arrays.copyOf(frequencies, Math.max(size, 2));
+            }
+        }
+    }
+
+    private static final class Scoring {
+        private final float baseNorm;
+        private final float lengthNorm;
+
+        Scoring(float averageLength) {
+            baseNorm = K1 * (1 - B);
+            lengthNorm = K1 * B / averageLength;
+        }
+
+        float score(float idf, int frequency, int length) {
+            return idf * frequency * (K1 + 1) / (frequency + baseNorm + lengthNorm * length);
+        }
+    }
+
+    /**
+     * Per-thread score table reused across searches, so scoring allocates nothing per matching document.
+     */
+    private static final class Accumulator {
+        float[] scores = new float[0];
+        int[] touched = new int[16];
+        int touchedCount;
+        float[] best = new float[16];
+
+        void reset(int maxDoc) {
+            for (int i = 0; i < touchedCount; i++) {
+                scores[touched[i]] = 0;
+            }
+            touchedCount = 0;
+            if (scores.length < maxDoc) {
+                scores = new float[maxDoc];
+            }
+        }
+
+        void add(int doc, float score) {
+            if (scores[doc] == 0) {
+                if (touchedCount == touched.length) {
+                    touched = Arrays.copyOf(touched, touchedCount * 2);
+                }
+                touched[touchedCount++] = doc;
+            }
+            scores[doc] += score;
+        }
+
+        /**
+         * The k-th best score so far, or -1 while fewer documents have been scored.
+         */
+        float kthBest(int limit) {
+            if (touchedCount < limit) {
+                return -1;
+            }
+            if (best.length < limit) {
+                best = new float[limit];
+            }
+            // Min-heap of the best scores seen.
+            for (int i = 0; i < limit; i++) {
+                best[i] = scores[touched[i]];
+            }
+            for (int i = limit / 2 - 1; i >= 0; i--) {
+                siftDown(i, limit);
+            }
+            for (int i = limit; i < touchedCount; i++) {
+                float score = scores[touched[i]];
+                if (score > best[0]) {
+                    best[0] = score;
+                    siftDown(0, limit);
+                }
+            }
+            return best[0];
+        }
+
+        int[] candidates(float minScore) {
+            int count = 0;
+            int[] candidates = new int[16];
+            for (int i = 0; i < touchedCount; i++) {
+                int doc = touched[i];
+                if (scores[doc] > minScore) {
+                    if (count == candidates.length) {
+                        candidates = Arrays.copyOf(candidates, count * 2);
+                    }
+                    candidates[count++] = doc;
+                }
+            }
+            return Arrays.copyOf(candidates, count);
+        }
+
+        private void siftDown(int i, int size) {
+            float value = best[i];
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && best[child + 1] < best[child]) {
+                    child++;
+                }
+                if (best[child] >= value) {
+                    break;
+                }
+                best[i] = best[child];
+                i = child;
+            }
+            best[i] = value;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package ru.mityushin.jobfinder.server.service.search;
+
+import org.springframework.lang.Nullable;
+import ru.mityushin.jobfinder.server.util.search.TextAnalyzer;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Symmetric delete spelling dictionary (SymSpell). Every word is filed under the strings left after deleting up to
+ * {@link #MAX_DISTANCE} characters from its first {@link #PREFIX_LENGTH} characters, and a misspelling is looked
+ * up by its own deletes. A lookup is a few dozen binary searches whatever the size of the vocabulary.
+ * Deletes are kept as 32-bit hashes in one sorted array: a collision only adds a candidate that the edit
+ * distance check rejects. Immutable once built.
+ */
+final class SpellingDictionary {
+
+    static final int MAX_DISTANCE = 2;
+    static final int PREFIX_LENGTH = 7;
+    static final int MIN_WORD_LENGTH = 3;
+    static final SpellingDictionary EMPTY = new SpellingDictionary(Collections.emptyMap());
+
+    private final String[] words;
+    private final int[] counts;
+    private final Map<String, Integer> indexes;
+    /**
+     * Hash of a delete in the high half, index of the word in the low half, sorted
+     */
+    private final long[] deletes;
+
+    private SpellingDictionary(Map<String, Integer> vocabulary) {
+        words = new String[vocabulary.size()];
+        counts = new int[vocabulary.size()];
+        indexes = new HashMap<>(vocabulary.size() * 4 / 3 + 1);
+        long[] entries = new long[vocabulary.size() * 8];
+        int size = 0;
+        int index = 0;
+        for (Map.Entry<String, Integer> word : vocabulary.entrySet()) {
+            words[index] = word.getKey();
+            counts[index] = word.getValue();
+            indexes.put(word.getKey(), index);
+            for (String delete : deletesOf(word.getKey())) {
+                if (size == entries.length) {
+                    entries = Arrays.copyOf(entries, size * 2);
+                }
+                entries[size++] = (long) delete.hashCode() << 32 | index;
+            }
+            index++;
+        }
+        deletes = Arrays.copyOf(entries, size);
+        Arrays.sort(deletes);
+    }
+
+    int size() {
+        return words.length;
+    }
+
+    /**
+     * The word itself if it is known, otherwise the closest known word, the more frequent one on a tie,
+     * or {@code null} if none is within {@link #MAX_DISTANCE} edits.
+     */
+    @Nullable
+    String lookup(String word) {
+        if (indexes.containsKey(word)) {
+            return word;
+        }
+        if (word.length() < MIN_WORD_LENGTH) {
+            return null;
+        }
+        int best = -1;
+        int bestDistance = MAX_DISTANCE;
+        Set<Integer> checked = new HashSet<>();
+        for (String delete : deletesOf(word)) {
+            int hash = delete.hashCode();
+            for (int i = firstWithHash(hash); i < deletes.length && (int) (deletes[i] >> 32) == hash; i++) {
+                int candidate = (int) deletes[i];
+                if (Math.abs(words[candidate].length() - word.length()) > MAX_DISTANCE || !checked.add(candidate)) {
+                    continue;
+                }
+                // Exact up to the best distance, so a farther word never ties with the best one.
+                int distance = distance(word, words[candidate], bestDistance + 1);
+                if (distance > bestDistance) {
+                    continue;
+                }
+                if (best < 0 || distance < bestDistance || counts[candidate] > counts[best]) {
+                    best = candidate;
+                    bestDistance = distance;
+                }
+            }
+        }
+        return best < 0 ? null : words[best];
+    }
+
+    private int firstWithHash(int hash) {
+        int i = Arrays.binarySearch(deletes, (long) hash << 32);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    private static Set<String> deletesOf(String word) {
+        Set<String> deletes = new HashSet<>();
+        String prefix = word.length() > PREFIX_LENGTH ? word.substring(0, PREFIX_LENGTH) : word;
+        deletes.add(prefix);
+        addDeletes(prefix, 1, deletes);
+        return deletes;
+    }
+
+    private static void addDeletes(String word, int distance, Set<String> deletes) {
+        if (distance > MAX_DISTANCE || word.length() <= 1) {
+            return;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            String delete = word.substring(0, i) + word.substring(i + 1);
+            if (deletes.add(delete)) {
+                addDeletes(delete, distance + 1, deletes);
+            }
+        }
+    }
+
+    /**
+     * Optimal string alignment distance, or {@code limit} as soon as it is known to reach it.
+     */
+    static int distance(String a, String b, int limit) {
+        int[] previousPrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previousPrevious[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin >= limit) {
+                return limit;
+            }
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], limit);
+    }
+
+    /**
+     * Counts the words of titles and descriptions. Words with digits and words shorter than
+     * {@link #MIN_WORD_LENGTH} are left out.
+     */
+    static final class Builder {
+        private final Map<String, Integer> vocabulary = new HashMap<>();
+
+        void add(@Nullable String text) {
+            for (String word : TextAnalyzer.words(text)) {
+                if (word.length() >= MIN_WORD_LENGTH && isLetters(word)) {
+                    vocabulary.merge(word, 1, Integer::sum);
+                }
+            }
+        }
+
+        SpellingDictionary build() {
+            return new SpellingDictionary(vocabulary);
+        }
+
+        private static boolean isLetters(String word) {
+            for (int i = 0; i < word.length(); i++) {
+                if (!Character.isLetter(word.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
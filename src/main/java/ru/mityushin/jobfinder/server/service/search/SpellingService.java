@@ -0,0 +1,13 @@
+package ru.mityushin.jobfinder.server.service.search;
+
+public interface SpellingService {
+
+    /**
+     * @param word a normalized word, as returned by {@link ru.mityushin.jobfinder.server.util.search.TextAnalyzer#words}
+     * @return the closest word of organization and publication titles and descriptions within two edits,
+     * or the word itself if it is known or nothing is close enough
+     */
+    String correct(String word);
+
+    void rebuild();
+}
@@ -0,0 +1,58 @@
+package ru.mityushin.jobfinder.server.service.search;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.mityushin.jobfinder.server.repo.OrganizationRepository;
+import ru.mityushin.jobfinder.server.repo.PublicationRepository;
+import ru.mityushin.jobfinder.server.repo.projection.TextView;
+
+import java.util.stream.Stream;
+
+/**
+ * Spelling correction against the vocabulary of titles and descriptions. The dictionary is rebuilt from
+ * scratch on a schedule and swapped in whole, so lookups never wait for a build; until the first build
+ * every word is left as it is.
+ */
+@Service
+@RequiredArgsConstructor
+public class SpellingServiceImpl implements SpellingService {
+    private final OrganizationRepository organizationRepository;
+    private final PublicationRepository publicationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Logger log;
+    private volatile SpellingDictionary dictionary = SpellingDictionary.EMPTY;
+
+    @Override
+    public String correct(String word) {
+        String corrected = dictionary.lookup(word);
+        return corrected == null ? word : corrected;
+    }
+
+    @Scheduled(fixedDelayString = "${jobfinder.spelling.rebuild-interval-ms:600000}")
+    @Override
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        SpellingDictionary.Builder builder = new SpellingDictionary.Builder();
+        transactionTemplate.execute(status -> {
+            try (Stream<TextView> texts = organizationRepository.streamTextsByDeletedFalse()) {
+                texts.forEach(text -> add(builder, text));
+            }
+            try (Stream<TextView> texts = publicationRepository.streamTextsByDeletedFalse()) {
+                texts.forEach(text -> add(builder, text));
+            }
+            return null;
+        });
+        SpellingDictionary built = builder.build();
+        dictionary = built;
+        log.info("Built the spelling dictionary of {} words in {} ms.", built.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    private static void add(SpellingDictionary.Builder builder, TextView text) {
+        builder.add(text.getTitle());
+        builder.add(text.getDescription());
+    }
+}
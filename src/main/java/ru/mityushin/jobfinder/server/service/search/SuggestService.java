@@ -0,0 +1,9 @@
+package ru.mityushin.jobfinder.server.service.search;
+
+import ru.mityushin.jobfinder.server.dto.SuggestionDTO;
+
+import java.util.List;
+
+public interface SuggestService {
+    List<SuggestionDTO> suggest(String prefix, Integer limit);
+}
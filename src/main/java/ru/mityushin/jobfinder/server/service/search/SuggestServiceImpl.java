@@ -0,0 +1,122 @@
+package ru.mityushin.jobfinder.server.service.search;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.mityushin.jobfinder.server.dto.SuggestionDTO;
+import ru.mityushin.jobfinder.server.model.Organization;
+import ru.mityushin.jobfinder.server.model.Publication;
+import ru.mityushin.jobfinder.server.repo.OrganizationRepository;
+import ru.mityushin.jobfinder.server.repo.PublicationRepository;
+import ru.mityushin.jobfinder.server.service.invalidation.InvalidationBus;
+import ru.mityushin.jobfinder.server.service.push.EntityChangedEvent;
+import ru.mityushin.jobfinder.server.service.push.PushTopic;
+import ru.mityushin.jobfinder.server.util.PageCursor;
+import ru.mityushin.jobfinder.server.util.exception.data.MissingRequiredParametersException;
+import ru.mityushin.jobfinder.server.util.mapper.OrganizationMapper;
+import ru.mityushin.jobfinder.server.util.mapper.PublicationMapper;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Title completion for organizations and publications, ordered by popularity.
+ */
+@Service
+public class SuggestServiceImpl extends ChangeFollowingIndex<SuggestTrie> implements SuggestService {
+
+    private final OrganizationRepository organizationRepository;
+    private final PublicationRepository publicationRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public SuggestServiceImpl(OrganizationRepository organizationRepository,
+                              PublicationRepository publicationRepository,
+                              EntityManager entityManager,
+                              TransactionTemplate transactionTemplate,
+                              ObjectProvider<InvalidationBus> invalidationBus,
+                              Logger log) {
+        super(invalidationBus, log, "suggest");
+        this.organizationRepository = organizationRepository;
+        this.publicationRepository = publicationRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public List<SuggestionDTO> suggest(String prefix, Integer limit) {
+        if (prefix == null || prefix.trim().isEmpty()) {
+            throw new MissingRequiredParametersException("Required parameter 'prefix' doesn't specified.");
+        }
+        return index().suggest(prefix, PageCursor.limit(limit));
+    }
+
+    @Override
+    protected SuggestTrie build() {
+        SuggestTrie built = new SuggestTrie();
+        transactionTemplate.execute(status -> {
+            try (Stream<Organization> organizations = organizationRepository.streamAllByDeletedFalseOrderByIdAsc()) {
+                organizations.forEach(organization -> {
+                    built.put(OrganizationMapper.mapSuggestion(organization));
+                    entityManager.detach(organization);
+                });
+            }
+            try (Stream<Publication> publications = publicationRepository.streamAllByDeletedFalseOrderByIdAsc()) {
+                publications.forEach(publication -> {
+                    built.put(PublicationMapper.mapSuggestion(publication));
+                    entityManager.detach(publication);
+                });
+            }
+            return null;
+        });
+        return built;
+    }
+
+    @Override
+    protected boolean follows(PushTopic topic) {
+        return topic == PushTopic.ORGANIZATION || topic == PushTopic.PUBLICATION;
+    }
+
+    @Override
+    protected void apply(SuggestTrie index, EntityChangedEvent event) {
+        if (event.getTopic() == PushTopic.ORGANIZATION) {
+            Organization organization = organizationRepository.findByUuid(event.getUuid());
+            if (organization == null || organization.getDeleted()) {
+                index.remove(event.getUuid());
+            } else {
+                index.put(OrganizationMapper.mapSuggestion(organization));
+            }
+        } else {
+            Publication publication = publicationRepository.findByUuid(event.getUuid());
+            if (publication == null || publication.getDeleted()) {
+                index.remove(event.getUuid());
+            } else {
+                index.put(PublicationMapper.mapSuggestion(publication));
+            }
+        }
+    }
+
+    @Override
+    protected void applyAll(SuggestTrie index, PushTopic topic, List<UUID> uuids) {
+        if (topic != PushTopic.PUBLICATION) {
+            super.applyAll(index, topic, uuids);
+            return;
+        }
+        Map<UUID, Publication> publications = publicationRepository.findAllByUuidIn(uuids).stream()
+                .collect(Collectors.toMap(Publication::getUuid, Function.identity()));
+        for (UUID uuid : uuids) {
+            Publication publication = publications.get(uuid);
+            if (publication == null || publication.getDeleted()) {
+                index.remove(uuid);
+            } else {
+                index.put(PublicationMapper.mapSuggestion(publication));
+            }
+        }
+    }
+}
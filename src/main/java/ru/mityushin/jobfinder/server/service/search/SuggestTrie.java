@@ -0,0 +1,326 @@
+package ru.mityushin.jobfinder.server.service.search;
+
+import ru.mityushin.jobfinder.server.dto.SuggestionDTO;
+import ru.mityushin.jobfinder.server.util.search.TextAnalyzer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Radix tree over normalized titles. Every node knows the highest weight below it, so the completions of a
+ * prefix come out best first and only the branches that can still contribute are visited.
+ * Searches share a read lock, changes take the write lock.
+ */
+class SuggestTrie {
+
+    private static final char[] NO_CHARS = new char[0];
+    private static final Node[] NO_NODES = new Node[0];
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+    private static final Comparator<Entry> BY_WEIGHT = Comparator.<Entry>comparingInt(entry -> entry.weight)
+            .reversed()
+            .thenComparing(entry -> entry.suggestion.getUuid());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node(NO_CHARS);
+    private final Map<UUID, Entry> entries = new HashMap<>();
+
+    /**
+     * Adds the suggestion or replaces its previous version.
+     */
+    void put(SuggestionDTO suggestion) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.remove(suggestion.getUuid());
+            if (previous != null) {
+                delete(previous);
+            }
+            String key = TextAnalyzer.normalize(suggestion.getTitle() == null ? "" : suggestion.getTitle());
+            if (key.isEmpty()) {
+                return;
+            }
+            Entry entry = new Entry(key.toCharArray(), suggestion);
+            entries.put(suggestion.getUuid(), entry);
+            insert(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(UUID uuid) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.remove(uuid);
+            if (entry != null) {
+                delete(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Suggestions whose normalized title starts with the normalized prefix, the heaviest first.
+     */
+    List<SuggestionDTO> suggest(String prefix, int limit) {
+        char[] key = TextAnalyzer.normalize(prefix).toCharArray();
+        List<SuggestionDTO> suggestions = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int i = 0;
+            while (i < key.length) {
+                int index = node.childIndex(key[i]);
+                if (index < 0) {
+                    return suggestions;
+                }
+                Node child = node.children[index];
+                int common = commonPrefix(child.label, key, i);
+                if (common < child.label.length && i + common < key.length) {
+                    return suggestions;
+                }
+                node = child;
+                i += common;
+            }
+            PriorityQueue<Candidate> queue = new PriorityQueue<>();
+            queue.add(Candidate.of(node));
+            while (!queue.isEmpty() && suggestions.size() < limit) {
+                Candidate next = queue.poll();
+                if (next.entryIndex >= 0) {
+                    suggestions.add(next.node.entries[next.entryIndex].suggestion);
+                    if (next.entryIndex + 1 < next.node.entries.length) {
+                        queue.add(Candidate.of(next.node, next.entryIndex + 1));
+                    }
+                    continue;
+                }
+                if (next.node.entries.length > 0) {
+                    queue.add(Candidate.of(next.node, 0));
+                }
+                for (Node child : next.node.children) {
+                    queue.add(Candidate.of(child));
+                }
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(Entry entry) {
+        char[] key = entry.key;
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length) {
+            int index = node.childIndex(key[i]);
+            if (index < 0) {
+                Node leaf = new Node(Arrays.copyOfRange(key, i, key.length));
+                node.addChild(leaf);
+                node = leaf;
+                path.add(node);
+                break;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length) {
+                Node middle = new Node(Arrays.copyOf(child.label, common));
+                child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+                middle.addChild(child);
+                middle.maxWeight = child.maxWeight;
+                node.children[index] = middle;
+                child = middle;
+            }
+            node = child;
+            path.add(node);
+            i += common;
+        }
+        node.addEntry(entry);
+        for (Node onPath : path) {
+            onPath.maxWeight = Math.max(onPath.maxWeight, entry.weight);
+        }
+    }
+
+    /**
+     * Removes the entry, drops nodes left empty and merges a node left with a single child into it.
+     */
+    private void delete(Entry entry) {
+        char[] key = entry.key;
+        List<Node> parents = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        Node node = root;
+        int i = 0;
+        while (i < key.length) {
+            int index = node.childIndex(key[i]);
+            parents.add(node);
+            indexes.add(index);
+            node = node.children[index];
+            i += node.label.length;
+        }
+        node.removeEntry(entry);
+        for (int depth = parents.size() - 1; depth >= 0; depth--) {
+            Node parent = parents.get(depth);
+            int index = indexes.get(depth);
+            if (node.entries.length == 0 && node.children.length == 0) {
+                parent.removeChild(index);
+            } else if (node.entries.length == 0 && node.children.length == 1) {
+                Node only = node.children[0];
+                char[] label = Arrays.copyOf(node.label, node.label.length + only.label.length);
+                System.arraycopy(only.label, 0, label, node.label.length, only.label.length);
+                only.label = label;
+                parent.children[index] = only;
+            } else {
+                node.updateMaxWeight();
+            }
+            node = parent;
+        }
+        root.updateMaxWeight();
+    }
+
+    private static int commonPrefix(char[] label, char[] key, int from) {
+        int length = Math.min(label.length, key.length - from);
+        int common = 0;
+        while (common < length && label[common] == key[from + common]) {
+            common++;
+        }
+        return common;
+    }
+
+    private static final class Entry {
+        final char[] key;
+        final SuggestionDTO suggestion;
+        final int weight;
+
+        Entry(char[] key, SuggestionDTO suggestion) {
+            this.key = key;
+            this.suggestion = suggestion;
+            this.weight = suggestion.getWeight() == null ? 0 : suggestion.getWeight();
+        }
+    }
+
+    private static final class Node {
+        char[] label;
+        /**
+         * First character of the label of every child, sorted, in the order of {@link #children}
+         */
+        char[] firsts = NO_CHARS;
+        Node[] children = NO_NODES;
+        /**
+         * Entries whose key ends at this node, the heaviest first
+         */
+        Entry[] entries = NO_ENTRIES;
+        int maxWeight = Integer.MIN_VALUE;
+
+        Node(char[] label) {
+            this.label = label;
+        }
+
+        int childIndex(char first) {
+            return Arrays.binarySearch(firsts, first);
+        }
+
+        void addChild(Node child) {
+            int index = -childIndex(child.label[0]) - 1;
+            firsts = insert(firsts, index, child.label[0]);
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, index);
+            grown[index] = child;
+            System.arraycopy(children, index, grown, index + 1, children.length - index);
+            children = grown;
+        }
+
+        void removeChild(int index) {
+            char[] shrunkFirsts = new char[firsts.length - 1];
+            System.arraycopy(firsts, 0, shrunkFirsts, 0, index);
+            System.arraycopy(firsts, index + 1, shrunkFirsts, index, firsts.length - index - 1);
+            firsts = shrunkFirsts;
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, index);
+            System.arraycopy(children, index + 1, shrunk, index, children.length - index - 1);
+            children = shrunk;
+            updateMaxWeight();
+        }
+
+        void addEntry(Entry entry) {
+            Entry[] grown = Arrays.copyOf(entries, entries.length + 1);
+            grown[entries.length] = entry;
+            Arrays.sort(grown, BY_WEIGHT);
+            entries = grown;
+        }
+
+        void removeEntry(Entry entry) {
+            Entry[] shrunk = new Entry[entries.length - 1];
+            int next = 0;
+            for (Entry existing : entries) {
+                if (existing != entry) {
+                    shrunk[next++] = existing;
+                }
+            }
+            entries = shrunk;
+        }
+
+        void updateMaxWeight() {
+            int max = entries.length > 0 ? entries[0].weight : Integer.MIN_VALUE;
+            for (Node child : children) {
+                max = Math.max(max, child.maxWeight);
+            }
+            maxWeight = max;
+        }
+
+        private static char[] insert(char[] chars, int index, char c) {
+            char[] grown = new char[chars.length + 1];
+            System.arraycopy(chars, 0, grown, 0, index);
+            grown[index] = c;
+            System.arraycopy(chars, index, grown, index + 1, chars.length - index);
+            return grown;
+        }
+    }
+
+    /**
+     * A subtree bounded by its highest weight, or one entry of a node. At equal weight entries come first,
+     * so that a completion is returned as soon as nothing left can beat it.
+     */
+    private static final class Candidate implements Comparable<Candidate> {
+        final Node node;
+        final int entryIndex;
+        final int weight;
+
+        private Candidate(Node node, int entryIndex, int weight) {
+            this.node = node;
+            this.entryIndex = entryIndex;
+            this.weight = weight;
+        }
+
+        static Candidate of(Node node) {
+            return new Candidate(node, -1, node.maxWeight);
+        }
+
+        static Candidate of(Node node, int entryIndex) {
+            return new Candidate(node, entryIndex, node.entries[entryIndex].weight);
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            if (weight != other.weight) {
+                return Integer.compare(other.weight, weight);
+            }
+            return Boolean.compare(entryIndex < 0, other.entryIndex < 0);
+        }
+    }
+}
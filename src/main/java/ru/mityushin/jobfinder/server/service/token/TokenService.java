@@ -0,0 +1,16 @@
+package ru.mityushin.jobfinder.server.service.token;
+
+import org.springframework.security.core.AuthenticationException;
+import ru.mityushin.jobfinder.server.dto.TokenDTO;
+import ru.mityushin.jobfinder.server.service.userdetails.ExtendedUserDetails;
+
+public interface TokenService {
+    TokenDTO issue(ExtendedUserDetails userDetails);
+
+    /**
+     * Checks signature and expiry of the token and rebuilds its principal without touching the database.
+     *
+     * @throws AuthenticationException if the token is malformed, forged or expired
+     */
+    ExtendedUserDetails verify(String token) throws AuthenticationException;
+}
@@ -0,0 +1,128 @@
+package ru.mityushin.jobfinder.server.service.token;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import ru.mityushin.jobfinder.server.dto.TokenDTO;
+import ru.mityushin.jobfinder.server.service.userdetails.ExtendedUserDetails;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Issues tokens of the form {@code base64url(payload).base64url(HMAC-SHA256(payload))},
+ * where payload is {@code uuid|expiresAt|role,role|username}.
+ */
+@Service
+public class TokenServiceImpl implements TokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String TOKEN_TYPE = "Bearer";
+    private static final int MIN_KEY_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final long ttlSeconds;
+    private final ThreadLocal<Mac> mac;
+
+    /**
+     * @param allowRandomSecret for local development only: without a secret every node signs with its own
+     *                          random key, so tokens are rejected by other nodes and after a restart
+     */
+    public TokenServiceImpl(@Value("${jobfinder.security.token.secret:}") String secret,
+                            @Value("${jobfinder.security.token.allow-random-secret:false}") boolean allowRandomSecret,
+                            @Value("${jobfinder.security.token.ttl-seconds:3600}") long ttlSeconds,
+                            Logger log) {
+        byte[] key;
+        if (StringUtils.isEmpty(secret)) {
+            if (!allowRandomSecret) {
+                throw new IllegalStateException("jobfinder.security.token.secret is not configured.");
+            }
+            log.warn("Token secret is not configured, issued tokens are valid only on this node until restart.");
+            key = new byte[MIN_KEY_BYTES];
+            new SecureRandom().nextBytes(key);
+        } else {
+            try {
+                key = Base64.getDecoder().decode(secret);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("jobfinder.security.token.secret is not valid Base64.", e);
+            }
+            if (key.length < MIN_KEY_BYTES) {
+                throw new IllegalStateException("jobfinder.security.token.secret must be at least "
+                        + MIN_KEY_BYTES + " bytes long, but is " + key.length + ".");
+            }
+        }
+        SecretKeySpec keySpec = new SecretKeySpec(key, ALGORITHM);
+        this.ttlSeconds = ttlSeconds;
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(ALGORITHM);
+                instance.init(keySpec);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Override
+    public TokenDTO issue(ExtendedUserDetails userDetails) {
+        long expiresAt = System.currentTimeMillis() / 1000 + ttlSeconds;
+        String roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(","));
+        String payload = ENCODER.encodeToString((userDetails.getIdentifier() + "|" + expiresAt + "|"
+                + roles + "|" + userDetails.getUsername()).getBytes(StandardCharsets.UTF_8));
+        return TokenDTO.builder()
+                .token(payload + "." + ENCODER.encodeToString(sign(payload)))
+                .tokenType(TOKEN_TYPE)
+                .expiresIn(ttlSeconds)
+                .build();
+    }
+
+    @Override
+    public ExtendedUserDetails verify(String token) {
+        int separator = token.lastIndexOf('.');
+        if (separator <= 0) {
+            throw new BadCredentialsException("Malformed token.");
+        }
+        String payload = token.substring(0, separator);
+        String[] fields;
+        try {
+            if (!MessageDigest.isEqual(sign(payload), DECODER.decode(token.substring(separator + 1)))) {
+                throw new BadCredentialsException("Invalid token signature.");
+            }
+            fields = new String(DECODER.decode(payload), StandardCharsets.UTF_8).split("\\|", 4);
+        } catch (IllegalArgumentException e) {
+            throw new BadCredentialsException("Malformed token.");
+        }
+        if (fields.length != 4) {
+            throw new BadCredentialsException("Malformed token.");
+        }
+        if (Long.parseLong(fields[1]) <= System.currentTimeMillis() / 1000) {
+            throw new CredentialsExpiredException("Token has expired.");
+        }
+        return ExtendedUserDetails.builder()
+                .uuid(UUID.fromString(fields[0]))
+                .username(fields[3])
+                .roles(StringUtils.commaDelimitedListToSet(fields[2]))
+                .accountNonLocked(true)
+                .enabled(true)
+                .build();
+    }
+
+    private byte[] sign(String payload) {
+        return mac.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -1,66 +1,165 @@
 package ru.mityushin.jobfinder.server.service.userdetails;
 
+import lombok.Builder;
 import lombok.EqualsAndHashCode;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import ru.mityushin.jobfinder.server.model.Person;
-import ru.mityushin.jobfinder.server.model.Role;
+import ru.mityushin.jobfinder.server.util.enums.SecurityRole;
 
+import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
-@EqualsAndHashCode
-@RequiredArgsConstructor
-public class ExtendedUserDetails implements UserDetails, Identifiable<UUID> {
+/**
+ * Immutable snapshot of a {@link Person} taken at authentication time.
+ */
+@EqualsAndHashCode(of = "uuid")
+public final class ExtendedUserDetails implements UserDetails, Identifiable<UUID> {
 
-    private final Person person;
+    private static final long serialVersionUID = 2L;
+
+    /**
+     * Authority sets for every possible role mask, shared by all principals.
+     */
+    private static final List<Set<GrantedAuthority>> AUTHORITIES = authorities();
+
+    private final UUID uuid;
+    private final String username;
+    private final String password;
+    private final boolean accountNonLocked;
+    private final boolean enabled;
+    private final Instant expire;
+    private final Instant credentialsExpire;
+    private final int roleMask;
+
+    public ExtendedUserDetails(Person person) {
+        this(person.getUuid(),
+                person.getUsername(),
+                person.getPassword(),
+                !Boolean.TRUE.equals(person.getLocked()),
+                Boolean.TRUE.equals(person.getEnabled()),
+                toInstant(person.getExpire()),
+                toInstant(person.getCredentialsExpire()),
+                SecurityRole.toMask(person.getRoles()));
+    }
+
+    @Builder
+    private ExtendedUserDetails(UUID uuid,
+                                String username,
+                                String password,
+                                boolean accountNonLocked,
+                                boolean enabled,
+                                Instant expire,
+                                Instant credentialsExpire,
+                                Collection<String> roles) {
+        this(uuid, username, password, accountNonLocked, enabled, expire, credentialsExpire, toMask(roles));
+    }
+
+    private ExtendedUserDetails(UUID uuid,
+                                String username,
+                                String password,
+                                boolean accountNonLocked,
+                                boolean enabled,
+                                Instant expire,
+                                Instant credentialsExpire,
+                                int roleMask) {
+        this.uuid = uuid;
+        this.username = username;
+        this.password = password;
+        this.accountNonLocked = accountNonLocked;
+        this.enabled = enabled;
+        this.expire = expire;
+        this.credentialsExpire = credentialsExpire;
+        this.roleMask = roleMask;
+    }
+
+    public boolean hasRole(SecurityRole role) {
+        return role.isIn(roleMask);
+    }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return person.getRoles().stream()
-                .map(Role::getName)
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toSet());
+        return AUTHORITIES.get(roleMask);
     }
 
     @Override
     public String getPassword() {
-        return person.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return person.getUsername();
+        return username;
     }
 
     @Override
     public boolean isAccountNonExpired() {
-        ZonedDateTime expire = person.getExpire();
-        return (expire == null) || (expire.compareTo(ZonedDateTime.now()) > 0);
+        return isNotPassed(expire);
     }
 
     @Override
     public boolean isAccountNonLocked() {
-        return !person.getLocked();
+        return accountNonLocked;
     }
 
     @Override
     public boolean isCredentialsNonExpired() {
-        ZonedDateTime expire = person.getCredentialsExpire();
-        return (expire == null) || (expire.compareTo(ZonedDateTime.now()) > 0);
+        return isNotPassed(credentialsExpire);
     }
 
     @Override
     public boolean isEnabled() {
-        return person.getEnabled();
+        return enabled;
     }
 
     @Override
     public UUID getIdentifier() {
-        return person.getUuid();
+        return uuid;
+    }
+
+    /**
+     * Names that are not {@link SecurityRole security roles} are skipped.
+     */
+    private static int toMask(Collection<String> roles) {
+        int mask = 0;
+        if (roles != null) {
+            for (String name : roles) {
+                SecurityRole role = SecurityRole.find(name);
+                if (role != null) {
+                    mask |= role.getMask();
+                }
+            }
+        }
+        return mask;
+    }
+
+    private static List<Set<GrantedAuthority>> authorities() {
+        int masks = SecurityRole.toMask(Arrays.asList(SecurityRole.values())) + 1;
+        List<Set<GrantedAuthority>> authorities = new ArrayList<>(masks);
+        for (int mask = 0; mask < masks; mask++) {
+            Set<GrantedAuthority> set = new HashSet<>();
+            for (SecurityRole role : SecurityRole.fromMask(mask)) {
+                set.add(new SimpleGrantedAuthority(role.name()));
+            }
+            authorities.add(Collections.unmodifiableSet(set));
+        }
+        return Collections.unmodifiableList(authorities);
+    }
+
+    private static Instant toInstant(ZonedDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toInstant();
+    }
+
+    private static boolean isNotPassed(Instant instant) {
+        return instant == null || instant.toEpochMilli() > System.currentTimeMillis();
     }
 }
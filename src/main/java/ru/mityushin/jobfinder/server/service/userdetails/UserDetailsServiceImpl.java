@@ -1,12 +1,14 @@
 package ru.mityushin.jobfinder.server.service.userdetails;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import ru.mityushin.jobfinder.server.model.Person;
 import ru.mityushin.jobfinder.server.repo.PersonRepository;
+import ru.mityushin.jobfinder.server.util.CacheNames;
 
 @Service
 @RequiredArgsConstructor
@@ -14,6 +16,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final PersonRepository personRepository;
 
+    @Cacheable(CacheNames.USER_DETAILS)
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         Person person = personRepository.findByUsername(username);
@@ -0,0 +1,10 @@
+package ru.mityushin.jobfinder.server.util;
+
+public class CacheNames {
+    public static final String USER_DETAILS = "userDetails";
+    public static final String PUBLICATIONS = "publications";
+    public static final String ORGANIZATIONS = "organizations";
+    public static final String PERSONS = "persons";
+    public static final String ORGANIZATION_PAGES = "organizationPages";
+    public static final String PUBLICATION_PAGES = "publicationPages";
+}
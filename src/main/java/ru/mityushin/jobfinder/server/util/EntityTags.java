@@ -0,0 +1,64 @@
+package ru.mityushin.jobfinder.server.util;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.WebRequest;
+import ru.mityushin.jobfinder.server.util.exception.PreconditionFailedException;
+
+import java.util.function.Supplier;
+
+/**
+ * Strong ETags made of the JPA version of an entity. Every update through the entity increments the version,
+ * so equal tags mean byte-identical representations.
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Answers a conditional GET from the version alone, before the entity is loaded and mapped.
+     * On {@code true} the response is already a 304 and the handler must return {@code null}.
+     */
+    public static boolean notModified(WebRequest request, Supplier<Long> version) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(of(version.get()));
+    }
+
+    /**
+     * Version an update requires, or {@code null} when there is no {@code If-Match} header or it is {@code *}.
+     * An entity has a single current version, so a header naming anything but one strong tag
+     * can never match.
+     *
+     * @throws PreconditionFailedException if the header names anything else
+     */
+    @Nullable
+    public static Long ifMatch(@Nullable String header) {
+        if (header == null || header.trim().equals("*")) {
+            return null;
+        }
+        String tag = header.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // falls through to the mismatch
+            }
+        }
+        throw new PreconditionFailedException("If-Match doesn't match the current version.");
+    }
+
+    /**
+     * @param required version from {@link #ifMatch}, {@code null} when any version will do
+     * @throws PreconditionFailedException if the entity is at another version
+     */
+    public static void checkVersion(@Nullable Long required, Long current) {
+        if (required != null && !required.equals(current)) {
+            throw new PreconditionFailedException("This data has been changed since it was read.");
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package ru.mityushin.jobfinder.server.util;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes {@code {"message":"..."}} error bodies. Messages are mostly constants,
+ * so encoded bodies are kept for reuse up to {@link #MAX_CACHED} distinct messages.
+ */
+public final class ErrorBodyWriter {
+
+    public static final HttpHeaders HEADERS;
+    static final int MAX_CACHED = 256;
+
+    private static final byte[] PREFIX = "{\"message\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NULL_BODY = "{\"message\":null}".getBytes(StandardCharsets.UTF_8);
+    private static final Map<String, byte[]> BODIES = new ConcurrentHashMap<>();
+
+    static {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON_UTF8);
+        HEADERS = HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    private ErrorBodyWriter() {
+    }
+
+    /**
+     * @return encoded body, shared between callers and must not be modified
+     */
+    public static byte[] write(String message) {
+        if (message == null) {
+            return NULL_BODY;
+        }
+        byte[] body = BODIES.get(message);
+        if (body == null) {
+            body = encode(message);
+            if (BODIES.size() < MAX_CACHED) {
+                BODIES.putIfAbsent(message, body);
+            }
+        }
+        return body;
+    }
+
+    private static byte[] encode(String message) {
+        byte[] quoted = JsonStringEncoder.getInstance().quoteAsUTF8(message);
+        byte[] body = new byte[PREFIX.length + quoted.length + SUFFIX.length];
+        System.arraycopy(PREFIX, 0, body, 0, PREFIX.length);
+        System.arraycopy(quoted, 0, body, PREFIX.length, quoted.length);
+        System.arraycopy(SUFFIX, 0, body, PREFIX.length + quoted.length, SUFFIX.length);
+        return body;
+    }
+}
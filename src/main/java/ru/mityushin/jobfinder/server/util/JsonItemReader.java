@@ -0,0 +1,48 @@
+package ru.mityushin.jobfinder.server.util;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.mityushin.jobfinder.server.util.exception.data.InvalidParametersException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Reads the items of a JSON array or of newline-delimited JSON one by one as they arrive, so the body is
+ * never held in memory as a whole. Items are handed over as trees: one that can't be mapped doesn't stop
+ * the reading, only malformed JSON does.
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonItemReader {
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @throws InvalidParametersException if the body is not well-formed JSON
+     */
+    public void read(InputStream in, Consumer<JsonNode> consumer) throws IOException {
+        int index = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                consumer.accept(parser.readValueAsTree());
+                index++;
+                token = parser.nextToken();
+            }
+        } catch (JsonParseException e) {
+            throw new InvalidParametersException("Item " + index + " is not valid JSON: " + e.getOriginalMessage());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package ru.mityushin.jobfinder.server.util;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
+import ru.mityushin.jobfinder.server.dto.PageDTO;
+import ru.mityushin.jobfinder.server.util.exception.data.InvalidParametersException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset pagination helpers. A cursor is the id of the last row of the previous page,
+ * so every page is a single index range scan no matter how deep the client has scrolled.
+ */
+public class PageCursor {
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    public static long decode(@Nullable String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidParametersException("Parameter 'after' is not a valid cursor.");
+        }
+    }
+
+    public static String encode(long id) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(Long.toString(id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static int limit(@Nullable Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1) {
+            throw new InvalidParametersException("Parameter 'limit' must be positive.");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Requests one row more than the page size to find out whether the next page exists.
+     */
+    public static Pageable request(int limit) {
+        return PageRequest.of(0, limit + 1);
+    }
+
+    public static <E, D> PageDTO<D> page(List<E> rows, int limit, ToLongFunction<E> id, Function<E, D> mapper) {
+        boolean hasNext = rows.size() > limit;
+        List<E> items = hasNext ? rows.subList(0, limit) : rows;
+        return PageDTO.<D>builder()
+                .items(items.stream()
+                        .map(mapper)
+                        .collect(Collectors.toList()))
+                .next(hasNext ? encode(id.applyAsLong(items.get(limit - 1))) : null)
+                .build();
+    }
+}
@@ -1,11 +1,67 @@
 package ru.mityushin.jobfinder.server.util.enums;
 
+import org.springframework.lang.Nullable;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bits are persisted in {@code PERSON.ROLE_MASK}: never reorder or reuse them, only append new ones.
+ */
 public enum SecurityRole {
-    ROLE_ADMIN,
-    ROLE_CONTENT_MAKER,
-    ROLE_MODERATOR,
-    ROLE_USER,
-    ROLE_ORGANIZATION_MANAGER;
+    ROLE_ADMIN(0),
+    ROLE_CONTENT_MAKER(1),
+    ROLE_MODERATOR(2),
+    ROLE_USER(3),
+    ROLE_ORGANIZATION_MANAGER(4);
+
+    private static final Map<String, SecurityRole> BY_NAME = new HashMap<>();
+
+    static {
+        for (SecurityRole role : values()) {
+            BY_NAME.put(role.name(), role);
+        }
+    }
+
+    private final int mask;
+
+    SecurityRole(int bit) {
+        this.mask = 1 << bit;
+    }
+
+    public int getMask() {
+        return mask;
+    }
+
+    public boolean isIn(int mask) {
+        return (mask & this.mask) != 0;
+    }
+
+    @Nullable
+    public static SecurityRole find(String name) {
+        return BY_NAME.get(name);
+    }
+
+    public static int toMask(@Nullable Iterable<SecurityRole> roles) {
+        int mask = 0;
+        if (roles != null) {
+            for (SecurityRole role : roles) {
+                mask |= role.mask;
+            }
+        }
+        return mask;
+    }
+
+    public static EnumSet<SecurityRole> fromMask(int mask) {
+        EnumSet<SecurityRole> roles = EnumSet.noneOf(SecurityRole.class);
+        for (SecurityRole role : values()) {
+            if (role.isIn(mask)) {
+                roles.add(role);
+            }
+        }
+        return roles;
+    }
 
     public static boolean isDefaultAdminSecurityRole(String name) {
         return name != null;
@@ -33,4 +89,4 @@ public enum SecurityRole {
         }
         return false;
     }
-}
\ No newline at end of file
+}
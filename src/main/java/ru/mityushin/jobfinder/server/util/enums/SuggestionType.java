@@ -0,0 +1,6 @@
+package ru.mityushin.jobfinder.server.util.enums;
+
+public enum SuggestionType {
+    ORGANIZATION,
+    PUBLICATION
+}
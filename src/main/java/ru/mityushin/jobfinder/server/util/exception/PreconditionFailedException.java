@@ -0,0 +1,7 @@
+package ru.mityushin.jobfinder.server.util.exception;
+
+public class PreconditionFailedException extends ServerException {
+    public PreconditionFailedException(String msg) {
+        super(msg);
+    }
+}
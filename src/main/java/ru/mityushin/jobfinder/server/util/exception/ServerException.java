@@ -1,7 +1,18 @@
 package ru.mityushin.jobfinder.server.util.exception;
 
+/**
+ * Expected failures answered with a 4xx status, or 503 when the server is at capacity. They skip stack trace capture unless
+ * the JVM runs with {@code -Djobfinder.exceptions.stack-trace=true}.
+ */
 public class ServerException extends RuntimeException {
+
+    private static final boolean STACK_TRACE = Boolean.getBoolean("jobfinder.exceptions.stack-trace");
+
     public ServerException(String msg) {
-        super(msg);
+        this(msg, STACK_TRACE);
+    }
+
+    protected ServerException(String msg, boolean writableStackTrace) {
+        super(msg, null, false, writableStackTrace);
     }
 }
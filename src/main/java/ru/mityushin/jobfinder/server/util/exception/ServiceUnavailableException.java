@@ -0,0 +1,7 @@
+package ru.mityushin.jobfinder.server.util.exception;
+
+public class ServiceUnavailableException extends ServerException {
+    public ServiceUnavailableException(String msg) {
+        super(msg);
+    }
+}
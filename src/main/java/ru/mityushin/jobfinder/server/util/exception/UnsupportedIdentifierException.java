@@ -2,6 +2,6 @@ package ru.mityushin.jobfinder.server.util.exception;
 
 public class UnsupportedIdentifierException extends ServerException {
     public UnsupportedIdentifierException(String msg) {
-        super(msg);
+        super(msg, true);
     }
 }
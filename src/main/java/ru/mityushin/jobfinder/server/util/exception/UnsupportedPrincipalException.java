@@ -2,6 +2,6 @@ package ru.mityushin.jobfinder.server.util.exception;
 
 public class UnsupportedPrincipalException extends ServerException {
     public UnsupportedPrincipalException(String msg) {
-        super(msg);
+        super(msg, true);
     }
 }
@@ -0,0 +1,9 @@
+package ru.mityushin.jobfinder.server.util.exception.data;
+
+import ru.mityushin.jobfinder.server.util.exception.ServerException;
+
+public class InvalidParametersException extends ServerException {
+    public InvalidParametersException(String msg) {
+        super(msg);
+    }
+}
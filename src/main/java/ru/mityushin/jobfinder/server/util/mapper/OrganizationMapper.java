@@ -2,6 +2,8 @@ package ru.mityushin.jobfinder.server.util.mapper;
 
 import ru.mityushin.jobfinder.server.model.Organization;
 import ru.mityushin.jobfinder.server.dto.OrganizationDTO;
+import ru.mityushin.jobfinder.server.dto.SuggestionDTO;
+import ru.mityushin.jobfinder.server.util.enums.SuggestionType;
 
 import javax.validation.constraints.NotNull;
 
@@ -17,13 +19,23 @@ public class OrganizationMapper {
     }
 
     public static OrganizationDTO map(@NotNull Organization organization) {
-        Integer subscribersCount = organization.getSubscribers() == null ? 0 : organization.getSubscribers().size();
+        Integer subscribersCount = organization.getSubscribersCount() == null ? 0 : organization.getSubscribersCount();
         return OrganizationDTO.builder()
                 .uuid(organization.getUuid())
                 .creatorUuid(organization.getCreatorUuid())
                 .title(organization.getTitle())
                 .description(organization.getDescription())
                 .subscribersCount(subscribersCount)
+                .version(organization.getVersion())
+                .build();
+    }
+
+    public static SuggestionDTO mapSuggestion(@NotNull Organization organization) {
+        return SuggestionDTO.builder()
+                .type(SuggestionType.ORGANIZATION)
+                .uuid(organization.getUuid())
+                .title(organization.getTitle())
+                .weight(organization.getSubscribersCount() == null ? 0 : organization.getSubscribersCount())
                 .build();
     }
 }
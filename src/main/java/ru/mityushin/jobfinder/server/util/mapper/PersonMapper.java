@@ -2,8 +2,11 @@ package ru.mityushin.jobfinder.server.util.mapper;
 
 import ru.mityushin.jobfinder.server.model.Person;
 import ru.mityushin.jobfinder.server.dto.PersonDTO;
+import ru.mityushin.jobfinder.server.repo.projection.PersonView;
+import ru.mityushin.jobfinder.server.util.enums.Sex;
 
 import javax.validation.constraints.NotNull;
+import java.util.UUID;
 
 public class PersonMapper {
 
@@ -30,6 +33,19 @@ public class PersonMapper {
                 .lastName(person.getLastName())
                 .sex(person.getSex())
                 .country(person.getCountry())
+                .version(person.getVersion())
+                .build();
+    }
+
+    @NotNull
+    public static PersonDTO map(PersonView person) {
+        return PersonDTO.builder()
+                .uuid(UUID.fromString(person.getUuid()))
+                .username(person.getUsername())
+                .firstName(person.getFirstName())
+                .lastName(person.getLastName())
+                .sex(person.getSex() == null ? null : Sex.valueOf(person.getSex()))
+                .country(person.getCountry())
                 .build();
     }
 }
@@ -1,7 +1,12 @@
 package ru.mityushin.jobfinder.server.util.mapper;
 
 import ru.mityushin.jobfinder.server.model.Publication;
+import ru.mityushin.jobfinder.server.dto.PublicationChangeDTO;
 import ru.mityushin.jobfinder.server.dto.PublicationDTO;
+import ru.mityushin.jobfinder.server.dto.PublicationSummaryDTO;
+import ru.mityushin.jobfinder.server.dto.SuggestionDTO;
+import ru.mityushin.jobfinder.server.repo.projection.PublicationSummaryView;
+import ru.mityushin.jobfinder.server.util.enums.SuggestionType;
 
 import javax.validation.constraints.NotNull;
 
@@ -28,6 +33,42 @@ public class PublicationMapper {
                 .description(publication.getDescription())
                 .content(publication.getContent())
                 .visible(publication.getVisible())
+                .version(publication.getVersion())
+                .build();
+    }
+
+    @NotNull
+    public static PublicationSummaryDTO mapSummary(PublicationSummaryView publication) {
+        return PublicationSummaryDTO.builder()
+                .uuid(publication.getUuid())
+                .authorUuid(publication.getAuthorUuid())
+                .title(publication.getTitle())
+                .description(publication.getDescription())
+                .visible(publication.getVisible())
+                .build();
+    }
+
+    @NotNull
+    public static PublicationChangeDTO mapChange(Publication publication) {
+        boolean deleted = Boolean.TRUE.equals(publication.getDeleted());
+        return PublicationChangeDTO.builder()
+                .uuid(publication.getUuid())
+                .changeSeq(publication.getChangeSeq())
+                .deleted(deleted)
+                .publication(deleted ? null : map(publication))
+                .build();
+    }
+
+    /**
+     * Publications have no popularity counter yet, so they weigh nothing and follow popular organizations.
+     */
+    @NotNull
+    public static SuggestionDTO mapSuggestion(Publication publication) {
+        return SuggestionDTO.builder()
+                .type(SuggestionType.PUBLICATION)
+                .uuid(publication.getUuid())
+                .title(publication.getTitle())
+                .weight(0)
                 .build();
     }
 
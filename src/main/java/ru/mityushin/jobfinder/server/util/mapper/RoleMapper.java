@@ -0,0 +1,26 @@
+package ru.mityushin.jobfinder.server.util.mapper;
+
+import ru.mityushin.jobfinder.server.model.Role;
+import ru.mityushin.jobfinder.server.util.enums.SecurityRole;
+
+import javax.validation.constraints.NotNull;
+import java.util.Collection;
+import java.util.EnumSet;
+
+public class RoleMapper {
+
+    /**
+     * Roles that are not {@link SecurityRole security roles} are skipped.
+     */
+    @NotNull
+    public static EnumSet<SecurityRole> map(Collection<Role> roles) {
+        EnumSet<SecurityRole> securityRoles = EnumSet.noneOf(SecurityRole.class);
+        for (Role role : roles) {
+            SecurityRole securityRole = SecurityRole.find(role.getName());
+            if (securityRole != null) {
+                securityRoles.add(securityRole);
+            }
+        }
+        return securityRoles;
+    }
+}
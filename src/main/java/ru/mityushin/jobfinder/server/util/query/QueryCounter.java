@@ -0,0 +1,30 @@
+package ru.mityushin.jobfinder.server.util.query;
+
+/**
+ * Per-thread count of JDBC statements prepared by Hibernate between {@link #start()} and {@link #stop()}.
+ * Threads that never started counting pay only a thread-local lookup per statement.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    public static void increment() {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+}
@@ -0,0 +1,70 @@
+package ru.mityushin.jobfinder.server.util.search;
+
+import static ru.mityushin.jobfinder.server.util.search.TextAnalyzer.endsWith;
+
+/**
+ * Light English stemmer: the plural rules of the minimal S-stemmer plus the "-ing" and "-ed" rules of
+ * Porter's step 1b. Enough to conflate "developers", "developing" and "developed".
+ */
+final class EnglishLightStemmer {
+
+    private EnglishLightStemmer() {
+    }
+
+    static int stem(char[] s, int len) {
+        len = removePlural(s, len);
+        if (len > 5 && endsWith(s, len, "ing") && hasVowel(s, len - 3)) {
+            return undouble(s, len - 3);
+        }
+        if (len > 4 && endsWith(s, len, "ed") && hasVowel(s, len - 2)) {
+            return undouble(s, len - 2);
+        }
+        return len;
+    }
+
+    private static int removePlural(char[] s, int len) {
+        if (len < 3 || s[len - 1] != 's') {
+            return len;
+        }
+        switch (s[len - 2]) {
+            case 'u':
+            case 's':
+                return len;
+            case 'e':
+                if (len > 3 && s[len - 3] == 'i' && s[len - 4] != 'a' && s[len - 4] != 'e') {
+                    s[len - 3] = 'y';
+                    return len - 2;
+                }
+                if (s[len - 3] == 'i' || s[len - 3] == 'a' || s[len - 3] == 'o' || s[len - 3] == 'e') {
+                    return len;
+                }
+                return len - 1;
+            default:
+                return len - 1;
+        }
+    }
+
+    private static boolean hasVowel(char[] s, int len) {
+        for (int i = 0; i < len; i++) {
+            if (isVowel(s[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u' || c == 'y';
+    }
+
+    /**
+     * "running" and "planned" lose the doubled consonant left behind by the suffix.
+     */
+    private static int undouble(char[] s, int len) {
+        char last = s[len - 1];
+        if (len > 3 && last == s[len - 2] && last != 'l' && last != 's' && last != 'z' && !isVowel(last)) {
+            return len - 1;
+        }
+        return len;
+    }
+}
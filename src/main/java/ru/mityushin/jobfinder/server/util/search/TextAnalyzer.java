@@ -0,0 +1,134 @@
+package ru.mityushin.jobfinder.server.util.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Turns Russian and English text into index terms: splits on anything but letters and digits, lower-cases,
+ * folds "ё" into "е", drops stop words and stems Cyrillic and Latin words with their own light stemmer.
+ * Documents and queries go through the same analysis, so a query term matches every inflection of it.
+ */
+public final class TextAnalyzer {
+
+    static final int MAX_TOKEN_LENGTH = 40;
+
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "if", "in", "into", "is", "it",
+            "no", "not", "of", "on", "or", "such", "that", "the", "their", "then", "there", "these", "they",
+            "this", "to", "was", "will", "with",
+            "а", "без", "бы", "был", "была", "были", "было", "в", "вам", "вас", "во", "вот", "все", "вы", "где",
+            "да", "для", "до", "его", "ее", "ей", "если", "есть", "еще", "же", "за", "и", "из", "или", "им",
+            "их", "к", "как", "когда", "кто", "ли", "мы", "на", "над", "не", "нет", "ни", "но", "о", "об", "он",
+            "она", "они", "от", "по", "под", "при", "про", "с", "со", "так", "то", "только", "у", "уже", "чем",
+            "что", "чтобы", "это", "этот", "я"));
+
+    private TextAnalyzer() {
+    }
+
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        tokenize(text, (token, length) -> addTerm(terms, token, length));
+        return terms;
+    }
+
+    /**
+     * Normalized words of the text as they are written, without stemming or stop word removal.
+     */
+    public static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        tokenize(text, (token, length) -> words.add(new String(token, 0, length)));
+        return words;
+    }
+
+    private static void tokenize(String text, TokenConsumer consumer) {
+        if (text == null) {
+            return;
+        }
+        char[] token = new char[MAX_TOKEN_LENGTH];
+        int length = 0;
+        boolean truncated = false;
+        for (int i = 0, n = text.length(); i <= n; i++) {
+            char c = i < n ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                if (length < MAX_TOKEN_LENGTH) {
+                    token[length++] = normalize(c);
+                } else {
+                    truncated = true;
+                }
+            } else if (length > 0) {
+                if (!truncated) {
+                    consumer.accept(token, length);
+                }
+                length = 0;
+                truncated = false;
+            }
+        }
+    }
+
+    /**
+     * Normalizes a phrase for prefix matching: case and "ё" are folded as for terms, and every run of other
+     * characters becomes a single space. Leading separators are dropped, a trailing one is kept, so that
+     * "java " is a prefix of "java developer" but not of "javascript".
+     */
+    public static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean separator = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (separator && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(normalize(c));
+                separator = false;
+            } else {
+                separator = true;
+            }
+        }
+        if (separator && normalized.length() > 0) {
+            normalized.append(' ');
+        }
+        return normalized.toString();
+    }
+
+    private static char normalize(char c) {
+        char lower = Character.toLowerCase(c);
+        return lower == 'ё' ? 'е' : lower;
+    }
+
+    private static void addTerm(List<String> terms, char[] token, int length) {
+        if (STOP_WORDS.contains(new String(token, 0, length))) {
+            return;
+        }
+        if (isCyrillic(token[0])) {
+            length = RussianLightStemmer.stem(token, length);
+        } else if (token[0] >= 'a' && token[0] <= 'z') {
+            length = EnglishLightStemmer.stem(token, length);
+        }
+        terms.add(new String(token, 0, length));
+    }
+
+    private static boolean isCyrillic(char c) {
+        return c >= 'а' && c <= 'я';
+    }
+
+    static boolean endsWith(char[] s, int len, String suffix) {
+        int offset = len - suffix.length();
+        if (offset < 0) {
+            return false;
+        }
+        for (int i = 0; i < suffix.length(); i++) {
+            if (s[offset + i] != suffix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private interface TokenConsumer {
+        void accept(char[] token, int length);
+    }
+}
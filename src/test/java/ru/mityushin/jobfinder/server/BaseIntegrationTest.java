@@ -8,20 +8,26 @@ import org.springframework.context.ApplicationContextInitializer;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.ResultActions;
 import org.testcontainers.containers.PostgreSQLContainer;
 import ru.mityushin.jobfinder.server.config.AspectConfig;
+import ru.mityushin.jobfinder.server.config.CacheConfig;
 import ru.mityushin.jobfinder.server.config.LoggerConfig;
 import ru.mityushin.jobfinder.server.config.ScheduleConfig;
 import ru.mityushin.jobfinder.server.config.TomcatConfig;
 import ru.mityushin.jobfinder.server.config.WebSecurityConfig;
+import ru.mityushin.jobfinder.server.util.query.QueryCounter;
 
 import java.util.Collections;
 import java.util.HashMap;
 
+import static org.junit.Assert.assertTrue;
+
 @RunWith(SpringRunner.class)
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ContextConfiguration(classes = {
         AspectConfig.class,
+        CacheConfig.class,
         LoggerConfig.class,
         ScheduleConfig.class,
         TomcatConfig.class,
@@ -48,6 +54,26 @@ public abstract class BaseIntegrationTest {
         POSTGRESQL.start();
     }
 
+    /**
+     * Performs the request and fails if it prepared more than {@code budget} JDBC statements
+     */
+    protected static ResultActions withQueryBudget(int budget, Request request) throws Exception {
+        QueryCounter.start();
+        ResultActions resultActions;
+        try {
+            resultActions = request.perform();
+        } finally {
+            int count = QueryCounter.stop();
+            assertTrue(String.format("Expected at most %d statements, but %d were executed", budget, count),
+                    count <= budget);
+        }
+        return resultActions;
+    }
+
+    protected interface Request {
+        ResultActions perform() throws Exception;
+    }
+
     /**
      * Initializer for spring.datasource properties initialization
      */
@@ -58,6 +84,7 @@ public abstract class BaseIntegrationTest {
             props.put("spring.datasource.username", POSTGRESQL.getUsername());
             props.put("spring.datasource.password", POSTGRESQL.getPassword());
             props.put("spring.datasource.driver-class-name", POSTGRESQL.getDriverClassName());
+            props.put("jobfinder.security.token.secret", "c2VjcmV0LWtleS1mb3ItdGVzdHMtb25seS0xMjM0NTY=");
 
             TestPropertyValues.of(
                     props.entrySet().stream()
@@ -0,0 +1,92 @@
+package ru.mityushin.jobfinder.server;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import ru.mityushin.jobfinder.server.service.invalidation.InvalidationListener;
+import ru.mityushin.jobfinder.server.service.invalidation.PostgresInvalidationBus;
+import ru.mityushin.jobfinder.server.util.CacheNames;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Runs a second bus against the same database to play the role of another node.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CacheInvalidationTestIt extends BaseIntegrationTest {
+    private static final UUID DEFAULT_UUID = UUID.fromString("01234567-89ab-cdef-0123-456789abcdef");
+
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+    @Autowired
+    private Logger log;
+
+    private PostgresInvalidationBus otherNode;
+    private BlockingQueue<Object> received;
+
+    @Before
+    public void before() throws Exception {
+        received = new LinkedBlockingQueue<>();
+        otherNode = new PostgresInvalidationBus(dataSource, dataSourceProperties, log,
+                "jobfinder_cache_invalidation", 2, 100);
+        otherNode.subscribe(new InvalidationListener() {
+            @Override
+            public void invalidate(String cacheName, @Nullable Object key) {
+                received.add(cacheName + ":" + key);
+            }
+
+            @Override
+            public void reset() {
+            }
+        });
+        otherNode.start();
+        // Give the receiver time to issue LISTEN.
+        TimeUnit.MILLISECONDS.sleep(500);
+    }
+
+    @After
+    public void after() throws Exception {
+        otherNode.stop();
+    }
+
+    @Test
+    public void evictionReachesOtherNode() throws Exception {
+        cacheManager.getCache(CacheNames.PERSONS).evict(DEFAULT_UUID);
+        assertEquals(CacheNames.PERSONS + ":" + DEFAULT_UUID, received.poll(5, TimeUnit.SECONDS));
+        cacheManager.getCache(CacheNames.ORGANIZATION_PAGES).clear();
+        assertEquals(CacheNames.ORGANIZATION_PAGES + ":null", received.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void evictionFromOtherNodeIsApplied() throws Exception {
+        Cache cache = cacheManager.getCache(CacheNames.USER_DETAILS);
+        cache.put("user", "cached");
+        otherNode.publish(CacheNames.USER_DETAILS, "user");
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (cache.get("user") != null && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertNull(cache.get("user"));
+    }
+}
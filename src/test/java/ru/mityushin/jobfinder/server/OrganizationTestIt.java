@@ -69,8 +69,8 @@ public class OrganizationTestIt extends BaseIntegrationTest {
     @Test
     @WithMockUser(username = "admin", password = "password", roles = "ADMIN")
     public void getAllOrganizations() throws Exception {
-        mockMvc.perform(get("/api/organizations")
-                .secure(true))
+        withQueryBudget(1, () -> mockMvc.perform(get("/api/organizations")
+                .secure(true)))
                 .andExpect(status().is2xxSuccessful());
     }
 
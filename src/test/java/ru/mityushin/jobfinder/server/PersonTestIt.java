@@ -21,6 +21,7 @@ import ru.mityushin.jobfinder.server.util.enums.Sex;
 
 import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.Assert.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -70,8 +71,9 @@ public class PersonTestIt extends BaseIntegrationTest {
     @Test
     @WithMockUser(username = "admin", password = "password", roles = "ADMIN")
     public void getAllPersons() throws Exception {
-        mockMvc.perform(get("/api/persons")
-                .secure(true))
+        // Roles are a column of PERSON, so a page is a single select
+        withQueryBudget(1, () -> mockMvc.perform(get("/api/persons")
+                .secure(true)))
                 .andExpect(status().is2xxSuccessful());
     }
 
@@ -142,4 +144,29 @@ public class PersonTestIt extends BaseIntegrationTest {
         PersonDTO deleted = mapper.readValue(putResultActions.andReturn().getResponse().getContentAsString(), PersonDTO.class);
         assertEquals(updated, deleted);
     }
+
+    @Test
+    public void getCurrentPersonWithToken() throws Exception {
+        String body = mockMvc.perform(post("/api/auth/token")
+                .secure(true)
+                .with(httpBasic("user", "password")))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.token", notNullValue()))
+                .andReturn().getResponse().getContentAsString();
+        String token = mapper.readTree(body).get("token").asText();
+        withQueryBudget(1, () -> mockMvc.perform(get("/api/persons/current")
+                .secure(true)
+                .header("Authorization", "Bearer ".concat(token))))
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(jsonPath("$.username").value("user"));
+        mockMvc.perform(get("/api/persons/current")
+                .secure(true)
+                .header("Authorization", "Bearer ".concat(token).concat("x")))
+                .andExpect(status().isUnauthorized());
+        // A token can't be exchanged for a new one, only the password can.
+        mockMvc.perform(post("/api/auth/token")
+                .secure(true)
+                .header("Authorization", "Bearer ".concat(token)))
+                .andExpect(status().isUnauthorized());
+    }
 }
@@ -15,6 +15,7 @@ import org.springframework.test.context.web.AnnotationConfigWebContextLoader;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.web.context.WebApplicationContext;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.JsonNode;
 import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
 import ru.mityushin.jobfinder.server.dto.PublicationDTO;
 
@@ -69,8 +70,8 @@ public class PublicationTestIt extends BaseIntegrationTest {
     @Test
     @WithMockUser(username = "admin", password = "password", roles = "ADMIN")
     public void getAllPublications() throws Exception {
-        mockMvc.perform(get("/api/publications")
-                .secure(true))
+        withQueryBudget(1, () -> mockMvc.perform(get("/api/publications")
+                .secure(true)))
                 .andExpect(status().is2xxSuccessful());
     }
 
@@ -135,4 +136,102 @@ public class PublicationTestIt extends BaseIntegrationTest {
         PublicationDTO deleted = mapper.readValue(putResultActions.andReturn().getResponse().getContentAsString(), PublicationDTO.class);
         assertEquals(updated, deleted);
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(username = "admin", password = "password", roles = "ADMIN")
+    public void changeFeedReturnsOnlyNewChangesAndTombstones() throws Exception {
+        long since = latestChangeSeq();
+        String json = mapper.writeValueAsString(PublicationDTO.builder()
+                .title("Feed")
+                .content("content")
+                .build());
+        String uuid = mapper.readTree(mockMvc.perform(post("/api/publications")
+                .secure(true)
+                .content(json)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString()).get("uuid").asText();
+        mockMvc.perform(get("/api/publications/changes")
+                .param("since", Long.toString(since))
+                .secure(true))
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].uuid").value(uuid))
+                .andExpect(jsonPath("$.items[0].deleted").value(false))
+                .andExpect(jsonPath("$.items[0].publication.title").value("Feed"))
+                .andExpect(jsonPath("$.more").value(false));
+
+        mockMvc.perform(delete("/api/publications/".concat(uuid))
+                .secure(true))
+                .andExpect(status().is2xxSuccessful());
+        mockMvc.perform(get("/api/publications/changes")
+                .param("since", Long.toString(since))
+                .secure(true))
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].deleted").value(true))
+                .andExpect(jsonPath("$.items[0].publication").doesNotExist());
+        mockMvc.perform(get("/api/publications/changes")
+                .param("since", Long.toString(latestChangeSeq()))
+                .secure(true))
+                .andExpect(jsonPath("$.items.length()").value(0));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", password = "password", roles = "ADMIN")
+    public void searchFollowsCreatedAndDeletedPublications() throws Exception {
+        String json = mapper.writeValueAsString(PublicationDTO.builder()
+                .title("Разработчик микросервисов")
+                .description("Удалённая работа")
+                .content("content")
+                .build());
+        String uuid = mapper.readTree(mockMvc.perform(post("/api/publications")
+                .secure(true)
+                .content(json)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString()).get("uuid").asText();
+        awaitSearchIndex();
+        mockMvc.perform(get("/api/publications/search")
+                .param("q", "микросервис удаленно")
+                .secure(true))
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(jsonPath("$[0].uuid").value(uuid));
+
+        mockMvc.perform(delete("/api/publications/".concat(uuid))
+                .secure(true))
+                .andExpect(status().is2xxSuccessful());
+        mockMvc.perform(get("/api/publications/search")
+                .param("q", "микросервис")
+                .secure(true))
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    /**
+     * The index is built in the background after startup.
+     */
+    private void awaitSearchIndex() throws Exception {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            int status = mockMvc.perform(get("/api/publications/search")
+                    .param("q", "content")
+                    .secure(true))
+                    .andReturn().getResponse().getStatus();
+            if (status != 503) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    private long latestChangeSeq() throws Exception {
+        long since = 0L;
+        boolean more = true;
+        while (more) {
+            JsonNode page = mapper.readTree(mockMvc.perform(get("/api/publications/changes")
+                    .param("since", Long.toString(since))
+                    .param("limit", "100")
+                    .secure(true))
+                    .andReturn().getResponse().getContentAsString());
+            since = page.get("since").asLong();
+            more = page.get("more").asBoolean();
+        }
+        return since;
+    }
+}
@@ -0,0 +1,51 @@
+package ru.mityushin.jobfinder.server;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.mityushin.jobfinder.server.listener.RoleMaskMigration;
+import ru.mityushin.jobfinder.server.util.enums.SecurityRole;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Recreates the legacy join table and runs the migration again.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class RoleMaskMigrationTestIt extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private Logger log;
+
+    @Test
+    public void migrateJoinTable() {
+        Long moderator = jdbcTemplate.queryForObject("SELECT ID FROM PERSON WHERE USERNAME = 'moderator'", Long.class);
+        Integer mask = jdbcTemplate.queryForObject("SELECT ROLE_MASK FROM PERSON WHERE ID = ?", Integer.class, moderator);
+        jdbcTemplate.execute("DROP VIEW PERSON_ROLE");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS PERSON_ROLE_LEGACY");
+        jdbcTemplate.execute("CREATE TABLE PERSON_ROLE AS SELECT p.ID AS PERSON_ID, r.ID AS ROLE_ID " +
+                "FROM PERSON p JOIN ROLE r ON r.NAME IN ('ROLE_MODERATOR', 'ROLE_USER') WHERE p.ID = " + moderator);
+        jdbcTemplate.update("UPDATE PERSON SET ROLE_MASK = 0 WHERE ID = ?", moderator);
+        try {
+            new RoleMaskMigration(jdbcTemplate, transactionTemplate, log).onApplicationEvent(null);
+
+            assertEquals(SecurityRole.ROLE_MODERATOR.getMask() | SecurityRole.ROLE_USER.getMask(),
+                    (int) jdbcTemplate.queryForObject("SELECT ROLE_MASK FROM PERSON WHERE ID = ?", Integer.class, moderator));
+            assertEquals(2, (int) jdbcTemplate.queryForObject("SELECT count(*) FROM PERSON_ROLE WHERE PERSON_ID = ?",
+                    Integer.class, moderator));
+            assertEquals(2, (int) jdbcTemplate.queryForObject("SELECT count(*) FROM PERSON_ROLE_LEGACY", Integer.class));
+        } finally {
+            jdbcTemplate.update("UPDATE PERSON SET ROLE_MASK = ? WHERE ID = ?", mask, moderator);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package ru.mityushin.jobfinder.server.aspect;
+
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.mityushin.jobfinder.server.dto.PageDTO;
+import ru.mityushin.jobfinder.server.model.Organization;
+import ru.mityushin.jobfinder.server.model.Person;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LogRendererTest {
+
+    @Test
+    public void renderNull() {
+        assertEquals("null", LogRenderer.render(null));
+    }
+
+    @Test
+    public void renderArgs() {
+        assertEquals("[1, text, null]", LogRenderer.renderArgs(new Object[]{1, "text", null}));
+    }
+
+    @Test
+    public void renderLongString() {
+        String value = String.join("", Collections.nCopies(LogRenderer.MAX_LENGTH + 10, "a"));
+        String rendered = LogRenderer.render(value);
+        assertTrue(rendered.endsWith("...(" + value.length() + " chars)"));
+        assertEquals(LogRenderer.MAX_LENGTH + ("...(" + value.length() + " chars)").length(), rendered.length());
+    }
+
+    @Test
+    public void renderLargeCollection() {
+        List<Integer> values = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        assertEquals("[0, 1, 2, 3, 4, 5, 6, 7, 8, 9, ... (1000 total)]", LogRenderer.render(values));
+    }
+
+    @Test
+    public void renderPrimitiveArray() {
+        assertEquals("[1, 2, 3]", LogRenderer.render(new int[]{1, 2, 3}));
+    }
+
+    @Test
+    public void renderEntityById() {
+        Person person = Person.builder().id(42L).organizations(Collections.singleton(new Organization())).build();
+        assertEquals("Person#42", LogRenderer.render(person));
+    }
+
+    @Test
+    public void renderResponseWithPage() {
+        PageDTO<String> page = PageDTO.<String>builder().items(Arrays.asList("a", "b")).next("Mg").build();
+        assertEquals("<200,PageDTO(items=[a, b], next=Mg)>",
+                LogRenderer.render(new ResponseEntity<>(page, HttpStatus.OK)));
+    }
+
+    @Test
+    public void renderDeepNesting() {
+        Object nested = Collections.singletonList(Collections.singletonList(Collections.singletonList(
+                Collections.singletonList("deep"))));
+        assertEquals("[[[SingletonList{...}]]]", LogRenderer.render(nested));
+    }
+}
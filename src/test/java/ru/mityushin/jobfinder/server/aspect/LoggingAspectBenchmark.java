@@ -0,0 +1,280 @@
+package ru.mityushin.jobfinder.server.aspect;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.aspectj.lang.reflect.SourceLocation;
+import org.aspectj.runtime.internal.AroundClosure;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.mityushin.jobfinder.server.model.Publication;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call overhead of {@link LoggingAspect} against the previous implementation.
+ * Not run by surefire, start {@link #main} with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingAspectBenchmark {
+
+    @Param({"false", "true"})
+    private boolean debug;
+
+    private LoggingAspect aspect;
+    private LegacyLoggingAspect legacyAspect;
+    private StubJoinPoint joinPoint;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        ch.qos.logback.classic.Logger logger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Target.class);
+        logger.setLevel(debug ? Level.DEBUG : Level.INFO);
+        logger.setAdditive(false);
+        FormattingAppender appender = new FormattingAppender();
+        appender.setContext(logger.getLoggerContext());
+        appender.start();
+        logger.addAppender(appender);
+
+        List<Publication> publications = new ArrayList<>();
+        for (long i = 0; i < 100; i++) {
+            publications.add(Publication.builder()
+                    .id(i)
+                    .uuid(UUID.randomUUID())
+                    .authorUuid(UUID.randomUUID())
+                    .title("Title " + i)
+                    .description("Description " + i)
+                    .content("Content " + i)
+                    .visible(true)
+                    .deleted(false)
+                    .build());
+        }
+        aspect = new LoggingAspect();
+        legacyAspect = new LegacyLoggingAspect();
+        joinPoint = new StubJoinPoint(new Target(), Target.class.getMethod("findAll", String.class, Integer.class),
+                new Object[]{"MTA", 20}, publications);
+    }
+
+    @Benchmark
+    public Object baseline() throws Throwable {
+        return joinPoint.proceed();
+    }
+
+    @Benchmark
+    public Object current() throws Throwable {
+        return aspect.logMethodCall(joinPoint);
+    }
+
+    @Benchmark
+    public Object legacy() throws Throwable {
+        return legacyAspect.logMethodCall(joinPoint);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LoggingAspectBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * Body of {@code LoggingAspect.logMethodCall} before the rewrite.
+     */
+    static class LegacyLoggingAspect {
+        Object logMethodCall(ProceedingJoinPoint thisJoinPoint) throws Throwable {
+            Logger log = LoggerFactory.getLogger(thisJoinPoint.getTarget().getClass());
+            String methodName = thisJoinPoint.getSignature().getName();
+            String methodArgs = Arrays.toString(thisJoinPoint.getArgs());
+            Class returnType = ((MethodSignature) thisJoinPoint.getSignature()).getReturnType();
+            log.debug("Call method {} with args: {}", methodName, methodArgs);
+
+            long startTime = System.currentTimeMillis();
+            Object result = thisJoinPoint.proceed();
+            long finishTime = System.currentTimeMillis() - startTime;
+
+            if (returnType.equals(Void.TYPE)) {
+                log.debug("Method {} run {} millis", methodName, finishTime);
+            } else {
+                log.debug("Method {} run {} millis. Returns: {}", methodName, finishTime, result);
+            }
+            return result;
+        }
+    }
+
+    public static class Target {
+        public List<Publication> findAll(String after, Integer limit) {
+            return null;
+        }
+    }
+
+    /**
+     * Formats every event like a real layout would, without doing any I/O.
+     */
+    static class FormattingAppender extends AppenderBase<ILoggingEvent> {
+        private int length;
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            length += event.getFormattedMessage().length();
+        }
+    }
+
+    static class StubJoinPoint implements ProceedingJoinPoint {
+        private final Object target;
+        private final Object[] args;
+        private final Object result;
+        private final MethodSignature signature;
+
+        StubJoinPoint(Object target, Method method, Object[] args, Object result) {
+            this.target = target;
+            this.args = args;
+            this.result = result;
+            this.signature = new StubSignature(method);
+        }
+
+        @Override
+        public Object proceed() {
+            return result;
+        }
+
+        @Override
+        public Object proceed(Object[] args) {
+            return result;
+        }
+
+        @Override
+        public void set$AroundClosure(AroundClosure arc) {
+        }
+
+        @Override
+        public Object getThis() {
+            return target;
+        }
+
+        @Override
+        public Object getTarget() {
+            return target;
+        }
+
+        @Override
+        public Object[] getArgs() {
+            return args.clone();
+        }
+
+        @Override
+        public MethodSignature getSignature() {
+            return signature;
+        }
+
+        @Override
+        public SourceLocation getSourceLocation() {
+            return null;
+        }
+
+        @Override
+        public String getKind() {
+            return JoinPoint.METHOD_EXECUTION;
+        }
+
+        @Override
+        public StaticPart getStaticPart() {
+            return null;
+        }
+
+        @Override
+        public String toShortString() {
+            return signature.toShortString();
+        }
+
+        @Override
+        public String toLongString() {
+            return signature.toLongString();
+        }
+    }
+
+    static class StubSignature implements MethodSignature {
+        private final Method method;
+
+        StubSignature(Method method) {
+            this.method = method;
+        }
+
+        @Override
+        public Class getReturnType() {
+            return method.getReturnType();
+        }
+
+        @Override
+        public Method getMethod() {
+            return method;
+        }
+
+        @Override
+        public Class[] getParameterTypes() {
+            return method.getParameterTypes();
+        }
+
+        @Override
+        public String[] getParameterNames() {
+            return null;
+        }
+
+        @Override
+        public Class[] getExceptionTypes() {
+            return method.getExceptionTypes();
+        }
+
+        @Override
+        public String toShortString() {
+            return method.getName();
+        }
+
+        @Override
+        public String toLongString() {
+            return method.toString();
+        }
+
+        @Override
+        public String getName() {
+            return method.getName();
+        }
+
+        @Override
+        public int getModifiers() {
+            return method.getModifiers();
+        }
+
+        @Override
+        public Class getDeclaringType() {
+            return method.getDeclaringClass();
+        }
+
+        @Override
+        public String getDeclaringTypeName() {
+            return method.getDeclaringClass().getName();
+        }
+    }
+}
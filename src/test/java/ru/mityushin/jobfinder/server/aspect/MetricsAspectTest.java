@@ -0,0 +1,84 @@
+package ru.mityushin.jobfinder.server.aspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import ru.mityushin.jobfinder.server.service.publication.PublicationServiceImpl;
+import ru.mityushin.jobfinder.server.util.exception.data.DataNotFoundException;
+
+import java.lang.reflect.Method;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class MetricsAspectTest {
+    private MeterRegistry meterRegistry;
+    private MetricsAspect metricsAspect;
+    private ProceedingJoinPoint joinPoint;
+
+    @Before
+    public void before() throws NoSuchMethodException {
+        meterRegistry = new SimpleMeterRegistry();
+        metricsAspect = new MetricsAspect(meterRegistry);
+        Method method = PublicationServiceImpl.class.getMethod("find", UUID.class);
+        MethodSignature signature = Mockito.mock(MethodSignature.class);
+        Mockito.when(signature.getMethod()).thenReturn(method);
+        joinPoint = Mockito.mock(ProceedingJoinPoint.class);
+        Mockito.when(joinPoint.getSignature()).thenReturn(signature);
+    }
+
+    @Test
+    public void timeServiceCall() throws Throwable {
+        Mockito.when(joinPoint.proceed()).thenReturn("result");
+        assertEquals("result", metricsAspect.timeServiceCall(joinPoint));
+        assertEquals("result", metricsAspect.timeServiceCall(joinPoint));
+        Timer timer = meterRegistry.find(MetricsAspect.SERVICE_TIMER)
+                .tags("class", "PublicationServiceImpl", "method", "find", "exception", "none")
+                .timer();
+        assertEquals(2, timer.count());
+        assertNull(meterRegistry.find(MetricsAspect.CONTROLLER_TIMER).timer());
+    }
+
+    @Test(expected = DataNotFoundException.class)
+    public void timeFailedControllerCall() throws Throwable {
+        Mockito.when(joinPoint.proceed()).thenThrow(new DataNotFoundException("missing"));
+        try {
+            metricsAspect.timeControllerCall(joinPoint);
+        } finally {
+            Timer timer = meterRegistry.find(MetricsAspect.CONTROLLER_TIMER)
+                    .tags("exception", "DataNotFoundException")
+                    .timer();
+            assertEquals(1, timer.count());
+        }
+    }
+
+    @Test
+    public void reuseExceptionTimers() throws Throwable {
+        Mockito.when(joinPoint.proceed()).thenThrow(new DataNotFoundException("missing"));
+        failServiceCall();
+        Timer timer = meterRegistry.find(MetricsAspect.SERVICE_TIMER)
+                .tags("exception", "DataNotFoundException")
+                .timer();
+        // A cached timer keeps recording without being registered again.
+        meterRegistry.remove(timer);
+        failServiceCall();
+        assertEquals(2, timer.count());
+        assertNull(meterRegistry.find(MetricsAspect.SERVICE_TIMER).timer());
+    }
+
+    private void failServiceCall() throws Throwable {
+        try {
+            metricsAspect.timeServiceCall(joinPoint);
+            fail();
+        } catch (DataNotFoundException expected) {
+            // recorded by the aspect
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package ru.mityushin.jobfinder.server.controller;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.web.AnnotationConfigWebContextLoader;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import ru.mityushin.jobfinder.server.config.WebSecurityConfig;
+import ru.mityushin.jobfinder.server.dto.TokenDTO;
+import ru.mityushin.jobfinder.server.service.token.TokenService;
+import ru.mityushin.jobfinder.server.service.userdetails.ExtendedUserDetails;
+
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@WebAppConfiguration
+@ContextConfiguration(loader = AnnotationConfigWebContextLoader.class)
+public class AuthControllerTest {
+    private ExtendedUserDetails userDetails;
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private AuthController authController;
+
+    @Configuration
+    @EnableWebMvc
+    @Import(WebSecurityConfig.class)
+    public static class ContextConfiguration {
+        @Bean
+        public TokenService tokenService() {
+            return Mockito.mock(TokenService.class);
+        }
+
+        @Bean
+        public UserDetailsService userDetailsService() {
+            return Mockito.mock(UserDetailsService.class);
+        }
+
+        @Bean
+        public AuthController authController(TokenService tokenService) {
+            return new AuthController(tokenService);
+        }
+    }
+
+    @Before
+    public void before() {
+        userDetails = ExtendedUserDetails.builder()
+                .uuid(UUID.randomUUID())
+                .username("user")
+                .password(new BCryptPasswordEncoder().encode("password"))
+                .roles(Collections.singletonList("ROLE_USER"))
+                .accountNonLocked(true)
+                .enabled(true)
+                .build();
+        mockMvc = webAppContextSetup(context).apply(springSecurity()).build();
+    }
+
+    @After
+    public void after() {
+        Mockito.reset(tokenService, userDetailsService);
+    }
+
+    @Test
+    public void createToken() {
+        authController.createToken(userDetails);
+        Mockito.verify(tokenService, Mockito.atLeastOnce()).issue(userDetails);
+    }
+
+    @Test
+    public void createTokenWithPassword() throws Exception {
+        Mockito.when(userDetailsService.loadUserByUsername("user")).thenReturn(userDetails);
+        Mockito.when(tokenService.issue(Mockito.any())).thenReturn(TokenDTO.builder().token("token").build());
+        mockMvc.perform(post("/api/auth/token")
+                .secure(true)
+                .with(httpBasic("user", "password")))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    public void refuseToRenewToken() throws Exception {
+        Mockito.when(tokenService.verify("token")).thenReturn(userDetails);
+        mockMvc.perform(post("/api/auth/token")
+                .secure(true)
+                .header("Authorization", "Bearer token"))
+                .andExpect(status().isUnauthorized());
+        Mockito.verify(tokenService, Mockito.never()).verify(Mockito.anyString());
+        Mockito.verify(tokenService, Mockito.never()).issue(Mockito.any());
+    }
+}
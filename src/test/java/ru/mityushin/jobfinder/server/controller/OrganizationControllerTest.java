@@ -1,5 +1,6 @@
 package ru.mityushin.jobfinder.server.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -8,11 +9,14 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.context.support.AnnotationConfigContextLoader;
+import org.springframework.web.context.request.ServletWebRequest;
 import ru.mityushin.jobfinder.server.dto.OrganizationDTO;
 import ru.mityushin.jobfinder.server.service.organization.OrganizationService;
+import ru.mityushin.jobfinder.server.util.JsonArrayStreamer;
 
 import java.util.UUID;
 
@@ -36,7 +40,7 @@ public class OrganizationControllerTest {
         }
         @Bean
         public OrganizationController organizationController(OrganizationService organizationService) {
-            return new OrganizationController(organizationService);
+            return new OrganizationController(organizationService, new JsonArrayStreamer(new ObjectMapper()));
         }
     }
 
@@ -58,8 +62,8 @@ public class OrganizationControllerTest {
 
     @Test
     public void getOrganizations() {
-        organizationController.getOrganizations();
-        Mockito.verify(organizationService, Mockito.atLeastOnce()).findAll();
+        organizationController.getOrganizations(null, null);
+        Mockito.verify(organizationService, Mockito.atLeastOnce()).findAll(null, null);
     }
 
     @Test
@@ -70,14 +74,16 @@ public class OrganizationControllerTest {
 
     @Test
     public void getOrganization() {
-        organizationController.getOrganization(DEFAULT_UUID);
+        Mockito.when(organizationService.find(DEFAULT_UUID)).thenReturn(defaultOrganizationDTO);
+        organizationController.getOrganization(DEFAULT_UUID, new ServletWebRequest(new MockHttpServletRequest()));
         Mockito.verify(organizationService, Mockito.atLeastOnce()).find(DEFAULT_UUID);
     }
 
     @Test
     public void updateOrganization() {
-        organizationController.updateOrganization(DEFAULT_UUID, defaultOrganizationDTO);
-        Mockito.verify(organizationService, Mockito.atLeastOnce()).update(DEFAULT_UUID, defaultOrganizationDTO);
+        Mockito.when(organizationService.update(DEFAULT_UUID, defaultOrganizationDTO, null)).thenReturn(defaultOrganizationDTO);
+        organizationController.updateOrganization(DEFAULT_UUID, null, defaultOrganizationDTO);
+        Mockito.verify(organizationService, Mockito.atLeastOnce()).update(DEFAULT_UUID, defaultOrganizationDTO, null);
     }
 
     @Test
@@ -88,8 +94,8 @@ public class OrganizationControllerTest {
 
     @Test
     public void getSubscribers() {
-        organizationController.getSubscribers(DEFAULT_UUID);
-        Mockito.verify(organizationService, Mockito.atLeastOnce()).getSubscribers(DEFAULT_UUID);
+        organizationController.getSubscribers(DEFAULT_UUID, null, null);
+        Mockito.verify(organizationService, Mockito.atLeastOnce()).getSubscribers(DEFAULT_UUID, null, null);
     }
 
     @Test
@@ -1,5 +1,6 @@
 package ru.mityushin.jobfinder.server.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -8,11 +9,14 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.context.support.AnnotationConfigContextLoader;
+import org.springframework.web.context.request.ServletWebRequest;
 import ru.mityushin.jobfinder.server.dto.PersonDTO;
 import ru.mityushin.jobfinder.server.service.person.PersonService;
+import ru.mityushin.jobfinder.server.util.JsonArrayStreamer;
 import ru.mityushin.jobfinder.server.util.enums.Sex;
 
 import java.util.UUID;
@@ -38,7 +42,7 @@ public class PersonControllerTests {
 
         @Bean
         public PersonController personController(PersonService personService) {
-            return new PersonController(personService);
+            return new PersonController(personService, new JsonArrayStreamer(new ObjectMapper()));
         }
     }
 
@@ -63,8 +67,8 @@ public class PersonControllerTests {
 
     @Test
     public void getPersons() {
-        personController.getPersons();
-        Mockito.verify(personService, Mockito.atLeastOnce()).findAll();
+        personController.getPersons(null, null);
+        Mockito.verify(personService, Mockito.atLeastOnce()).findAll(null, null);
     }
 
     @Test
@@ -87,14 +91,16 @@ public class PersonControllerTests {
 
     @Test
     public void getPerson() {
-        personController.getPerson(DEFAULT_UUID);
+        Mockito.when(personService.find(DEFAULT_UUID)).thenReturn(defaultPersonDto);
+        personController.getPerson(DEFAULT_UUID, new ServletWebRequest(new MockHttpServletRequest()));
         Mockito.verify(personService, Mockito.atLeastOnce()).find(DEFAULT_UUID);
     }
 
     @Test
     public void updatePerson() {
-        personController.updatePerson(DEFAULT_UUID, defaultPersonDto);
-        Mockito.verify(personService, Mockito.atLeastOnce()).update(DEFAULT_UUID, defaultPersonDto);
+        Mockito.when(personService.update(DEFAULT_UUID, defaultPersonDto, null)).thenReturn(defaultPersonDto);
+        personController.updatePerson(DEFAULT_UUID, null, defaultPersonDto);
+        Mockito.verify(personService, Mockito.atLeastOnce()).update(DEFAULT_UUID, defaultPersonDto, null);
     }
 
     @Test
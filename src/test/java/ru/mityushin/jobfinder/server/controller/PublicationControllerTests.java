@@ -1,5 +1,7 @@
 package ru.mityushin.jobfinder.server.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -8,13 +10,30 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.context.support.AnnotationConfigContextLoader;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.mityushin.jobfinder.server.dto.PublicationDTO;
+import ru.mityushin.jobfinder.server.service.publication.PublicationBulkService;
 import ru.mityushin.jobfinder.server.service.publication.PublicationService;
+import ru.mityushin.jobfinder.server.service.search.PublicationSearchService;
+import ru.mityushin.jobfinder.server.util.JsonArrayStreamer;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 @RunWith(SpringJUnit4ClassRunner.class)
 @ContextConfiguration(loader = AnnotationConfigContextLoader.class)
@@ -25,6 +44,10 @@ public class PublicationControllerTests {
     @Autowired
     private PublicationService publicationService;
     @Autowired
+    private PublicationSearchService publicationSearchService;
+    @Autowired
+    private PublicationBulkService publicationBulkService;
+    @Autowired
     private PublicationController publicationController;
 
     @Configuration
@@ -35,8 +58,21 @@ public class PublicationControllerTests {
         }
 
         @Bean
-        public PublicationController personController(PublicationService publicationService) {
-            return new PublicationController(publicationService);
+        public PublicationSearchService publicationSearchService() {
+            return Mockito.mock(PublicationSearchService.class);
+        }
+
+        @Bean
+        public PublicationBulkService publicationBulkService() {
+            return Mockito.mock(PublicationBulkService.class);
+        }
+
+        @Bean
+        public PublicationController personController(PublicationService publicationService,
+                                                      PublicationSearchService publicationSearchService,
+                                                      PublicationBulkService publicationBulkService) {
+            return new PublicationController(publicationService, new JsonArrayStreamer(new ObjectMapper()),
+                    publicationSearchService, publicationBulkService);
         }
     }
 
@@ -49,18 +85,57 @@ public class PublicationControllerTests {
                 .description("description")
                 .content("Content-content-content")
                 .visible(true)
+                .version(3L)
                 .build();
     }
 
     @After
     public void after() {
-        Mockito.reset(publicationService);
+        Mockito.reset(publicationService, publicationSearchService, publicationBulkService);
     }
 
     @Test
     public void getPublications() {
-        publicationController.getPublications();
-        Mockito.verify(publicationService, Mockito.atLeastOnce()).findAll();
+        publicationController.getPublications(null, null);
+        Mockito.verify(publicationService, Mockito.atLeastOnce()).findAll(null, null);
+    }
+
+    @Test
+    public void getPublicationSummaries() {
+        publicationController.getPublicationSummaries("MQ", 5);
+        Mockito.verify(publicationService, Mockito.atLeastOnce()).findSummaries("MQ", 5);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void streamPublications() throws IOException {
+        Mockito.doAnswer(invocation -> {
+            Consumer<PublicationDTO> consumer = invocation.getArgument(0);
+            consumer.accept(defaultPublicationDTO);
+            consumer.accept(defaultPublicationDTO);
+            return null;
+        }).when(publicationService).streamAll(Mockito.any(Consumer.class));
+        ResponseEntity<StreamingResponseBody> response = publicationController.streamPublications();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Mockito.verify(publicationService, Mockito.never()).streamAll(Mockito.any(Consumer.class));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        JsonNode publications = new ObjectMapper().readTree(out.toByteArray());
+        assertEquals(2, publications.size());
+        assertEquals(DEFAULT_UUID.toString(), publications.get(1).get("uuid").asText());
+    }
+
+    @Test
+    public void getPublicationChanges() {
+        publicationController.getPublicationChanges(3L, null);
+        Mockito.verify(publicationService, Mockito.atLeastOnce()).findChanges(3L, null);
+    }
+
+    @Test
+    public void searchPublications() {
+        publicationController.searchPublications("java", 5);
+        Mockito.verify(publicationSearchService, Mockito.atLeastOnce()).search("java", 5);
     }
 
     @Test
@@ -69,16 +144,53 @@ public class PublicationControllerTests {
         Mockito.verify(publicationService, Mockito.atLeastOnce()).create(defaultPublicationDTO);
     }
 
+    @Test
+    public void createPublications() throws IOException {
+        ByteArrayInputStream body = new ByteArrayInputStream(new byte[0]);
+        ResponseEntity<?> response = publicationController.createPublications(body);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Mockito.verify(publicationBulkService, Mockito.atLeastOnce()).createAll(body);
+    }
+
     @Test
     public void getPublication() {
-        publicationController.getPublication(DEFAULT_UUID);
-        Mockito.verify(publicationService, Mockito.atLeastOnce()).find(DEFAULT_UUID);
+        Mockito.when(publicationService.find(DEFAULT_UUID)).thenReturn(defaultPublicationDTO);
+        ResponseEntity<PublicationDTO> response = publicationController.getPublication(DEFAULT_UUID,
+                new ServletWebRequest(new MockHttpServletRequest()));
+        assertEquals("\"3\"", response.getHeaders().getETag());
+        Mockito.verify(publicationService, Mockito.never()).findVersion(DEFAULT_UUID);
+    }
+
+    @Test
+    public void getModifiedPublication() {
+        Mockito.when(publicationService.findVersion(DEFAULT_UUID)).thenReturn(3L);
+        Mockito.when(publicationService.find(DEFAULT_UUID)).thenReturn(defaultPublicationDTO);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/publications/" + DEFAULT_UUID);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"2\"");
+        ResponseEntity<PublicationDTO> response = publicationController.getPublication(DEFAULT_UUID,
+                new ServletWebRequest(request, new MockHttpServletResponse()));
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(defaultPublicationDTO, response.getBody());
+    }
+
+    @Test
+    public void getNotModifiedPublication() {
+        Mockito.when(publicationService.findVersion(DEFAULT_UUID)).thenReturn(3L);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/publications/" + DEFAULT_UUID);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"3\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        assertNull(publicationController.getPublication(DEFAULT_UUID, new ServletWebRequest(request, servletResponse)));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+        assertEquals("\"3\"", servletResponse.getHeader(HttpHeaders.ETAG));
+        Mockito.verify(publicationService, Mockito.never()).find(DEFAULT_UUID);
     }
 
     @Test
     public void updatePublication() {
-        publicationController.updatePublication(DEFAULT_UUID, defaultPublicationDTO);
-        Mockito.verify(publicationService, Mockito.atLeastOnce()).update(DEFAULT_UUID, defaultPublicationDTO);
+        Mockito.when(publicationService.update(DEFAULT_UUID, defaultPublicationDTO, 2L)).thenReturn(defaultPublicationDTO);
+        ResponseEntity<?> response = publicationController.updatePublication(DEFAULT_UUID, "\"2\"", defaultPublicationDTO);
+        assertEquals("\"3\"", response.getHeaders().getETag());
+        Mockito.verify(publicationService, Mockito.atLeastOnce()).update(DEFAULT_UUID, defaultPublicationDTO, 2L);
     }
 
     @Test
@@ -0,0 +1,48 @@
+package ru.mityushin.jobfinder.server.controller;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+import ru.mityushin.jobfinder.server.service.search.SuggestService;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(loader = AnnotationConfigContextLoader.class)
+public class SuggestControllerTest {
+
+    @Autowired
+    private SuggestService suggestService;
+
+    @Autowired
+    private SuggestController suggestController;
+
+    @Configuration
+    static class ContextConfiguration {
+        @Bean
+        public SuggestService suggestService() {
+            return Mockito.mock(SuggestService.class);
+        }
+
+        @Bean
+        public SuggestController suggestController(SuggestService suggestService) {
+            return new SuggestController(suggestService);
+        }
+    }
+
+    @After
+    public void after() {
+        Mockito.reset(suggestService);
+    }
+
+    @Test
+    public void suggest() {
+        suggestController.suggest("jav", 5);
+        Mockito.verify(suggestService, Mockito.atLeastOnce()).suggest("jav", 5);
+    }
+}
@@ -0,0 +1,146 @@
+package ru.mityushin.jobfinder.server.filter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+import ru.mityushin.jobfinder.server.util.CacheNames;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ListResponseCacheFilterTest {
+    private static final String BODY = "{\"content\":[],\"next\":null}";
+
+    private ConcurrentMapCacheManager cacheManager;
+    private ListResponseCacheFilter filter;
+    private AtomicInteger calls;
+    private FilterChain filterChain;
+
+    @Before
+    public void before() {
+        cacheManager = new ConcurrentMapCacheManager(CacheNames.ORGANIZATION_PAGES, CacheNames.PUBLICATION_PAGES);
+        filter = new ListResponseCacheFilter(cacheManager);
+        calls = new AtomicInteger();
+        filterChain = (req, res) -> {
+            calls.incrementAndGet();
+            res.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+            res.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    @Test
+    public void serveSecondRequestFromCache() throws Exception {
+        MockHttpServletResponse first = get("/api/organizations", "limit=5", null, null);
+        MockHttpServletResponse second = get("/api/organizations", "limit=5", null, null);
+        assertEquals(1, calls.get());
+        assertEquals(BODY, first.getContentAsString());
+        assertEquals(BODY, second.getContentAsString());
+        assertEquals(first.getHeader(HttpHeaders.ETAG), second.getHeader(HttpHeaders.ETAG));
+        assertEquals(MediaType.APPLICATION_JSON_UTF8_VALUE, second.getContentType());
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, second.getHeader(HttpHeaders.VARY));
+    }
+
+    @Test
+    public void keyByQueryString() throws Exception {
+        get("/api/publications", "limit=5", null, null);
+        get("/api/publications", "limit=6", null, null);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void serveGzipWhenAccepted() throws Exception {
+        MockHttpServletResponse identity = get("/api/publications", null, null, null);
+        MockHttpServletResponse gzip = get("/api/publications", null, "gzip, deflate", null);
+        assertEquals("gzip", gzip.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertNotEquals(identity.getHeader(HttpHeaders.ETAG), gzip.getHeader(HttpHeaders.ETAG));
+        byte[] body = StreamUtils.copyToByteArray(new GZIPInputStream(new ByteArrayInputStream(gzip.getContentAsByteArray())));
+        assertEquals(BODY, new String(body, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void notModifiedForMatchingEtag() throws Exception {
+        String etag = get("/api/publications", null, null, null).getHeader(HttpHeaders.ETAG);
+        MockHttpServletResponse response = get("/api/publications", null, null, etag);
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    public void missAfterEviction() throws Exception {
+        get("/api/organizations", null, null, null);
+        cacheManager.getCache(CacheNames.ORGANIZATION_PAGES).clear();
+        get("/api/organizations", null, null, null);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void skipOtherRequests() throws Exception {
+        assertNull(get("/api/persons", null, null, null).getHeader(HttpHeaders.ETAG));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/organizations");
+        filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+        assertNull(cacheManager.getCache(CacheNames.ORGANIZATION_PAGES).get(""));
+    }
+
+    @Test
+    public void skipStreamedLists() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/publications");
+        request.setQueryString("stream=true");
+        request.setParameter("stream", "true");
+        filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+        assertEquals(1, calls.get());
+        assertNull(cacheManager.getCache(CacheNames.PUBLICATION_PAGES).get("stream=true"));
+    }
+
+    @Test
+    public void doNotCacheErrors() throws Exception {
+        filterChain = (req, res) -> {
+            calls.incrementAndGet();
+            ((HttpServletResponse) res).setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            res.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+            res.getOutputStream().write("{\"message\":\"bad\"}".getBytes(StandardCharsets.UTF_8));
+        };
+        MockHttpServletResponse response = get("/api/organizations", "after=x", null, null);
+        get("/api/organizations", "after=x", null, null);
+        assertEquals(HttpServletResponse.SC_BAD_REQUEST, response.getStatus());
+        assertEquals("{\"message\":\"bad\"}", response.getContentAsString());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void parseAcceptEncoding() {
+        assertTrue(ListResponseCacheFilter.acceptsGzip("gzip"));
+        assertTrue(ListResponseCacheFilter.acceptsGzip("deflate, GZIP;q=0.5"));
+        assertFalse(ListResponseCacheFilter.acceptsGzip("gzip;q=0"));
+        assertFalse(ListResponseCacheFilter.acceptsGzip("br"));
+        assertFalse(ListResponseCacheFilter.acceptsGzip(null));
+    }
+
+    private MockHttpServletResponse get(String uri, String query, String acceptEncoding, String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setQueryString(query);
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, filterChain);
+        return response;
+    }
+}
@@ -0,0 +1,63 @@
+package ru.mityushin.jobfinder.server.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.mityushin.jobfinder.server.util.query.CountingStatementInspector;
+
+import javax.servlet.FilterChain;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class QueryCountFilterTest {
+    private MeterRegistry meterRegistry;
+    private Logger log;
+    private QueryCountFilter queryCountFilter;
+    private MockHttpServletRequest request;
+    private FilterChain filterChain;
+
+    @Before
+    public void before() {
+        meterRegistry = new SimpleMeterRegistry();
+        log = Mockito.mock(Logger.class);
+        queryCountFilter = new QueryCountFilter(meterRegistry, log);
+        ReflectionTestUtils.setField(queryCountFilter, "sampleRate", 1.0);
+        ReflectionTestUtils.setField(queryCountFilter, "warnThreshold", 2);
+        request = new MockHttpServletRequest("GET", "/api/persons");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/persons");
+        CountingStatementInspector inspector = new CountingStatementInspector();
+        filterChain = (req, res) -> {
+            inspector.inspect("select 1");
+            inspector.inspect("select 2");
+            inspector.inspect("select 3");
+        };
+    }
+
+    @Test
+    public void countSampledRequest() throws Exception {
+        queryCountFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+        assertEquals(3, request.getAttribute(QueryCountFilter.ATTRIBUTE));
+        DistributionSummary summary = meterRegistry.find(QueryCountFilter.SUMMARY)
+                .tags("method", "GET", "uri", "/api/persons")
+                .summary();
+        assertEquals(3.0, summary.totalAmount(), 0.0);
+        Mockito.verify(log, Mockito.times(1)).warn("{} {} ran {} statements.", "GET", "/api/persons", 3);
+    }
+
+    @Test
+    public void skipNotSampledRequest() throws Exception {
+        ReflectionTestUtils.setField(queryCountFilter, "sampleRate", 0.0);
+        queryCountFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+        assertNull(request.getAttribute(QueryCountFilter.ATTRIBUTE));
+        assertNull(meterRegistry.find(QueryCountFilter.SUMMARY).summary());
+    }
+}
@@ -0,0 +1,46 @@
+package ru.mityushin.jobfinder.server.service.invalidation;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class BroadcastingCacheTest {
+    private ConcurrentMapCache target;
+    private InvalidationBus invalidationBus;
+    private BroadcastingCache cache;
+
+    @Before
+    public void before() {
+        target = new ConcurrentMapCache("persons");
+        invalidationBus = Mockito.mock(InvalidationBus.class);
+        cache = new BroadcastingCache(target, invalidationBus);
+    }
+
+    @Test
+    public void keepReadsAndWritesLocal() {
+        cache.put("key", "value");
+        assertEquals("value", cache.get("key", String.class));
+        assertEquals("value", target.get("key", String.class));
+        Mockito.verifyZeroInteractions(invalidationBus);
+    }
+
+    @Test
+    public void publishEviction() {
+        cache.put("key", "value");
+        cache.evict("key");
+        assertNull(target.get("key"));
+        Mockito.verify(invalidationBus).publish("persons", "key");
+    }
+
+    @Test
+    public void publishClear() {
+        cache.put("key", "value");
+        cache.clear();
+        assertNull(target.get("key"));
+        Mockito.verify(invalidationBus).publish("persons", null);
+    }
+}
@@ -0,0 +1,91 @@
+package ru.mityushin.jobfinder.server.service.invalidation;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class InvalidationMessagesTest {
+    private static final String NODE = "node-a";
+    private static final UUID DEFAULT_UUID = UUID.fromString("01234567-89ab-cdef-0123-456789abcdef");
+    private static final Logger LOG = Mockito.mock(Logger.class);
+
+    @Test
+    public void roundTrip() {
+        List<String> payloads = InvalidationMessages.payloads(NODE, Arrays.asList(
+                InvalidationMessages.entry("persons", DEFAULT_UUID),
+                InvalidationMessages.entry("userDetails", "user"),
+                InvalidationMessages.entry("organizationPages", null)));
+        assertEquals(1, payloads.size());
+        InvalidationListener listener = Mockito.mock(InvalidationListener.class);
+        InvalidationMessages.apply("node-b", payloads.get(0), Collections.singletonList(listener), LOG);
+        Mockito.verify(listener).invalidate("persons", DEFAULT_UUID);
+        Mockito.verify(listener).invalidate("userDetails", "user");
+        Mockito.verify(listener).invalidate("organizationPages", null);
+        Mockito.verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    public void ignoreOwnMessages() {
+        InvalidationListener listener = Mockito.mock(InvalidationListener.class);
+        List<String> payloads = InvalidationMessages.payloads(NODE,
+                Arrays.asList(InvalidationMessages.entry("persons", DEFAULT_UUID)));
+        InvalidationMessages.apply(NODE, payloads.get(0), Collections.singletonList(listener), LOG);
+        Mockito.verifyZeroInteractions(listener);
+    }
+
+    @Test
+    public void clearWholeCacheForUnsupportedKeys() {
+        assertEquals("persons\t*", InvalidationMessages.entry("persons", 1L));
+        assertEquals("userDetails\t*", InvalidationMessages.entry("userDetails", "first\nsecond"));
+    }
+
+    @Test
+    public void splitLargeBatches() {
+        List<String> entries = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            entries.add(InvalidationMessages.entry("persons", UUID.randomUUID()));
+        }
+        List<String> payloads = InvalidationMessages.payloads(NODE, entries);
+        assertTrue(payloads.size() > 1);
+        int count = 0;
+        for (String payload : payloads) {
+            assertTrue(payload.length() <= InvalidationMessages.MAX_PAYLOAD_BYTES);
+            assertTrue(payload.startsWith(NODE + "\n"));
+            count += payload.split("\n").length - 1;
+        }
+        assertEquals(entries.size(), count);
+    }
+
+    @Test
+    public void skipMalformedEntries() {
+        InvalidationListener listener = Mockito.mock(InvalidationListener.class);
+        InvalidationMessages.apply("node-b", "node-b2\npersons\tunot-a-uuid\nuserDetails\tsuser",
+                Collections.singletonList(listener), LOG);
+        Mockito.verify(listener).invalidate("userDetails", "user");
+        Mockito.verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    public void keepApplyingAfterFailingListener() {
+        InvalidationListener failing = Mockito.mock(InvalidationListener.class);
+        InvalidationListener listener = Mockito.mock(InvalidationListener.class);
+        Mockito.doThrow(new IllegalStateException()).when(failing).invalidate(Mockito.anyString(), Mockito.any());
+        List<String> payloads = InvalidationMessages.payloads(NODE, Arrays.asList(
+                InvalidationMessages.entry("persons", DEFAULT_UUID),
+                InvalidationMessages.entry("userDetails", "user")));
+        InvalidationMessages.apply("node-b", payloads.get(0), Arrays.asList(failing, listener), LOG);
+        Mockito.verify(failing).invalidate("persons", DEFAULT_UUID);
+        Mockito.verify(failing).invalidate("userDetails", "user");
+        Mockito.verify(listener).invalidate("persons", DEFAULT_UUID);
+        Mockito.verify(listener).invalidate("userDetails", "user");
+    }
+}
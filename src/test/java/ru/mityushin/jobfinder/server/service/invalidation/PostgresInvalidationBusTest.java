@@ -0,0 +1,52 @@
+package ru.mityushin.jobfinder.server.service.invalidation;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.UUID;
+
+public class PostgresInvalidationBusTest {
+    private static final UUID DEFAULT_UUID = UUID.fromString("01234567-89ab-cdef-0123-456789abcdef");
+
+    private PostgresInvalidationBus bus;
+    private InvalidationListener listener;
+
+    @Before
+    public void before() {
+        bus = new PostgresInvalidationBus(Mockito.mock(DataSource.class), new DataSourceProperties(),
+                Mockito.mock(Logger.class), "invalidation", 2, 1000);
+        listener = Mockito.mock(InvalidationListener.class);
+    }
+
+    @Test
+    public void keepReceivingAfterMalformedPayload() {
+        bus.subscribe(listener);
+        bus.onNotification(null);
+        bus.onNotification("other-node\npersons\tunot-a-uuid");
+        bus.onNotification(payload());
+        Mockito.verify(listener).invalidate("persons", DEFAULT_UUID);
+        Mockito.verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    public void keepReceivingAfterFailingListener() {
+        InvalidationListener failing = Mockito.mock(InvalidationListener.class);
+        Mockito.doThrow(new IllegalStateException()).when(failing).invalidate(Mockito.anyString(), Mockito.any());
+        bus.subscribe(failing);
+        bus.subscribe(listener);
+        bus.onNotification(payload());
+        bus.onNotification(payload());
+        Mockito.verify(failing, Mockito.times(2)).invalidate("persons", DEFAULT_UUID);
+        Mockito.verify(listener, Mockito.times(2)).invalidate("persons", DEFAULT_UUID);
+    }
+
+    private static String payload() {
+        return InvalidationMessages.payloads("other-node",
+                Collections.singletonList(InvalidationMessages.entry("persons", DEFAULT_UUID))).get(0);
+    }
+}
@@ -13,29 +13,41 @@ import org.powermock.modules.junit4.PowerMockRunnerDelegate;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.context.support.AnnotationConfigContextLoader;
 import ru.mityushin.jobfinder.server.dto.OrganizationDTO;
+import ru.mityushin.jobfinder.server.dto.PageDTO;
+import ru.mityushin.jobfinder.server.dto.PersonDTO;
 import ru.mityushin.jobfinder.server.model.Organization;
 import ru.mityushin.jobfinder.server.model.Person;
 import ru.mityushin.jobfinder.server.repo.OrganizationRepository;
-import ru.mityushin.jobfinder.server.repo.PersonRepository;
+import ru.mityushin.jobfinder.server.repo.projection.PersonView;
+import ru.mityushin.jobfinder.server.service.push.EntityChangedEvent;
+import ru.mityushin.jobfinder.server.service.push.PushTopic;
 import ru.mityushin.jobfinder.server.util.JobFinderUtils;
+import ru.mityushin.jobfinder.server.util.PageCursor;
 import ru.mityushin.jobfinder.server.util.enums.Sex;
 import ru.mityushin.jobfinder.server.util.exception.PermissionDeniedException;
+import ru.mityushin.jobfinder.server.util.exception.PreconditionFailedException;
 import ru.mityushin.jobfinder.server.util.exception.data.DataAlreadyExistsException;
 import ru.mityushin.jobfinder.server.util.exception.data.DataNotFoundException;
 import ru.mityushin.jobfinder.server.util.exception.data.MissingRequiredParametersException;
 
-import java.util.Collection;
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 
 @RunWith(PowerMockRunner.class)
@@ -55,17 +67,18 @@ public class OrganizationServiceImplTests {
     private Organization defaultOrganizationWithSubscriber;
     private OrganizationDTO defaultOrganizationDTO;
     private OrganizationDTO newOrganizationDTO;
-    private OrganizationDTO defaultOrganizationWithSubscriberDTO;
     private Person defaultPerson;
 
     @Autowired
     private OrganizationRepository organizationRepository;
     @Autowired
-    private PersonRepository personRepository;
-    @Autowired
     private Logger log;
     @Autowired
+    private EntityManager entityManager;
+    @Autowired
     private OrganizationService organizationService;
+    @Autowired
+    private PublishedEvents publishedEvents;
 
     @Configuration
     static class ContextConfiguration {
@@ -75,20 +88,35 @@ public class OrganizationServiceImplTests {
         }
 
         @Bean
-        public PersonRepository personRepository() {
-            return Mockito.mock(PersonRepository.class);
+        public Logger log() {
+            return Mockito.mock(Logger.class);
         }
 
         @Bean
-        public Logger log() {
-            return Mockito.mock(Logger.class);
+        public EntityManager entityManager() {
+            return Mockito.mock(EntityManager.class);
         }
 
         @Bean
         public OrganizationService organizationService(OrganizationRepository organizationRepository,
-                                                       PersonRepository personRepository,
-                                                       Logger log) {
-            return new OrganizationServiceImpl(organizationRepository, personRepository, log);
+                                                       Logger log,
+                                                       EntityManager entityManager,
+                                                       ApplicationEventPublisher eventPublisher) {
+            return new OrganizationServiceImpl(organizationRepository, log, entityManager, eventPublisher);
+        }
+
+        @Bean
+        public PublishedEvents publishedEvents() {
+            return new PublishedEvents();
+        }
+    }
+
+    static class PublishedEvents {
+        private final List<EntityChangedEvent> events = new ArrayList<>();
+
+        @EventListener
+        public void on(EntityChangedEvent event) {
+            events.add(event);
         }
     }
 
@@ -102,6 +130,7 @@ public class OrganizationServiceImplTests {
                 .description("description")
                 .deleted(false)
                 .subscribers(new HashSet<>())
+                .subscribersCount(0)
                 .build();
         defaultDeletedOrganization = Organization.builder()
                 .id(1L)
@@ -111,6 +140,7 @@ public class OrganizationServiceImplTests {
                 .description("description")
                 .deleted(true)
                 .subscribers(new HashSet<>())
+                .subscribersCount(0)
                 .build();
         defaultOrganizationDTO = OrganizationDTO.builder()
                 .uuid(DEFAULT_UUID)
@@ -146,15 +176,10 @@ public class OrganizationServiceImplTests {
                 .description("description")
                 .deleted(false)
                 .subscribers(new HashSet<>())
+                .subscribersCount(0)
                 .build();
         defaultOrganizationWithSubscriber.getSubscribers().add(defaultPerson);
-        defaultOrganizationWithSubscriberDTO = OrganizationDTO.builder()
-                .uuid(DEFAULT_UUID)
-                .creatorUuid(DEFAULT_UUID)
-                .title("Title")
-                .description("description")
-                .subscribersCount(1)
-                .build();
+        defaultOrganizationWithSubscriber.setSubscribersCount(1);
         PowerMockito.mockStatic(JobFinderUtils.class);
         PowerMockito.when(JobFinderUtils.getPrincipalIdentifier()).thenReturn(DEFAULT_UUID);
         PowerMockito.when(organizationRepository.save(Mockito.any(Organization.class))).then(returnsFirstArg());
@@ -163,15 +188,17 @@ public class OrganizationServiceImplTests {
     @After
     public void after() {
         Mockito.reset(organizationRepository);
-        Mockito.reset(personRepository);
         Mockito.reset(log);
+        Mockito.reset(entityManager);
     }
 
     @Test
     public void findAll() {
-        PowerMockito.when(organizationRepository.findAll()).thenReturn(Collections.singletonList(defaultOrganization));
-        Collection<OrganizationDTO> organizations = organizationService.findAll();
-        assertEquals(Collections.singletonList(defaultOrganizationDTO), organizations);
+        PowerMockito.when(organizationRepository.findAllByDeletedFalseAndIdGreaterThanOrderByIdAsc(0L, PageCursor.request(PageCursor.DEFAULT_LIMIT)))
+                .thenReturn(Collections.singletonList(defaultOrganization));
+        PageDTO<OrganizationDTO> organizations = organizationService.findAll(null, null);
+        assertEquals(Collections.singletonList(defaultOrganizationDTO), organizations.getItems());
+        assertNull(organizations.getNext());
     }
 
     @Test(expected = DataNotFoundException.class)
@@ -207,13 +234,13 @@ public class OrganizationServiceImplTests {
 
     @Test(expected = DataNotFoundException.class)
     public void updateWithoutUuid() {
-        organizationService.update(null, newOrganizationDTO);
+        organizationService.update(null, newOrganizationDTO, null);
     }
 
     @Test(expected = DataNotFoundException.class)
     public void updateDeleted() {
         PowerMockito.when(organizationRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultDeletedOrganization);
-        organizationService.update(DEFAULT_UUID, newOrganizationDTO);
+        organizationService.update(DEFAULT_UUID, newOrganizationDTO, null);
     }
 
     @Test(expected = PermissionDeniedException.class)
@@ -221,7 +248,7 @@ public class OrganizationServiceImplTests {
         PowerMockito.mockStatic(JobFinderUtils.class);
         PowerMockito.when(JobFinderUtils.getPrincipalIdentifier()).thenReturn(UUID.randomUUID());
         PowerMockito.when(organizationRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultOrganization);
-        organizationService.update(DEFAULT_UUID, newOrganizationDTO);
+        organizationService.update(DEFAULT_UUID, newOrganizationDTO, null);
     }
 
     @Test
@@ -229,7 +256,27 @@ public class OrganizationServiceImplTests {
         PowerMockito.mockStatic(JobFinderUtils.class);
         PowerMockito.when(JobFinderUtils.getPrincipalIdentifier()).thenReturn(DEFAULT_UUID);
         PowerMockito.when(organizationRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultOrganization);
-        assertEquals(newOrganizationDTO, organizationService.update(DEFAULT_UUID, newOrganizationDTO));
+        assertEquals(newOrganizationDTO, organizationService.update(DEFAULT_UUID, newOrganizationDTO, null));
+    }
+
+    @Test(expected = PreconditionFailedException.class)
+    public void updateStaleVersion() {
+        PowerMockito.mockStatic(JobFinderUtils.class);
+        PowerMockito.when(JobFinderUtils.getPrincipalIdentifier()).thenReturn(DEFAULT_UUID);
+        defaultOrganization.setVersion(4L);
+        PowerMockito.when(organizationRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultOrganization);
+        organizationService.update(DEFAULT_UUID, newOrganizationDTO, 3L);
+    }
+
+    @Test
+    public void updatePublishesChange() {
+        publishedEvents.events.clear();
+        PowerMockito.mockStatic(JobFinderUtils.class);
+        PowerMockito.when(JobFinderUtils.getPrincipalIdentifier()).thenReturn(DEFAULT_UUID);
+        PowerMockito.when(organizationRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultOrganization);
+        organizationService.update(DEFAULT_UUID, newOrganizationDTO, null);
+        assertEquals(Collections.singletonList(new EntityChangedEvent(PushTopic.ORGANIZATION, DEFAULT_UUID)),
+                publishedEvents.events);
     }
 
     @Test(expected = DataNotFoundException.class)
@@ -261,13 +308,13 @@ public class OrganizationServiceImplTests {
 
     @Test(expected = DataNotFoundException.class)
     public void getSubscribersWithoutUuid() {
-        organizationService.getSubscribers(null);
+        organizationService.getSubscribers(null, null, null);
     }
 
     @Test(expected = DataNotFoundException.class)
     public void getSubscribersOnDeleted() {
         PowerMockito.when(organizationRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultDeletedOrganization);
-        organizationService.getSubscribers(DEFAULT_UUID);
+        organizationService.getSubscribers(DEFAULT_UUID, null, null);
     }
 
     @Test
@@ -275,7 +322,41 @@ public class OrganizationServiceImplTests {
         PowerMockito.mockStatic(JobFinderUtils.class);
         PowerMockito.when(JobFinderUtils.getPrincipalIdentifier()).thenReturn(DEFAULT_UUID);
         PowerMockito.when(organizationRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultOrganization);
-        assertEquals(Collections.EMPTY_LIST, organizationService.getSubscribers(DEFAULT_UUID));
+        PageDTO<PersonDTO> page = organizationService.getSubscribers(DEFAULT_UUID, null, null);
+        assertEquals(Collections.EMPTY_LIST, page.getItems());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    public void getSubscribersWithNextPage() {
+        PersonView first = personView(1L);
+        PersonView second = personView(2L);
+        PowerMockito.when(organizationRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultOrganizationWithSubscriber);
+        PowerMockito.when(organizationRepository.findSubscribers(1L, 0L, PageCursor.request(1)))
+                .thenReturn(Arrays.asList(first, second));
+        PageDTO<PersonDTO> page = organizationService.getSubscribers(DEFAULT_UUID, null, 1);
+        PersonDTO subscriber = PersonDTO.builder()
+                .uuid(DEFAULT_UUID)
+                .username("user")
+                .firstName("name")
+                .lastName("last")
+                .sex(Sex.MALE)
+                .country("Russia")
+                .build();
+        assertEquals(Collections.singletonList(subscriber), page.getItems());
+        assertEquals(PageCursor.encode(1L), page.getNext());
+    }
+
+    private PersonView personView(Long id) {
+        PersonView view = Mockito.mock(PersonView.class);
+        Mockito.when(view.getId()).thenReturn(id);
+        Mockito.when(view.getUuid()).thenReturn(DEFAULT_UUID.toString());
+        Mockito.when(view.getUsername()).thenReturn("user");
+        Mockito.when(view.getFirstName()).thenReturn("name");
+        Mockito.when(view.getLastName()).thenReturn("last");
+        Mockito.when(view.getSex()).thenReturn("MALE");
+        Mockito.when(view.getCountry()).thenReturn("Russia");
+        return view;
     }
 
     @Test(expected = DataNotFoundException.class)
@@ -294,7 +375,7 @@ public class OrganizationServiceImplTests {
         PowerMockito.mockStatic(JobFinderUtils.class);
         PowerMockito.when(JobFinderUtils.getPrincipalIdentifier()).thenReturn(DEFAULT_UUID);
         PowerMockito.when(organizationRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultOrganizationWithSubscriber);
-        PowerMockito.when(personRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultPerson);
+        PowerMockito.when(organizationRepository.addSubscriber(1L, DEFAULT_UUID)).thenReturn(0);
         organizationService.subscribe(DEFAULT_UUID);
     }
 
@@ -303,8 +384,13 @@ public class OrganizationServiceImplTests {
         PowerMockito.mockStatic(JobFinderUtils.class);
         PowerMockito.when(JobFinderUtils.getPrincipalIdentifier()).thenReturn(DEFAULT_UUID);
         PowerMockito.when(organizationRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultOrganization);
-        PowerMockito.when(personRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultPerson);
-        assertEquals(defaultOrganizationWithSubscriberDTO, organizationService.subscribe(DEFAULT_UUID));
+        PowerMockito.when(organizationRepository.addSubscriber(1L, DEFAULT_UUID)).thenReturn(1);
+        refreshTo(5, 3L);
+        OrganizationDTO subscribed = organizationService.subscribe(DEFAULT_UUID);
+        assertEquals(Integer.valueOf(5), subscribed.getSubscribersCount());
+        assertEquals(Long.valueOf(3), subscribed.getVersion());
+        Mockito.verify(organizationRepository, Mockito.times(1)).addSubscribersCount(1L, 1);
+        Mockito.verify(entityManager).refresh(defaultOrganization);
     }
 
     @Test(expected = DataNotFoundException.class)
@@ -323,7 +409,7 @@ public class OrganizationServiceImplTests {
         PowerMockito.mockStatic(JobFinderUtils.class);
         PowerMockito.when(JobFinderUtils.getPrincipalIdentifier()).thenReturn(DEFAULT_UUID);
         PowerMockito.when(organizationRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultOrganization);
-        PowerMockito.when(personRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultPerson);
+        PowerMockito.when(organizationRepository.removeSubscriber(1L, DEFAULT_UUID)).thenReturn(0);
         organizationService.unsubscribe(DEFAULT_UUID);
     }
 
@@ -332,7 +418,29 @@ public class OrganizationServiceImplTests {
         PowerMockito.mockStatic(JobFinderUtils.class);
         PowerMockito.when(JobFinderUtils.getPrincipalIdentifier()).thenReturn(DEFAULT_UUID);
         PowerMockito.when(organizationRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultOrganizationWithSubscriber);
-        PowerMockito.when(personRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultPerson);
-        assertEquals(defaultOrganizationDTO, organizationService.unsubscribe(DEFAULT_UUID));
+        PowerMockito.when(organizationRepository.removeSubscriber(1L, DEFAULT_UUID)).thenReturn(1);
+        refreshTo(0, 2L);
+        assertEquals(OrganizationDTO.builder()
+                .uuid(DEFAULT_UUID)
+                .creatorUuid(DEFAULT_UUID)
+                .title("Title")
+                .description("description")
+                .subscribersCount(0)
+                .version(2L)
+                .build(), organizationService.unsubscribe(DEFAULT_UUID));
+        Mockito.verify(organizationRepository, Mockito.times(1)).addSubscribersCount(1L, -1);
+        Mockito.verify(entityManager).refresh(defaultOrganizationWithSubscriber);
+    }
+
+    /**
+     * Stands in for the committed row, which the modifying query changes behind the persistence context.
+     */
+    private void refreshTo(int subscribersCount, long version) {
+        Mockito.doAnswer(invocation -> {
+            Organization organization = invocation.getArgument(0);
+            organization.setSubscribersCount(subscribersCount);
+            organization.setVersion(version);
+            return null;
+        }).when(entityManager).refresh(Mockito.any(Organization.class));
     }
 }
@@ -0,0 +1,82 @@
+package ru.mityushin.jobfinder.server.service.organization;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+import ru.mityushin.jobfinder.server.repo.OrganizationRepository;
+import ru.mityushin.jobfinder.server.util.CacheNames;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(loader = AnnotationConfigContextLoader.class)
+public class SubscribersCountReconciliationImplTest {
+    @Autowired
+    private OrganizationRepository organizationRepository;
+    @Autowired
+    private Cache organizationsCache;
+    @Autowired
+    private Logger log;
+    @Autowired
+    private SubscribersCountReconciliation reconciliation;
+
+    @Configuration
+    static class ContextConfiguration {
+        @Bean
+        public OrganizationRepository organizationRepository() {
+            return Mockito.mock(OrganizationRepository.class);
+        }
+
+        @Bean
+        public Cache organizationsCache() {
+            return Mockito.mock(Cache.class);
+        }
+
+        @Bean
+        public CacheManager cacheManager(Cache organizationsCache) {
+            CacheManager cacheManager = Mockito.mock(CacheManager.class);
+            Mockito.when(cacheManager.getCache(CacheNames.ORGANIZATIONS)).thenReturn(organizationsCache);
+            return cacheManager;
+        }
+
+        @Bean
+        public Logger log() {
+            return Mockito.mock(Logger.class);
+        }
+
+        @Bean
+        public SubscribersCountReconciliation reconciliation(OrganizationRepository organizationRepository,
+                                                             CacheManager cacheManager, Logger log) {
+            return new SubscribersCountReconciliationImpl(organizationRepository, cacheManager, log);
+        }
+    }
+
+    @After
+    public void after() {
+        Mockito.reset(organizationRepository, organizationsCache, log);
+    }
+
+    @Test
+    public void reconcileWithoutDrift() {
+        Mockito.when(organizationRepository.reconcileSubscribersCount()).thenReturn(0);
+        reconciliation.reconcile();
+        Mockito.verify(organizationRepository, Mockito.times(1)).reconcileSubscribersCount();
+        Mockito.verifyZeroInteractions(log, organizationsCache);
+    }
+
+    @Test
+    public void reconcileWithDrift() {
+        Mockito.when(organizationRepository.reconcileSubscribersCount()).thenReturn(2);
+        reconciliation.reconcile();
+        Mockito.verify(log, Mockito.times(1)).warn(Mockito.anyString(), Mockito.eq(2));
+        Mockito.verify(organizationsCache, Mockito.times(1)).clear();
+    }
+}
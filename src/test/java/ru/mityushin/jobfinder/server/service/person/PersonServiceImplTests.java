@@ -12,12 +12,15 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.modules.junit4.PowerMockRunnerDelegate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.context.support.AnnotationConfigContextLoader;
+import ru.mityushin.jobfinder.server.dto.PageDTO;
 import ru.mityushin.jobfinder.server.dto.PersonDTO;
 import ru.mityushin.jobfinder.server.dto.PublicationDTO;
 import ru.mityushin.jobfinder.server.model.Person;
@@ -25,15 +28,18 @@ import ru.mityushin.jobfinder.server.model.Publication;
 import ru.mityushin.jobfinder.server.model.Role;
 import ru.mityushin.jobfinder.server.repo.PersonRepository;
 import ru.mityushin.jobfinder.server.repo.PublicationRepository;
-import ru.mityushin.jobfinder.server.repo.RoleRepository;
 import ru.mityushin.jobfinder.server.service.role.RoleService;
+import ru.mityushin.jobfinder.server.util.CacheNames;
 import ru.mityushin.jobfinder.server.util.JobFinderUtils;
+import ru.mityushin.jobfinder.server.util.PageCursor;
+import ru.mityushin.jobfinder.server.util.enums.SecurityRole;
 import ru.mityushin.jobfinder.server.util.enums.Sex;
 import ru.mityushin.jobfinder.server.util.exception.PermissionDeniedException;
 import ru.mityushin.jobfinder.server.util.exception.data.DataAlreadyExistsException;
 import ru.mityushin.jobfinder.server.util.exception.data.DataNotFoundException;
 import ru.mityushin.jobfinder.server.util.exception.data.MissingRequiredParametersException;
 
+import javax.persistence.EntityManager;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -68,12 +74,14 @@ public class PersonServiceImplTests {
     @Autowired
     private PublicationRepository publicationRepository;
     @Autowired
-    private RoleRepository roleRepository;
-    @Autowired
     private RoleService roleService;
     @Autowired
     private PasswordEncoder encoder;
     @Autowired
+    private Cache userDetailsCache;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
     private PersonService personService;
 
     @Configuration
@@ -88,11 +96,6 @@ public class PersonServiceImplTests {
             return PowerMockito.mock(PublicationRepository.class);
         }
 
-        @Bean
-        public RoleRepository roleRepository() {
-            return PowerMockito.mock(RoleRepository.class);
-        }
-
         @Bean
         public RoleService roleService() {
             return PowerMockito.mock(RoleService.class);
@@ -103,13 +106,30 @@ public class PersonServiceImplTests {
             return PowerMockito.mock(PasswordEncoder.class);
         }
 
+        @Bean
+        public Cache userDetailsCache() {
+            return PowerMockito.mock(Cache.class);
+        }
+
+        @Bean
+        public CacheManager cacheManager() {
+            return PowerMockito.mock(CacheManager.class);
+        }
+
+        @Bean
+        public EntityManager entityManager() {
+            return PowerMockito.mock(EntityManager.class);
+        }
+
         @Bean
         public PersonService personService(PersonRepository personRepository,
                                            PublicationRepository publicationRepository,
-                                           RoleRepository roleRepository,
                                            RoleService roleService,
-                                           PasswordEncoder encoder) {
-            return new PersonServiceImpl(personRepository, publicationRepository, roleRepository, roleService, encoder);
+                                           PasswordEncoder encoder,
+                                           CacheManager cacheManager,
+                                           EntityManager entityManager) {
+            return new PersonServiceImpl(personRepository, publicationRepository, roleService, encoder,
+                    cacheManager, entityManager);
         }
 
     }
@@ -128,7 +148,7 @@ public class PersonServiceImplTests {
                 .deleted(false)
                 .locked(false)
                 .enabled(true)
-                .roles(new HashSet<>())
+                .roles(EnumSet.noneOf(SecurityRole.class))
                 .organizations(new HashSet<>())
                 .build();
         defaultPersonDto = PersonDTO.builder()
@@ -143,13 +163,11 @@ public class PersonServiceImplTests {
                 .build();
         adminRole = Role.builder()
                 .id(1L)
-                .name("ADMIN")
-                .persons(new HashSet<>())
+                .name("ROLE_ADMIN")
                 .build();
         userRole = Role.builder()
                 .id(1L)
-                .name("USER")
-                .persons(new HashSet<>())
+                .name("ROLE_USER")
                 .build();
         newPersonDto = PersonDTO.builder()
                 .uuid(DEFAULT_UUID)
@@ -196,24 +214,27 @@ public class PersonServiceImplTests {
                 .collect(Collectors.toCollection(HashSet::new)));
         PowerMockito.when(roleService.getAdminRoles()).thenReturn(Stream.of(userRole)
                 .collect(Collectors.toCollection(HashSet::new)));
-        PowerMockito.when(roleRepository.findByName("ADMIN")).thenReturn(adminRole);
-        PowerMockito.when(roleRepository.findByName("USER")).thenReturn(userRole);
+        PowerMockito.when(roleService.findByName("ROLE_ADMIN")).thenReturn(adminRole);
+        PowerMockito.when(roleService.findByName("ROLE_USER")).thenReturn(userRole);
+        PowerMockito.when(cacheManager.getCache(CacheNames.USER_DETAILS)).thenReturn(userDetailsCache);
     }
 
     @After
     public void after() {
         Mockito.reset(personRepository);
         Mockito.reset(publicationRepository);
-        Mockito.reset(roleRepository);
         Mockito.reset(roleService);
         Mockito.reset(encoder);
+        Mockito.reset(userDetailsCache);
+        Mockito.reset(cacheManager);
     }
 
     @Test
     public void findAll() {
-        PowerMockito.when(personRepository.findAll()).thenReturn(Collections.singletonList(defaultPerson));
-        Collection<PersonDTO> persons = personService.findAll();
-        assertEquals(Collections.singletonList(defaultPersonDto), persons);
+        PowerMockito.when(personRepository.findAllByDeletedFalseAndIdGreaterThanOrderByIdAsc(0L, PageCursor.request(PageCursor.DEFAULT_LIMIT)))
+                .thenReturn(Collections.singletonList(defaultPerson));
+        PageDTO<PersonDTO> persons = personService.findAll(null, null);
+        assertEquals(Collections.singletonList(defaultPersonDto), persons.getItems());
     }
 
     @Test(expected = DataNotFoundException.class)
@@ -304,40 +325,45 @@ public class PersonServiceImplTests {
 
     @Test(expected = DataNotFoundException.class)
     public void updateWithoutUuid() {
-        personService.update(null, newPersonDto);
+        personService.update(null, newPersonDto, null);
     }
 
     @Test(expected = DataNotFoundException.class)
     public void updateDeleted() {
         defaultPerson.setDeleted(true);
         PowerMockito.when(personRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultPerson);
-        personService.update(DEFAULT_UUID, newPersonDto);
+        personService.update(DEFAULT_UUID, newPersonDto, null);
     }
 
     @Test(expected = DataNotFoundException.class)
     public void updateLocked() {
         defaultPerson.setLocked(true);
         PowerMockito.when(personRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultPerson);
-        personService.update(DEFAULT_UUID, newPersonDto);
+        personService.update(DEFAULT_UUID, newPersonDto, null);
     }
 
     @Test(expected = DataNotFoundException.class)
     public void updateDisabled() {
         defaultPerson.setEnabled(false);
         PowerMockito.when(personRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultPerson);
-        personService.update(DEFAULT_UUID, newPersonDto);
+        personService.update(DEFAULT_UUID, newPersonDto, null);
     }
 
     @Test(expected = PermissionDeniedException.class)
     public void updateWithoutPermissions() {
         PowerMockito.when(personRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultPerson);
-        personService.update(DEFAULT_UUID, newPersonWithOldPswdDto);
+        try {
+            personService.update(DEFAULT_UUID, newPersonWithOldPswdDto, null);
+        } finally {
+            Mockito.verifyZeroInteractions(userDetailsCache);
+        }
     }
 
     @Test
     public void update() {
         PowerMockito.when(personRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultPerson);
-        assertEquals(newPersonDto, personService.update(DEFAULT_UUID, newPersonDto));
+        assertEquals(newPersonDto, personService.update(DEFAULT_UUID, newPersonDto, null));
+        Mockito.verify(userDetailsCache, Mockito.times(1)).evict("user");
     }
 
     @Test(expected = DataNotFoundException.class)
@@ -371,11 +397,12 @@ public class PersonServiceImplTests {
         PowerMockito.when(personRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultPerson);
         assertEquals(defaultPersonDto, personService.delete(DEFAULT_UUID));
         assertTrue(defaultPerson.getDeleted());
+        Mockito.verify(userDetailsCache, Mockito.times(1)).evict("user");
     }
 
     @Test(expected = DataNotFoundException.class)
     public void addRoleToPersonWithoutUuid() {
-        personService.addRoleToPerson(null, PersonDTO.builder().roles(Stream.of("USER", "ADMIN")
+        personService.addRoleToPerson(null, PersonDTO.builder().roles(Stream.of("ROLE_USER", "ROLE_ADMIN")
                 .collect(Collectors.toCollection(ArrayList::new))).build());
     }
 
@@ -386,25 +413,33 @@ public class PersonServiceImplTests {
                 .collect(Collectors.toCollection(ArrayList::new))).build());
     }
 
+    @Test(expected = DataNotFoundException.class)
+    public void addUnregisteredRoleToPerson() {
+        PowerMockito.when(personRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultPerson);
+        personService.addRoleToPerson(DEFAULT_UUID, PersonDTO.builder().roles(Stream.of("ROLE_MODERATOR")
+                .collect(Collectors.toCollection(ArrayList::new))).build());
+    }
+
     @Test(expected = DataAlreadyExistsException.class)
     public void addRoleToPersonThatHeAlreadyHas() {
-        defaultPerson.getRoles().add(userRole);
+        defaultPerson.getRoles().add(SecurityRole.ROLE_USER);
         PowerMockito.when(personRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultPerson);
-        personService.addRoleToPerson(DEFAULT_UUID, PersonDTO.builder().roles(Stream.of("USER")
+        personService.addRoleToPerson(DEFAULT_UUID, PersonDTO.builder().roles(Stream.of("ROLE_USER")
                 .collect(Collectors.toCollection(ArrayList::new))).build());
     }
 
     @Test
     public void addRoleToPerson() {
         PowerMockito.when(personRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultPerson);
-        assertEquals(defaultPersonDto, personService.addRoleToPerson(DEFAULT_UUID, PersonDTO.builder().roles(Stream.of("USER")
+        assertEquals(defaultPersonDto, personService.addRoleToPerson(DEFAULT_UUID, PersonDTO.builder().roles(Stream.of("ROLE_USER")
                 .collect(Collectors.toCollection(ArrayList::new))).build()));
-        ;
+        assertEquals(EnumSet.of(SecurityRole.ROLE_USER), defaultPerson.getRoles());
+        Mockito.verify(userDetailsCache, Mockito.times(1)).evict("user");
     }
 
     @Test(expected = DataNotFoundException.class)
     public void deleteRolePersonWithoutUuid() {
-        personService.deleteRoleFromPerson(null, "USER");
+        personService.deleteRoleFromPerson(null, "ROLE_USER");
     }
 
     @Test(expected = DataNotFoundException.class)
@@ -416,14 +451,15 @@ public class PersonServiceImplTests {
     @Test(expected = DataAlreadyExistsException.class)
     public void deleteRoleFromPersonThatHeAlreadyHas() {
         PowerMockito.when(personRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultPerson);
-        personService.deleteRoleFromPerson(DEFAULT_UUID, "USER");
+        personService.deleteRoleFromPerson(DEFAULT_UUID, "ROLE_USER");
     }
 
     @Test
     public void deleteRoleFromPerson() {
-        defaultPerson.getRoles().add(userRole);
+        defaultPerson.getRoles().add(SecurityRole.ROLE_USER);
         PowerMockito.when(personRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultPerson);
-        assertEquals(defaultPersonDto, personService.deleteRoleFromPerson(DEFAULT_UUID, "USER"));
+        assertEquals(defaultPersonDto, personService.deleteRoleFromPerson(DEFAULT_UUID, "ROLE_USER"));
+        Mockito.verify(userDetailsCache, Mockito.times(1)).evict("user");
     }
 
     @Test(expected = DataNotFoundException.class)
@@ -0,0 +1,211 @@
+package ru.mityushin.jobfinder.server.service.publication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.mityushin.jobfinder.server.dto.BulkItemResultDTO;
+import ru.mityushin.jobfinder.server.model.Publication;
+import ru.mityushin.jobfinder.server.repo.PublicationRepository;
+import ru.mityushin.jobfinder.server.service.push.EntitiesChangedEvent;
+import ru.mityushin.jobfinder.server.service.push.PushTopic;
+import ru.mityushin.jobfinder.server.service.userdetails.ExtendedUserDetails;
+import ru.mityushin.jobfinder.server.util.JsonItemReader;
+import ru.mityushin.jobfinder.server.util.exception.data.InvalidParametersException;
+
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+
+public class PublicationBulkServiceImplTest {
+    private static final UUID AUTHOR_UUID = UUID.fromString("01234567-89ab-cdef-0123-456789abcdef");
+    private static final String VALID = "{\"title\": \"Java developer\", \"content\": \"Spring Boot services\"}";
+
+    private PublicationRepository publicationRepository;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private ApplicationEventPublisher eventPublisher;
+    private List<List<Publication>> inserted;
+    private long nextId;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void before() {
+        publicationRepository = Mockito.mock(PublicationRepository.class);
+        Mockito.when(publicationRepository.nextChangeSeq()).thenReturn(7L);
+        jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        transactionTemplate = Mockito.mock(TransactionTemplate.class);
+        Mockito.when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+        inserted = new ArrayList<>();
+        nextId = 100;
+        Mockito.when(jdbcTemplate.queryForList(eq(PublicationBulkServiceImpl.ALLOCATE_IDS), eq(Long.class), anyInt()))
+                .thenAnswer(invocation -> LongStream.range(0, invocation.<Integer>getArgument(2))
+                        .mapToObj(i -> nextId++)
+                        .collect(Collectors.toList()));
+        Mockito.when(jdbcTemplate.batchUpdate(eq(PublicationBulkServiceImpl.INSERT), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    inserted.add(new ArrayList<>(invocation.<Collection<Publication>>getArgument(1)));
+                    return new int[0][];
+                });
+        ExtendedUserDetails principal = ExtendedUserDetails.builder()
+                .uuid(AUTHOR_UUID)
+                .username("user")
+                .roles(Collections.singleton("ROLE_CONTENT_MAKER"))
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @After
+    public void after() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void insertInBatches() throws IOException {
+        List<BulkItemResultDTO> results = service(2, 10).createAll(stream("[" + VALID + "," + VALID + "," + VALID + "]"));
+
+        assertEquals(Arrays.asList(2, 1), inserted.stream().map(List::size).collect(Collectors.toList()));
+        List<Publication> publications = inserted.stream().flatMap(List::stream).collect(Collectors.toList());
+        assertEquals(Arrays.asList(100L, 101L, 102L),
+                publications.stream().map(Publication::getId).collect(Collectors.toList()));
+        assertEquals(Arrays.asList(7L, 8L, 9L),
+                publications.stream().map(Publication::getChangeSeq).collect(Collectors.toList()));
+        Publication first = publications.get(0);
+        assertEquals(AUTHOR_UUID, first.getAuthorUuid());
+        assertEquals("Java developer", first.getTitle());
+        assertEquals(Boolean.TRUE, first.getVisible());
+        assertEquals(Boolean.FALSE, first.getDeleted());
+        assertEquals(Long.valueOf(0L), first.getVersion());
+        Mockito.verify(publicationRepository, Mockito.times(1)).nextChangeSeq();
+
+        assertEquals(3, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(Integer.valueOf(i), results.get(i).getIndex());
+            assertEquals(Integer.valueOf(201), results.get(i).getStatus());
+            assertEquals(publications.get(i).getUuid(), results.get(i).getUuid());
+        }
+        ArgumentCaptor<EntitiesChangedEvent> events = ArgumentCaptor.forClass(EntitiesChangedEvent.class);
+        Mockito.verify(eventPublisher, Mockito.times(2)).publishEvent(events.capture());
+        assertEquals(PushTopic.PUBLICATION, events.getValue().getTopic());
+        assertEquals(Collections.singletonList(publications.get(2).getUuid()), events.getValue().getUuids());
+    }
+
+    @Test
+    public void reportInvalidItems() throws IOException {
+        List<BulkItemResultDTO> results = service(500, 10).createAll(stream(VALID + "\n"
+                + "{\"title\": \"Java developer\"}\n"
+                + "\"text\"\n"
+                + "{\"title\": \"Java developer\", \"content\": \"Spring\", \"visible\": \"maybe\"}\n"
+                + VALID + "\n"));
+
+        assertEquals(Arrays.asList(201, 400, 400, 400, 201),
+                results.stream().map(BulkItemResultDTO::getStatus).collect(Collectors.toList()));
+        assertNull(results.get(1).getUuid());
+        assertEquals("content: must not be null", results.get(1).getMessage());
+        assertEquals("Item must be a JSON object.", results.get(2).getMessage());
+        assertNotNull(results.get(3).getMessage());
+        assertEquals(1, inserted.size());
+        assertEquals(Arrays.asList(results.get(0).getUuid(), results.get(4).getUuid()),
+                inserted.get(0).stream().map(Publication::getUuid).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void insertNothingForNoValidItems() throws IOException {
+        List<BulkItemResultDTO> results = service(500, 10).createAll(stream("[{\"title\": \"x\"}]"));
+        assertEquals(1, results.size());
+        assertEquals(Collections.emptyList(), inserted);
+        Mockito.verify(transactionTemplate, Mockito.never()).execute(any());
+        Mockito.verify(eventPublisher, Mockito.never()).publishEvent(any());
+    }
+
+    @Test
+    public void readWholeBodyBeforeTransaction() throws IOException {
+        ByteArrayInputStream body = (ByteArrayInputStream) stream("[" + VALID + "," + VALID + "]");
+        Mockito.doAnswer(invocation -> {
+            assertEquals(0, body.available());
+            Mockito.verify(publicationRepository, Mockito.never()).nextChangeSeq();
+            return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+        }).when(transactionTemplate).execute(any());
+        service(1, 10).createAll(body);
+        Mockito.verify(transactionTemplate, Mockito.times(1)).execute(any());
+        assertEquals(2, inserted.size());
+    }
+
+    @Test
+    public void rejectValuesLongerThanColumns() throws IOException {
+        List<BulkItemResultDTO> results = service(500, 10).createAll(stream("[{"
+                + "\"title\": \"" + repeat('t', Publication.TITLE_LENGTH + 1) + "\", "
+                + "\"description\": \"" + repeat('d', Publication.DESCRIPTION_LENGTH) + "\", "
+                + "\"content\": \"" + repeat('c', Publication.CONTENT_LENGTH + 1) + "\"}, " + VALID + "]"));
+        assertEquals(Integer.valueOf(400), results.get(0).getStatus());
+        assertEquals("content: length must be at most 255; title: length must be at most 50",
+                results.get(0).getMessage());
+        assertEquals(Integer.valueOf(201), results.get(1).getStatus());
+        assertEquals(1, inserted.get(0).size());
+    }
+
+    @Test(expected = InvalidParametersException.class)
+    public void rejectTooManyItems() throws IOException {
+        service(500, 2).createAll(stream("[" + VALID + "," + VALID + "," + VALID + "]"));
+    }
+
+    @Test
+    public void rejectMalformedJsonBeforeTransaction() throws IOException {
+        try {
+            service(1, 10).createAll(stream("[" + VALID + ", {\"title\": ]"));
+            fail();
+        } catch (InvalidParametersException e) {
+            Mockito.verify(transactionTemplate, Mockito.never()).execute(any());
+        }
+    }
+
+    private PublicationBulkServiceImpl service(int batchSize, int maxItems) {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new ParameterNamesModule());
+        return new PublicationBulkServiceImpl(publicationRepository, jdbcTemplate, transactionTemplate,
+                new JsonItemReader(objectMapper),
+                objectMapper, Validation.buildDefaultValidatorFactory().getValidator(), eventPublisher,
+                batchSize, maxItems);
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,126 @@
+package ru.mityushin.jobfinder.server.service.publication;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+import ru.mityushin.jobfinder.server.config.CacheConfig;
+import ru.mityushin.jobfinder.server.dto.PublicationDTO;
+import ru.mityushin.jobfinder.server.model.Publication;
+import ru.mityushin.jobfinder.server.repo.PublicationRepository;
+import ru.mityushin.jobfinder.server.service.userdetails.ExtendedUserDetails;
+import ru.mityushin.jobfinder.server.util.CacheNames;
+
+import javax.persistence.EntityManager;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(loader = AnnotationConfigContextLoader.class)
+public class PublicationServiceCachingTest {
+    private static final UUID DEFAULT_UUID = UUID.fromString("01234567-89ab-cdef-0123-456789abcdef");
+    private static final UUID AUTHOR_UUID = UUID.fromString("fedcba98-7654-3210-fedc-ba9876543210");
+
+    @Autowired
+    private PublicationRepository publicationRepository;
+    @Autowired
+    private PublicationService publicationService;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Configuration
+    @Import(CacheConfig.class)
+    static class ContextConfiguration {
+        @Bean
+        public PublicationService publicationService(PublicationRepository repository,
+                                                     EntityManager entityManager,
+                                                     ApplicationEventPublisher eventPublisher) {
+            return new PublicationServiceImpl(repository, entityManager, eventPublisher);
+        }
+
+        @Bean
+        public EntityManager entityManager() {
+            return Mockito.mock(EntityManager.class);
+        }
+
+        @Bean
+        public PublicationRepository publicationRepository() {
+            return Mockito.mock(PublicationRepository.class);
+        }
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Before
+    public void before() {
+        Mockito.when(publicationRepository.findByUuid(DEFAULT_UUID)).thenAnswer(invocation -> Publication.builder()
+                .id(1L)
+                .uuid(DEFAULT_UUID)
+                .authorUuid(AUTHOR_UUID)
+                .title("Title")
+                .description("Description")
+                .visible(Boolean.TRUE)
+                .deleted(Boolean.FALSE)
+                .build());
+        Mockito.when(publicationRepository.save(any(Publication.class))).then(returnsFirstArg());
+        ExtendedUserDetails principal = ExtendedUserDetails.builder()
+                .uuid(AUTHOR_UUID)
+                .username("user")
+                .roles(Collections.singleton("ROLE_USER"))
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @After
+    public void after() {
+        cacheManager.getCache(CacheNames.PUBLICATIONS).clear();
+        SecurityContextHolder.clearContext();
+        Mockito.reset(publicationRepository);
+    }
+
+    @Test
+    public void findIsServedFromCache() {
+        PublicationDTO first = publicationService.find(DEFAULT_UUID);
+        PublicationDTO second = publicationService.find(DEFAULT_UUID);
+        assertEquals(first, second);
+        Mockito.verify(publicationRepository, Mockito.times(1)).findByUuid(DEFAULT_UUID);
+        assertTrue(meterRegistry.get("jobfinder.cache.hit.ratio").tag("cache", CacheNames.PUBLICATIONS).gauge().value() > 0);
+    }
+
+    @Test
+    public void updateEvictsCachedEntry() {
+        publicationService.find(DEFAULT_UUID);
+        publicationService.update(DEFAULT_UUID, PublicationDTO.builder()
+                .title("New title")
+                .description("New description")
+                .visible(Boolean.TRUE)
+                .build(), null);
+        publicationService.find(DEFAULT_UUID);
+        Mockito.verify(publicationRepository, Mockito.times(3)).findByUuid(DEFAULT_UUID);
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
@@ -12,23 +13,42 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.modules.junit4.PowerMockRunnerDelegate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.context.support.AnnotationConfigContextLoader;
+import ru.mityushin.jobfinder.server.dto.ChangeFeedDTO;
+import ru.mityushin.jobfinder.server.dto.PageDTO;
+import ru.mityushin.jobfinder.server.dto.PublicationChangeDTO;
 import ru.mityushin.jobfinder.server.dto.PublicationDTO;
+import ru.mityushin.jobfinder.server.dto.PublicationSummaryDTO;
 import ru.mityushin.jobfinder.server.model.Publication;
 import ru.mityushin.jobfinder.server.repo.PublicationRepository;
+import ru.mityushin.jobfinder.server.repo.projection.PublicationSummaryView;
+import ru.mityushin.jobfinder.server.service.push.EntityChangedEvent;
+import ru.mityushin.jobfinder.server.service.push.PushTopic;
 import ru.mityushin.jobfinder.server.util.JobFinderUtils;
+import ru.mityushin.jobfinder.server.util.PageCursor;
 import ru.mityushin.jobfinder.server.util.exception.PermissionDeniedException;
+import ru.mityushin.jobfinder.server.util.exception.PreconditionFailedException;
 import ru.mityushin.jobfinder.server.util.exception.data.DataNotFoundException;
+import ru.mityushin.jobfinder.server.util.exception.data.InvalidParametersException;
 
-import java.util.Collection;
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;;
@@ -56,17 +76,44 @@ public class PublicationServiceImplTest {
     @Autowired
     private PublicationService publicationService;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PublishedEvents publishedEvents;
+
     @Configuration
     static class ContextConfiguration {
         @Bean
-        public PublicationService publicationService(PublicationRepository repository) {
-            return new PublicationServiceImpl(repository);
+        public PublicationService publicationService(PublicationRepository repository,
+                                                     EntityManager entityManager,
+                                                     ApplicationEventPublisher eventPublisher) {
+            return new PublicationServiceImpl(repository, entityManager, eventPublisher);
+        }
+
+        @Bean
+        public EntityManager entityManager() {
+            return Mockito.mock(EntityManager.class);
         }
 
         @Bean
         public PublicationRepository publicationRepository() {
             return Mockito.mock(PublicationRepository.class);
         }
+
+        @Bean
+        public PublishedEvents publishedEvents() {
+            return new PublishedEvents();
+        }
+    }
+
+    static class PublishedEvents {
+        private final List<EntityChangedEvent> events = new ArrayList<>();
+
+        @EventListener
+        public void on(EntityChangedEvent event) {
+            events.add(event);
+        }
     }
 
     @Before
@@ -103,14 +150,77 @@ public class PublicationServiceImplTest {
 
     @After
     public void after() {
-        Mockito.reset(publicationRepository);
+        Mockito.reset(publicationRepository, entityManager);
+        publishedEvents.events.clear();
     }
 
     @Test
     public void findAll() {
-        when(publicationRepository.findAll()).thenReturn(Collections.singletonList(defaultPublication));
-        Collection<PublicationDTO> publications = publicationService.findAll();
+        when(publicationRepository.findAllByDeletedFalseAndIdGreaterThanOrderByIdAsc(0L, PageCursor.request(PageCursor.DEFAULT_LIMIT)))
+                .thenReturn(Collections.singletonList(defaultPublication));
+        PageDTO<PublicationDTO> publications = publicationService.findAll(null, null);
+        assertEquals(Collections.singletonList(defaultPublicationDTO), publications.getItems());
+        assertNull(publications.getNext());
+    }
+
+    @Test
+    public void findAllWithNextPage() {
+        Publication next = Publication.builder()
+                .id(2L)
+                .uuid(UUID.randomUUID())
+                .authorUuid(DEFAULT_UUID)
+                .title("Next")
+                .content("Content")
+                .visible(true)
+                .deleted(false)
+                .build();
+        when(publicationRepository.findAllByDeletedFalseAndIdGreaterThanOrderByIdAsc(0L, PageCursor.request(1)))
+                .thenReturn(Arrays.asList(defaultPublication, next));
+        PageDTO<PublicationDTO> publications = publicationService.findAll(null, 1);
+        assertEquals(Collections.singletonList(defaultPublicationDTO), publications.getItems());
+        assertEquals(PageCursor.encode(1L), publications.getNext());
+    }
+
+    @Test
+    public void findAllAfterCursor() {
+        when(publicationRepository.findAllByDeletedFalseAndIdGreaterThanOrderByIdAsc(1L, PageCursor.request(PageCursor.DEFAULT_LIMIT)))
+                .thenReturn(Collections.emptyList());
+        PageDTO<PublicationDTO> publications = publicationService.findAll(PageCursor.encode(1L), null);
+        assertEquals(Collections.emptyList(), publications.getItems());
+        assertNull(publications.getNext());
+    }
+
+    @Test
+    public void findSummariesWithNextPage() {
+        PublicationSummaryView first = summaryView(1L, "First");
+        PublicationSummaryView second = summaryView(2L, "Second");
+        when(publicationRepository.findSummariesByDeletedFalseAndIdGreaterThanOrderByIdAsc(0L, PageCursor.request(1)))
+                .thenReturn(Arrays.asList(first, second));
+        PageDTO<PublicationSummaryDTO> summaries = publicationService.findSummaries(null, 1);
+        assertEquals(1, summaries.getItems().size());
+        assertEquals("First", summaries.getItems().get(0).getTitle());
+        assertEquals(PageCursor.encode(1L), summaries.getNext());
+        Mockito.verify(publicationRepository, Mockito.never())
+                .findAllByDeletedFalseAndIdGreaterThanOrderByIdAsc(any(), any());
+    }
+
+    @Test(expected = InvalidParametersException.class)
+    public void findAllWithInvalidCursor() {
+        publicationService.findAll("not a cursor", null);
+    }
+
+    @Test
+    public void streamAll() {
+        when(publicationRepository.streamAllByDeletedFalseOrderByIdAsc()).thenReturn(Stream.of(defaultPublication));
+        List<PublicationDTO> publications = new ArrayList<>();
+        publicationService.streamAll(publications::add);
         assertEquals(Collections.singletonList(defaultPublicationDTO), publications);
+        Mockito.verify(entityManager).detach(defaultPublication);
+    }
+
+    @Test(expected = InvalidParametersException.class)
+    public void findAllWithInvalidLimit() {
+        publicationService.findAll(null, 0);
     }
 
     @Test(expected = DataNotFoundException.class)
@@ -139,30 +249,71 @@ public class PublicationServiceImplTest {
         assertEquals(defaultPublicationDTO, publicationService.create(defaultPublicationDTO));
     }
 
+    @Test
+    public void createAssignsChangeSeq() {
+        when(JobFinderUtils.getPrincipalIdentifier()).thenReturn(DEFAULT_UUID);
+        when(publicationRepository.nextChangeSeq()).thenReturn(7L);
+        publicationService.create(defaultPublicationDTO);
+        ArgumentCaptor<Publication> saved = ArgumentCaptor.forClass(Publication.class);
+        Mockito.verify(publicationRepository).save(saved.capture());
+        assertEquals(Long.valueOf(7L), saved.getValue().getChangeSeq());
+    }
+
     @Test(expected = DataNotFoundException.class)
     public void updateWithoutUuid() {
-        publicationService.update(null, newPublicationDTO);
+        publicationService.update(null, newPublicationDTO, null);
     }
 
     @Test(expected = DataNotFoundException.class)
     public void updateDeleted() {
         defaultPublication.setDeleted(true);
         when(publicationRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultPublication);
-        publicationService.update(DEFAULT_UUID, newPublicationDTO);
+        publicationService.update(DEFAULT_UUID, newPublicationDTO, null);
     }
 
     @Test(expected = PermissionDeniedException.class)
     public void updateWithoutPermissions() {
         when(JobFinderUtils.getPrincipalIdentifier()).thenReturn(UUID.randomUUID());
         when(publicationRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultPublication);
-        publicationService.update(DEFAULT_UUID, newPublicationDTO);
+        publicationService.update(DEFAULT_UUID, newPublicationDTO, null);
     }
 
     @Test
     public void update() {
         when(JobFinderUtils.getPrincipalIdentifier()).thenReturn(DEFAULT_UUID);
         when(publicationRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultPublication);
-        assertEquals(newPublicationDTO, publicationService.update(DEFAULT_UUID, newPublicationDTO));
+        assertEquals(newPublicationDTO, publicationService.update(DEFAULT_UUID, newPublicationDTO, null));
+    }
+
+    @Test
+    public void updateCurrentVersion() {
+        when(JobFinderUtils.getPrincipalIdentifier()).thenReturn(DEFAULT_UUID);
+        defaultPublication.setVersion(4L);
+        when(publicationRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultPublication);
+        publicationService.update(DEFAULT_UUID, newPublicationDTO, 4L);
+        ArgumentCaptor<Publication> saved = ArgumentCaptor.forClass(Publication.class);
+        Mockito.verify(publicationRepository).save(saved.capture());
+        assertEquals(Long.valueOf(4L), saved.getValue().getVersion());
+    }
+
+    @Test(expected = PreconditionFailedException.class)
+    public void updateStaleVersion() {
+        when(JobFinderUtils.getPrincipalIdentifier()).thenReturn(DEFAULT_UUID);
+        defaultPublication.setVersion(4L);
+        when(publicationRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultPublication);
+        publicationService.update(DEFAULT_UUID, newPublicationDTO, 3L);
+    }
+
+    @Test
+    public void findVersion() {
+        when(publicationRepository.findVersionByUuid(DEFAULT_UUID)).thenReturn(4L);
+        assertEquals(Long.valueOf(4L), publicationService.findVersion(DEFAULT_UUID));
+    }
+
+    @Test(expected = DataNotFoundException.class)
+    public void findVersionOfDeleted() {
+        when(publicationRepository.findVersionByUuid(DEFAULT_UUID)).thenReturn(null);
+        publicationService.findVersion(DEFAULT_UUID);
     }
 
     @Test(expected = DataNotFoundException.class)
@@ -190,4 +341,82 @@ public class PublicationServiceImplTest {
         when(publicationRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultPublication);
         assertEquals(defaultPublicationDTO, publicationService.delete(DEFAULT_UUID));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void deleteAssignsChangeSeq() {
+        defaultPublication.setChangeSeq(1L);
+        when(JobFinderUtils.getPrincipalIdentifier()).thenReturn(DEFAULT_UUID);
+        when(publicationRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultPublication);
+        when(publicationRepository.nextChangeSeq()).thenReturn(2L);
+        publicationService.delete(DEFAULT_UUID);
+        assertEquals(Long.valueOf(2L), defaultPublication.getChangeSeq());
+    }
+
+    @Test
+    public void deletePublishesChange() {
+        when(JobFinderUtils.getPrincipalIdentifier()).thenReturn(DEFAULT_UUID);
+        when(publicationRepository.findByUuid(DEFAULT_UUID)).thenReturn(defaultPublication);
+        publicationService.delete(DEFAULT_UUID);
+        assertEquals(Collections.singletonList(new EntityChangedEvent(PushTopic.PUBLICATION, DEFAULT_UUID)),
+                publishedEvents.events);
+    }
+
+    @Test
+    public void findChanges() {
+        defaultPublication.setChangeSeq(5L);
+        Publication deleted = Publication.builder()
+                .id(2L)
+                .uuid(UUID.randomUUID())
+                .deleted(true)
+                .changeSeq(6L)
+                .build();
+        when(publicationRepository.findAllByChangeSeqGreaterThanOrderByChangeSeqAsc(4L, PageCursor.request(PageCursor.DEFAULT_LIMIT)))
+                .thenReturn(Arrays.asList(defaultPublication, deleted));
+        ChangeFeedDTO<PublicationChangeDTO> changes = publicationService.findChanges(4L, null);
+        assertEquals(2, changes.getItems().size());
+        assertEquals(defaultPublicationDTO, changes.getItems().get(0).getPublication());
+        assertTrue(changes.getItems().get(1).getDeleted());
+        assertNull(changes.getItems().get(1).getPublication());
+        assertEquals(Long.valueOf(6L), changes.getSince());
+        assertFalse(changes.getMore());
+    }
+
+    @Test
+    public void findChangesWithMore() {
+        defaultPublication.setChangeSeq(5L);
+        Publication next = Publication.builder()
+                .id(2L)
+                .uuid(UUID.randomUUID())
+                .deleted(true)
+                .changeSeq(6L)
+                .build();
+        when(publicationRepository.findAllByChangeSeqGreaterThanOrderByChangeSeqAsc(0L, PageCursor.request(1)))
+                .thenReturn(Arrays.asList(defaultPublication, next));
+        ChangeFeedDTO<PublicationChangeDTO> changes = publicationService.findChanges(null, 1);
+        assertEquals(1, changes.getItems().size());
+        assertEquals(Long.valueOf(5L), changes.getSince());
+        assertTrue(changes.getMore());
+    }
+
+    @Test
+    public void findNoChanges() {
+        when(publicationRepository.findAllByChangeSeqGreaterThanOrderByChangeSeqAsc(9L, PageCursor.request(PageCursor.DEFAULT_LIMIT)))
+                .thenReturn(Collections.emptyList());
+        ChangeFeedDTO<PublicationChangeDTO> changes = publicationService.findChanges(9L, null);
+        assertTrue(changes.getItems().isEmpty());
+        assertEquals(Long.valueOf(9L), changes.getSince());
+    }
+
+    @Test(expected = InvalidParametersException.class)
+    public void findChangesWithNegativeSince() {
+        publicationService.findChanges(-1L, null);
+    }
+
+    private static PublicationSummaryView summaryView(Long id, String title) {
+        PublicationSummaryView view = Mockito.mock(PublicationSummaryView.class);
+        Mockito.when(view.getId()).thenReturn(id);
+        Mockito.when(view.getUuid()).thenReturn(UUID.randomUUID());
+        Mockito.when(view.getTitle()).thenReturn(title);
+        return view;
+    }
+}
@@ -0,0 +1,121 @@
+package ru.mityushin.jobfinder.server.service.push;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PushClientTest {
+    private SseEmitter emitter;
+    private PushClient client;
+
+    @Before
+    public void before() {
+        emitter = Mockito.mock(SseEmitter.class);
+        client = new PushClient(emitter, 2);
+    }
+
+    @Test
+    public void scheduleOnce() throws IOException {
+        assertTrue(client.offer("a", message("1")));
+        assertFalse(client.offer("b", message("2")));
+        assertTrue(client.drain());
+        assertEquals(2, sent().size());
+        assertTrue(client.offer("a", message("3")));
+    }
+
+    @Test
+    public void coalesceByKey() throws IOException {
+        client.offer("a", message("1"));
+        client.offer("a", message("2"));
+        client.drain();
+        assertEquals(1, sent().size());
+        assertTrue(sent().get(0).contains("data:2"));
+    }
+
+    @Test
+    public void resetOnOverflow() throws IOException {
+        client.offer("a", message("1"));
+        client.offer("b", message("2"));
+        client.offer("c", message("3"));
+        client.drain();
+        List<String> sent = sent();
+        assertEquals(2, sent.size());
+        assertTrue(sent.get(0).contains("event:" + PushClient.RESET_EVENT));
+        assertTrue(sent.get(1).contains("data:3"));
+    }
+
+    @Test
+    public void heartbeatOnlyWhenIdle() throws IOException {
+        client.offerHeartbeat();
+        client.offer("a", message("1"));
+        client.drain();
+        assertEquals(1, sent().size());
+        Mockito.reset(emitter);
+
+        client.offerHeartbeat();
+        client.drain();
+        assertEquals(":heartbeat\n\n", sent().get(0));
+    }
+
+    @Test
+    public void closeOnSendFailure() throws IOException {
+        IOException failure = new IOException("Broken pipe");
+        Mockito.doThrow(failure).when(emitter).send(Mockito.any(SseEmitter.SseEventBuilder.class));
+        client.offer("a", message("1"));
+        assertFalse(client.drain());
+        Mockito.verify(emitter).completeWithError(failure);
+        assertFalse(client.offer("b", message("2")));
+    }
+
+    @Test
+    public void stopAfterPendingSendOnceClosed() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            sending.countDown();
+            release.await();
+            return null;
+        }).when(emitter).send(Mockito.any(SseEmitter.SseEventBuilder.class));
+        client.offer("a", message("1"));
+        client.offer("b", message("2"));
+        CompletableFuture<Boolean> drained = CompletableFuture.supplyAsync(client::drain);
+        sending.await();
+        assertTrue(client.isSending());
+        assertFalse(client.isStalled(System.currentTimeMillis(), 60_000));
+        assertTrue(client.isStalled(System.currentTimeMillis() + 60_001, 60_000));
+
+        client.close();
+        release.countDown();
+        assertFalse(drained.get());
+        assertFalse(client.isSending());
+        assertEquals(1, sent().size());
+    }
+
+    private static PushMessage message(String data) {
+        return new PushMessage(null, "publication", data);
+    }
+
+    private List<String> sent() throws IOException {
+        ArgumentCaptor<SseEmitter.SseEventBuilder> events = ArgumentCaptor.forClass(SseEmitter.SseEventBuilder.class);
+        Mockito.verify(emitter, Mockito.atLeast(0)).send(events.capture());
+        return events.getAllValues().stream()
+                .map(event -> event.build().stream()
+                        .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                        .map(String::valueOf)
+                        .collect(Collectors.joining()))
+                .collect(Collectors.toList());
+    }
+}
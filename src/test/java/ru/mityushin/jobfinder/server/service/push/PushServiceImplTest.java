@@ -0,0 +1,138 @@
+package ru.mityushin.jobfinder.server.service.push;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.mityushin.jobfinder.server.model.Publication;
+import ru.mityushin.jobfinder.server.repo.OrganizationRepository;
+import ru.mityushin.jobfinder.server.repo.PublicationRepository;
+import ru.mityushin.jobfinder.server.service.invalidation.InvalidationBus;
+import ru.mityushin.jobfinder.server.util.exception.ServiceUnavailableException;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class PushServiceImplTest {
+    private static final UUID DEFAULT_UUID = UUID.fromString("01234567-89ab-cdef-0123-456789abcdef");
+
+    private PublicationRepository publicationRepository;
+    private InvalidationBus invalidationBus;
+    private PushServiceImpl pushService;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void before() {
+        publicationRepository = Mockito.mock(PublicationRepository.class);
+        invalidationBus = Mockito.mock(InvalidationBus.class);
+        ObjectProvider<InvalidationBus> provider = Mockito.mock(ObjectProvider.class);
+        Mockito.when(provider.getIfAvailable()).thenReturn(invalidationBus);
+        pushService = new PushServiceImpl(publicationRepository, Mockito.mock(OrganizationRepository.class),
+                new ObjectMapper(), provider, new SimpleMeterRegistry(), Mockito.mock(Logger.class),
+                1, 16, 1, 60_000L, 50L);
+        pushService.start();
+    }
+
+    @After
+    public void after() throws InterruptedException {
+        pushService.stop();
+    }
+
+    @Test
+    public void subscribeToBus() {
+        Mockito.verify(invalidationBus).subscribe(pushService);
+    }
+
+    @Test
+    public void relayLocalChanges() {
+        pushService.onEntityChanged(new EntityChangedEvent(PushTopic.PUBLICATION, DEFAULT_UUID));
+        Mockito.verify(invalidationBus).publish("push.publication", DEFAULT_UUID);
+    }
+
+    @Test
+    public void skipLoadingWithoutSubscribers() {
+        pushService.invalidate(PushTopic.PUBLICATION.getChannel(), DEFAULT_UUID);
+        Mockito.verifyZeroInteractions(publicationRepository);
+    }
+
+    @Test
+    public void loadRemoteChangesOnce() {
+        Mockito.when(publicationRepository.findByUuid(DEFAULT_UUID)).thenReturn(Publication.builder()
+                .uuid(DEFAULT_UUID)
+                .deleted(true)
+                .changeSeq(3L)
+                .build());
+        pushService.subscribe();
+        pushService.invalidate(PushTopic.PUBLICATION.getChannel(), DEFAULT_UUID);
+        pushService.invalidate("persons", DEFAULT_UUID);
+        Mockito.verify(publicationRepository, Mockito.timeout(1_000)).findByUuid(DEFAULT_UUID);
+    }
+
+    @Test(expected = ServiceUnavailableException.class)
+    public void rejectOverCapacity() {
+        pushService.subscribe();
+        pushService.subscribe();
+    }
+
+    @Test
+    public void releaseSlotOnCompletion() {
+        SseEmitter emitter = Mockito.mock(SseEmitter.class);
+        ArgumentCaptor<Runnable> onCompletion = ArgumentCaptor.forClass(Runnable.class);
+        pushService.subscribe(emitter);
+        Mockito.verify(emitter).onCompletion(onCompletion.capture());
+        onCompletion.getValue().run();
+        onCompletion.getValue().run();
+        pushService.subscribe();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void dropStalledClient() throws Exception {
+        pushService.stop();
+        pushService = new PushServiceImpl(publicationRepository, Mockito.mock(OrganizationRepository.class),
+                new ObjectMapper(), Mockito.mock(ObjectProvider.class), new SimpleMeterRegistry(),
+                Mockito.mock(Logger.class), 2, 16, 1, 60_000L, 50L);
+        pushService.start();
+        Mockito.when(publicationRepository.findByUuid(DEFAULT_UUID)).thenReturn(Publication.builder()
+                .uuid(DEFAULT_UUID)
+                .deleted(true)
+                .changeSeq(3L)
+                .build());
+        CountDownLatch release = new CountDownLatch(1);
+        SseEmitter stalled = Mockito.mock(SseEmitter.class);
+        Mockito.doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(stalled).send(Mockito.any(SseEmitter.SseEventBuilder.class));
+        SseEmitter healthy = Mockito.mock(SseEmitter.class);
+        pushService.subscribe(stalled);
+        pushService.subscribe(healthy);
+        pushService.invalidate(PushTopic.PUBLICATION.getChannel(), DEFAULT_UUID);
+        Mockito.verify(stalled, Mockito.timeout(1_000)).send(Mockito.any(SseEmitter.SseEventBuilder.class));
+
+        // The only writer is blocked until the stalled client is dropped and another writer takes over.
+        Thread.sleep(100);
+        pushService.heartbeat();
+        Mockito.verify(healthy, Mockito.timeout(1_000)).send(Mockito.any(SseEmitter.SseEventBuilder.class));
+
+        // The freed slot can be taken right away, the stalled stream is completed once its write returns.
+        pushService.subscribe(Mockito.mock(SseEmitter.class));
+        release.countDown();
+        Mockito.verify(stalled, Mockito.timeout(1_000)).complete();
+    }
+
+    @Test
+    public void topicOfChannel() {
+        assertEquals(PushTopic.ORGANIZATION, PushTopic.ofChannel("push.organization"));
+        assertNull(PushTopic.ofChannel("organizations"));
+    }
+}
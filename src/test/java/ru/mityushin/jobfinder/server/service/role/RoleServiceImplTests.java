@@ -23,6 +23,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNull;
 
 @RunWith(PowerMockRunner.class)
 @PowerMockRunnerDelegate(SpringRunner.class)
@@ -56,19 +57,20 @@ public class RoleServiceImplTests {
     @Before
     public void before() {
         rolesUser = new HashSet<>();
-        rolesUser.add(Role.builder().id(1L).name("ROLE_USER").persons(new HashSet<>()).build());
-        rolesUser.add(Role.builder().id(2L).name("ROLE_ORGANIZATION_MANAGER").persons(new HashSet<>()).build());
-        rolesUser.add(Role.builder().id(3L).name("ROLE_CONTENT_MAKER").persons(new HashSet<>()).build());
+        rolesUser.add(Role.builder().id(1L).name("ROLE_USER").build());
+        rolesUser.add(Role.builder().id(2L).name("ROLE_ORGANIZATION_MANAGER").build());
+        rolesUser.add(Role.builder().id(3L).name("ROLE_CONTENT_MAKER").build());
         rolesModerator = new HashSet<>();
         rolesModerator.addAll(rolesUser);
-        rolesModerator.add(Role.builder().id(4L).name("ROLE_MODERATOR").persons(new HashSet<>()).build());
+        rolesModerator.add(Role.builder().id(4L).name("ROLE_MODERATOR").build());
         rolesAdmin = new HashSet<>();
         rolesAdmin.addAll(rolesModerator);
-        rolesAdmin.add(Role.builder().id(5L).name("ROLE_ADMIN").persons(new HashSet<>()).build());
+        rolesAdmin.add(Role.builder().id(5L).name("ROLE_ADMIN").build());
         roles = new HashSet<>();
         roles.addAll(rolesAdmin);
 
         PowerMockito.when(roleRepository.findAll()).thenReturn(roles);
+        roleService.refresh();
     }
 
     @After
@@ -90,4 +92,35 @@ public class RoleServiceImplTests {
     public void getUserRoles() {
         assertEquals(rolesUser, roleService.getUserRoles());
     }
+
+    @Test
+    public void serveFromSnapshot() {
+        roleService.getAdminRoles();
+        roleService.getUserRoles();
+        roleService.findByName("ROLE_USER");
+        Mockito.verify(roleRepository, Mockito.times(1)).findAll();
+    }
+
+    @Test
+    public void findByName() {
+        Role role = roleService.findByName("ROLE_MODERATOR");
+        assertEquals(Long.valueOf(4L), role.getId());
+        assertEquals("ROLE_MODERATOR", role.getName());
+        assertNull(roleService.findByName("ROLE_UNKNOWN"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void rolesAreImmutable() {
+        roleService.getUserRoles().add(Role.builder().name("ROLE_ADMIN").build());
+    }
+
+    @Test
+    public void refreshReplacesSnapshot() {
+        Set<Role> before = roleService.getAdminRoles();
+        PowerMockito.when(roleRepository.findAll()).thenReturn(rolesUser);
+        roleService.refresh();
+        assertEquals(rolesUser, roleService.getAdminRoles());
+        assertEquals(rolesAdmin, before);
+        assertNull(roleService.findByName("ROLE_ADMIN"));
+    }
 }
@@ -0,0 +1,125 @@
+package ru.mityushin.jobfinder.server.service.search;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import ru.mityushin.jobfinder.server.service.invalidation.InvalidationBus;
+import ru.mityushin.jobfinder.server.service.push.EntityChangedEvent;
+import ru.mityushin.jobfinder.server.service.push.PushTopic;
+import ru.mityushin.jobfinder.server.util.exception.ServiceUnavailableException;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ChangeFollowingIndexTest {
+    private static final EntityChangedEvent CHANGE =
+            new EntityChangedEvent(PushTopic.PUBLICATION, UUID.fromString("01234567-89ab-cdef-0123-456789abcdef"));
+
+    private TestIndex index;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void before() {
+        index = new TestIndex(Mockito.mock(ObjectProvider.class));
+        index.retryDelayMillis = 10;
+    }
+
+    @Test
+    public void retryFailedBuild() throws InterruptedException {
+        index.failures.set(2);
+        index.onApplicationReady();
+        awaitBuilt();
+        assertEquals(3, index.builds.get());
+    }
+
+    @Test
+    public void applyChangesMadeWhileBuilding() throws InterruptedException {
+        index.started = new CountDownLatch(1);
+        index.release = new CountDownLatch(1);
+        index.onApplicationReady();
+        assertTrue(index.started.await(1, TimeUnit.SECONDS));
+        index.onEntityChanged(CHANGE);
+        index.release.countDown();
+        awaitBuilt();
+        assertEquals(Collections.singletonList(CHANGE), index.applied);
+    }
+
+    @Test
+    public void dropChangesWhileNotBuilding() throws InterruptedException {
+        index.onEntityChanged(CHANGE);
+        index.failures.set(1);
+        index.retryDelayMillis = 200;
+        index.onApplicationReady();
+        while (index.builds.get() == 0) {
+            Thread.sleep(1);
+        }
+        index.onEntityChanged(CHANGE);
+        awaitBuilt();
+        assertTrue(index.applied.isEmpty());
+    }
+
+    private void awaitBuilt() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (true) {
+            try {
+                index.index();
+                return;
+            } catch (ServiceUnavailableException e) {
+                if (System.currentTimeMillis() > deadline) {
+                    fail("The index has not been built.");
+                }
+                Thread.sleep(5);
+            }
+        }
+    }
+
+    private static class TestIndex extends ChangeFollowingIndex<Object> {
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger builds = new AtomicInteger();
+        private final List<EntityChangedEvent> applied = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch started;
+        private volatile CountDownLatch release;
+
+        TestIndex(ObjectProvider<InvalidationBus> invalidationBus) {
+            super(invalidationBus, Mockito.mock(Logger.class), "test");
+        }
+
+        @Override
+        protected Object build() {
+            builds.incrementAndGet();
+            if (started != null) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            if (failures.getAndDecrement() > 0) {
+                throw new IllegalStateException("Database is unavailable.");
+            }
+            return new Object();
+        }
+
+        @Override
+        protected boolean follows(PushTopic topic) {
+            return topic == PushTopic.PUBLICATION;
+        }
+
+        @Override
+        protected void apply(Object index, EntityChangedEvent event) {
+            applied.add(event);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package ru.mityushin.jobfinder.server.service.search;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.mityushin.jobfinder.server.dto.PublicationDTO;
+import ru.mityushin.jobfinder.server.model.Publication;
+import ru.mityushin.jobfinder.server.repo.PublicationRepository;
+import ru.mityushin.jobfinder.server.service.invalidation.InvalidationBus;
+import ru.mityushin.jobfinder.server.service.push.EntitiesChangedEvent;
+import ru.mityushin.jobfinder.server.service.push.EntityChangedEvent;
+import ru.mityushin.jobfinder.server.service.push.PushTopic;
+import ru.mityushin.jobfinder.server.util.exception.ServiceUnavailableException;
+import ru.mityushin.jobfinder.server.util.exception.data.MissingRequiredParametersException;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+
+public class PublicationSearchServiceImplTest {
+    private static final UUID JAVA_UUID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID KOTLIN_UUID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    private PublicationRepository publicationRepository;
+    private InvalidationBus invalidationBus;
+    private SpellingService spellingService;
+    private PublicationSearchServiceImpl searchService;
+    private Publication javaPublication;
+    private Publication kotlinPublication;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void before() {
+        publicationRepository = Mockito.mock(PublicationRepository.class);
+        invalidationBus = Mockito.mock(InvalidationBus.class);
+        ObjectProvider<InvalidationBus> provider = Mockito.mock(ObjectProvider.class);
+        Mockito.when(provider.getIfAvailable()).thenReturn(invalidationBus);
+        spellingService = Mockito.mock(SpellingService.class);
+        Mockito.when(spellingService.correct(Mockito.anyString())).then(AdditionalAnswers.returnsFirstArg());
+        TransactionTemplate transactionTemplate = Mockito.mock(TransactionTemplate.class);
+        Mockito.when(transactionTemplate.execute(Mockito.any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        searchService = new PublicationSearchServiceImpl(publicationRepository, Mockito.mock(EntityManager.class),
+                transactionTemplate, spellingService, provider, Mockito.mock(Logger.class));
+        searchService.subscribe();
+
+        javaPublication = publication(JAVA_UUID, "Java разработчик", "Москва", "Разрабатываем сервисы на Java");
+        kotlinPublication = publication(KOTLIN_UUID, "Kotlin developer", "Remote", "Android, немного Java");
+        Mockito.when(publicationRepository.streamAllByDeletedFalseOrderByIdAsc())
+                .thenReturn(Stream.of(javaPublication, kotlinPublication));
+        Mockito.when(publicationRepository.findAllByUuidIn(Mockito.anyCollection())).thenAnswer(invocation ->
+                Stream.of(javaPublication, kotlinPublication)
+                        .filter(publication -> invocation.<List<UUID>>getArgument(0).contains(publication.getUuid()))
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void subscribeToBus() {
+        Mockito.verify(invalidationBus).subscribe(searchService);
+    }
+
+    @Test(expected = ServiceUnavailableException.class)
+    public void rejectSearchBeforeBuilt() {
+        searchService.search("java", null);
+    }
+
+    @Test(expected = MissingRequiredParametersException.class)
+    public void rejectBlankQuery() {
+        searchService.search(" ", null);
+    }
+
+    @Test
+    public void rankTitleMatchesFirst() {
+        searchService.rebuild();
+        assertEquals(Arrays.asList(JAVA_UUID, KOTLIN_UUID), uuids(searchService.search("JAVA", null)));
+        assertEquals(Collections.singletonList(JAVA_UUID), uuids(searchService.search("разработчики", null)));
+        assertEquals(Collections.singletonList(KOTLIN_UUID), uuids(searchService.search("developers", null)));
+    }
+
+    @Test
+    public void searchCorrectedWordsToo() {
+        searchService.rebuild();
+        Mockito.when(spellingService.correct("jvaa")).thenReturn("java");
+        Mockito.when(spellingService.correct("android")).thenReturn("remote");
+        assertEquals(Arrays.asList(JAVA_UUID, KOTLIN_UUID), uuids(searchService.search("jvaa", null)));
+        assertEquals(Collections.singletonList(KOTLIN_UUID), uuids(searchService.search("android", null)));
+    }
+
+    @Test
+    public void followLocalChanges() {
+        searchService.rebuild();
+        kotlinPublication.setTitle("Scala developer");
+        Mockito.when(publicationRepository.findByUuid(KOTLIN_UUID)).thenReturn(kotlinPublication);
+        searchService.onEntityChanged(new EntityChangedEvent(PushTopic.PUBLICATION, KOTLIN_UUID));
+        assertEquals(Collections.singletonList(KOTLIN_UUID), uuids(searchService.search("scala", null)));
+        assertEquals(Collections.emptyList(), uuids(searchService.search("kotlin", null)));
+    }
+
+    @Test
+    public void followBatchesInOneQuery() {
+        searchService.rebuild();
+        kotlinPublication.setTitle("Scala developer");
+        javaPublication.setDeleted(true);
+        searchService.onEntitiesChanged(new EntitiesChangedEvent(PushTopic.PUBLICATION,
+                Arrays.asList(JAVA_UUID, KOTLIN_UUID)));
+        Mockito.verify(publicationRepository).findAllByUuidIn(Arrays.asList(JAVA_UUID, KOTLIN_UUID));
+        Mockito.verify(publicationRepository, Mockito.never()).findByUuid(Mockito.any());
+        assertEquals(Collections.singletonList(KOTLIN_UUID), uuids(searchService.search("scala", null)));
+        assertEquals(Collections.emptyList(), uuids(searchService.search("разработчик", null)));
+    }
+
+    @Test
+    public void followRemoteDeletes() {
+        searchService.rebuild();
+        javaPublication.setDeleted(true);
+        Mockito.when(publicationRepository.findByUuid(JAVA_UUID)).thenReturn(javaPublication);
+        searchService.invalidate("organizations", JAVA_UUID);
+        Mockito.verify(publicationRepository, Mockito.never()).findByUuid(JAVA_UUID);
+        searchService.invalidate(PushTopic.PUBLICATION.getChannel(), JAVA_UUID);
+        assertEquals(Collections.singletonList(KOTLIN_UUID), uuids(searchService.search("java", null)));
+    }
+
+    @Test
+    public void applyChangesMadeWhileBuilding() {
+        Mockito.when(publicationRepository.streamAllByDeletedFalseOrderByIdAsc()).thenAnswer(invocation -> {
+            searchService.onEntityChanged(new EntityChangedEvent(PushTopic.PUBLICATION, KOTLIN_UUID));
+            return Stream.of(javaPublication, kotlinPublication);
+        });
+        kotlinPublication.setTitle("Scala developer");
+        Mockito.when(publicationRepository.findByUuid(KOTLIN_UUID)).thenReturn(kotlinPublication);
+        searchService.rebuild();
+        Mockito.verify(publicationRepository).findByUuid(KOTLIN_UUID);
+    }
+
+    @Test
+    public void ignoreChangesBeforeBuilding() {
+        searchService.onEntityChanged(new EntityChangedEvent(PushTopic.PUBLICATION, KOTLIN_UUID));
+        searchService.rebuild();
+        Mockito.verify(publicationRepository, Mockito.never()).findByUuid(KOTLIN_UUID);
+    }
+
+    private static Publication publication(UUID uuid, String title, String description, String content) {
+        return Publication.builder()
+                .uuid(uuid)
+                .authorUuid(uuid)
+                .title(title)
+                .description(description)
+                .content(content)
+                .visible(true)
+                .deleted(false)
+                .build();
+    }
+
+    private static List<UUID> uuids(List<PublicationDTO> publications) {
+        return publications.stream().map(PublicationDTO::getUuid).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,95 @@
+package ru.mityushin.jobfinder.server.service.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.mityushin.jobfinder.server.util.search.TextAnalyzer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency percentiles over a million synthetic publications whose terms follow a Zipf distribution.
+ * Not run by surefire, start {@link #main} with the test classpath and at least 2 GB of heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class SearchIndexBenchmark {
+    private static final int VOCABULARY = 50_000;
+    private static final int TERMS_PER_DOCUMENT = 40;
+
+    @Param({"1000000"})
+    private int documents;
+
+    private SearchIndex index;
+    private List<String> rareQuery;
+    private List<String> commonQuery;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        double[] cumulative = zipf(VOCABULARY);
+        index = new SearchIndex();
+        for (int i = 0; i < documents; i++) {
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (int j = 0; j < TERMS_PER_DOCUMENT; j++) {
+                frequencies.merge("t" + sample(cumulative, random), 1, Integer::sum);
+            }
+            index.put(new UUID(0, i), frequencies);
+        }
+        rareQuery = TextAnalyzer.analyze("t2000 t5000 t9000");
+        commonQuery = TextAnalyzer.analyze("t10 t50 t200");
+    }
+
+    @Benchmark
+    public List<UUID> rareTerms() {
+        return index.search(rareQuery, 20);
+    }
+
+    @Benchmark
+    public List<UUID> commonTerms() {
+        return index.search(commonQuery, 20);
+    }
+
+    private static double[] zipf(int size) {
+        double[] cumulative = new double[size];
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int sample(double[] cumulative, Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return index >= 0 ? index : -index - 1;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SearchIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,135 @@
+package ru.mityushin.jobfinder.server.service.search;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+public class SearchIndexTest {
+    private static final UUID FIRST = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID SECOND = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final UUID THIRD = UUID.fromString("00000000-0000-0000-0000-000000000003");
+
+    private SearchIndex index;
+
+    @Before
+    public void before() {
+        index = new SearchIndex();
+        index.put(FIRST, frequencies("java", 3, "spring", 1));
+        index.put(SECOND, frequencies("java", 1, "kotlin", 1, "android", 1, "mobile", 1));
+        index.put(THIRD, frequencies("python", 2));
+    }
+
+    @Test
+    public void rankByFrequencyAndLength() {
+        assertEquals(Arrays.asList(FIRST, SECOND), index.search(Collections.singletonList("java"), 10));
+    }
+
+    @Test
+    public void rankRareTermsHigher() {
+        assertEquals(Arrays.asList(SECOND, FIRST), index.search(Arrays.asList("java", "kotlin"), 10));
+    }
+
+    @Test
+    public void limitResults() {
+        assertEquals(Collections.singletonList(FIRST), index.search(Collections.singletonList("java"), 1));
+    }
+
+    @Test
+    public void replaceDocument() {
+        index.put(FIRST, frequencies("rust", 1));
+        assertEquals(Collections.singletonList(SECOND), index.search(Collections.singletonList("java"), 10));
+        assertEquals(Collections.singletonList(FIRST), index.search(Collections.singletonList("rust"), 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void removeDocument() {
+        index.remove(SECOND);
+        assertEquals(Collections.singletonList(FIRST), index.search(Arrays.asList("java", "kotlin"), 10));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void compactDeletedDocuments() {
+        for (int i = 0; i < 2_000; i++) {
+            index.put(SECOND, frequencies("java", 1, "version" + i, 1));
+        }
+        assertEquals(Arrays.asList(FIRST, SECOND), index.search(Collections.singletonList("java"), 10));
+        assertEquals(Collections.singletonList(SECOND), index.search(Collections.singletonList("version1999"), 10));
+        assertEquals(Collections.emptyList(), index.search(Collections.singletonList("version0"), 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void pruneWithoutChangingTopScores() {
+        Random random = new Random(7);
+        SearchIndex large = new SearchIndex();
+        Map<UUID, Map<String, Integer>> documents = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (int j = 0; j < 10; j++) {
+                frequencies.merge("t" + (int) Math.pow(random.nextInt(40), 2), 1 + random.nextInt(2), Integer::sum);
+            }
+            UUID uuid = new UUID(0, i);
+            documents.put(uuid, frequencies);
+            large.put(uuid, frequencies);
+        }
+        List<String> query = Arrays.asList("t0", "t1", "t400", "t1521");
+        Map<UUID, Double> expected = exhaustiveScores(documents, query);
+        List<Double> best = expected.values().stream()
+                .sorted(Comparator.reverseOrder())
+                .limit(10)
+                .collect(Collectors.toList());
+
+        List<UUID> found = large.search(query, 10);
+        assertEquals(10, found.size());
+        for (int i = 0; i < found.size(); i++) {
+            assertEquals(best.get(i), expected.get(found.get(i)), 1e-4);
+        }
+    }
+
+    @Test
+    public void searchUnknownTerm() {
+        assertEquals(Collections.emptyList(), index.search(Collections.singletonList("cobol"), 10));
+    }
+
+    private static Map<UUID, Double> exhaustiveScores(Map<UUID, Map<String, Integer>> documents, List<String> query) {
+        double averageLength = documents.values().stream()
+                .mapToInt(frequencies -> frequencies.values().stream().mapToInt(Integer::intValue).sum())
+                .average()
+                .orElse(0);
+        Map<UUID, Double> scores = new HashMap<>();
+        for (String term : query) {
+            long matching = documents.values().stream().filter(frequencies -> frequencies.containsKey(term)).count();
+            double idf = Math.log(1 + (documents.size() - matching + 0.5) / (matching + 0.5));
+            documents.forEach((uuid, frequencies) -> {
+                Integer frequency = frequencies.get(term);
+                if (frequency != null) {
+                    int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+                    double norm = SearchIndex.K1 * (1 - SearchIndex.B + SearchIndex.B * length / averageLength);
+                    scores.merge(uuid, idf * frequency * (SearchIndex.K1 + 1) / (frequency + norm), Double::sum);
+                }
+            });
+        }
+        return scores;
+    }
+
+    private static Map<String, Integer> frequencies(Object... termsAndFrequencies) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (int i = 0; i < termsAndFrequencies.length; i += 2) {
+            frequencies.put((String) termsAndFrequencies[i], (Integer) termsAndFrequencies[i + 1]);
+        }
+        return frequencies;
+    }
+}
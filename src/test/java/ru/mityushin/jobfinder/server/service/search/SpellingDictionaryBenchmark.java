@@ -0,0 +1,90 @@
+package ru.mityushin.jobfinder.server.service.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup latency percentiles over a vocabulary of random words. Not run by surefire, start {@link #main}
+ * with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class SpellingDictionaryBenchmark {
+    private static final String LETTERS = "абвгдежзиклмнопрстуфхцчшыэюя";
+
+    @Param({"200000"})
+    private int words;
+
+    private SpellingDictionary dictionary;
+    private String known;
+    private String oneEdit;
+    private String twoEdits;
+    private String unknown;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        SpellingDictionary.Builder builder = new SpellingDictionary.Builder();
+        String word = null;
+        for (int i = 0; i < words; i++) {
+            word = word(random, 5 + random.nextInt(8));
+            builder.add(word);
+        }
+        dictionary = builder.build();
+        known = word;
+        oneEdit = word.substring(1);
+        twoEdits = word.charAt(1) + word.substring(2, word.length() - 1) + word.charAt(0);
+        unknown = word(random, 9);
+    }
+
+    @Benchmark
+    public String knownWord() {
+        return dictionary.lookup(known);
+    }
+
+    @Benchmark
+    public String oneEdit() {
+        return dictionary.lookup(oneEdit);
+    }
+
+    @Benchmark
+    public String twoEdits() {
+        return dictionary.lookup(twoEdits);
+    }
+
+    @Benchmark
+    public String unknownWord() {
+        return dictionary.lookup(unknown);
+    }
+
+    private static String word(Random random, int length) {
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        }
+        return word.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SpellingDictionaryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,113 @@
+package ru.mityushin.jobfinder.server.service.search;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class SpellingDictionaryTest {
+    private SpellingDictionary dictionary;
+
+    @Before
+    public void before() {
+        SpellingDictionary.Builder builder = new SpellingDictionary.Builder();
+        builder.add("Java developer, Java 8");
+        builder.add("Javascript developer");
+        builder.add("Kotlin developer, remote");
+        builder.add("Разработчик Kotlin, удалённо");
+        builder.add(null);
+        dictionary = builder.build();
+    }
+
+    @Test
+    public void keepKnownWords() {
+        assertEquals("java", dictionary.lookup("java"));
+        assertEquals("удаленно", dictionary.lookup("удаленно"));
+    }
+
+    @Test
+    public void correctWithinTwoEdits() {
+        assertEquals("kotlin", dictionary.lookup("kotln"));
+        assertEquals("kotlin", dictionary.lookup("kottlin"));
+        assertEquals("remote", dictionary.lookup("remofe"));
+        assertEquals("разработчик", dictionary.lookup("розроботчик"));
+        assertEquals("javascript", dictionary.lookup("javascrpit"));
+    }
+
+    @Test
+    public void countTranspositionAsOneEdit() {
+        assertEquals("developer", dictionary.lookup("dveelopre"));
+    }
+
+    @Test
+    public void preferFrequentWordsOnTie() {
+        assertEquals("java", dictionary.lookup("jaba"));
+    }
+
+    @Test
+    public void leaveUnknownWords() {
+        assertNull(dictionary.lookup("python"));
+        assertNull(dictionary.lookup("jv"));
+        assertNull(dictionary.lookup("8"));
+        assertNull(SpellingDictionary.EMPTY.lookup("java"));
+    }
+
+    @Test
+    public void neverPreferFartherFrequentWords() {
+        SpellingDictionary.Builder builder = new SpellingDictionary.Builder();
+        builder.add("abc");
+        builder.add("xbcx xbcx xbcx");
+        assertEquals("abc", builder.build().lookup("abcd"));
+    }
+
+    @Test
+    public void findClosestWordLikeBruteForce() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            SpellingDictionary.Builder builder = new SpellingDictionary.Builder();
+            List<String> words = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                String word = randomWord(random);
+                words.add(word);
+                for (int count = random.nextInt(3); count >= 0; count--) {
+                    builder.add(word);
+                }
+            }
+            SpellingDictionary randomDictionary = builder.build();
+            for (int i = 0; i < 30; i++) {
+                String query = randomWord(random);
+                int closest = Integer.MAX_VALUE;
+                for (String word : words) {
+                    closest = Math.min(closest, SpellingDictionary.distance(query, word, Integer.MAX_VALUE));
+                }
+                String found = randomDictionary.lookup(query);
+                if (closest > SpellingDictionary.MAX_DISTANCE) {
+                    assertNull(query, found);
+                } else {
+                    assertEquals(query, closest, SpellingDictionary.distance(query, found, Integer.MAX_VALUE));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void measureDistance() {
+        assertEquals(0, SpellingDictionary.distance("java", "java", 3));
+        assertEquals(1, SpellingDictionary.distance("java", "jaav", 3));
+        assertEquals(2, SpellingDictionary.distance("kotlin", "kolin8", 3));
+        assertEquals(3, SpellingDictionary.distance("java", "kotlin", 3));
+    }
+
+    private static String randomWord(Random random) {
+        char[] word = new char[3 + random.nextInt(4)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(4));
+        }
+        return new String(word);
+    }
+}
@@ -0,0 +1,68 @@
+package ru.mityushin.jobfinder.server.service.search;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.mityushin.jobfinder.server.repo.OrganizationRepository;
+import ru.mityushin.jobfinder.server.repo.PublicationRepository;
+import ru.mityushin.jobfinder.server.repo.projection.TextView;
+
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+
+public class SpellingServiceImplTest {
+    private OrganizationRepository organizationRepository;
+    private PublicationRepository publicationRepository;
+    private SpellingServiceImpl spellingService;
+
+    @Before
+    public void before() {
+        organizationRepository = Mockito.mock(OrganizationRepository.class);
+        publicationRepository = Mockito.mock(PublicationRepository.class);
+        TransactionTemplate transactionTemplate = Mockito.mock(TransactionTemplate.class);
+        Mockito.when(transactionTemplate.execute(Mockito.any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        spellingService = new SpellingServiceImpl(organizationRepository, publicationRepository,
+                transactionTemplate, Mockito.mock(Logger.class));
+        TextView organization = text("Java Community", "Meetups in Moscow");
+        TextView publication = text("Kotlin developer", null);
+        Mockito.when(organizationRepository.streamTextsByDeletedFalse()).thenReturn(Stream.of(organization));
+        Mockito.when(publicationRepository.streamTextsByDeletedFalse()).thenReturn(Stream.of(publication));
+    }
+
+    @Test
+    public void keepWordsBeforeBuilt() {
+        assertEquals("kotln", spellingService.correct("kotln"));
+    }
+
+    @Test
+    public void correctFromTitlesAndDescriptions() {
+        spellingService.rebuild();
+        assertEquals("kotlin", spellingService.correct("kotln"));
+        assertEquals("moscow", spellingService.correct("mosow"));
+        assertEquals("community", spellingService.correct("comunity"));
+        assertEquals("python", spellingService.correct("python"));
+    }
+
+    @Test
+    public void replaceDictionaryOnRebuild() {
+        spellingService.rebuild();
+        TextView publication = text("Scala developer", null);
+        Mockito.when(organizationRepository.streamTextsByDeletedFalse()).thenReturn(Stream.empty());
+        Mockito.when(publicationRepository.streamTextsByDeletedFalse()).thenReturn(Stream.of(publication));
+        spellingService.rebuild();
+        assertEquals("kotln", spellingService.correct("kotln"));
+        assertEquals("scala", spellingService.correct("skala"));
+    }
+
+    private static TextView text(String title, String description) {
+        TextView text = Mockito.mock(TextView.class);
+        Mockito.when(text.getTitle()).thenReturn(title);
+        Mockito.when(text.getDescription()).thenReturn(description);
+        return text;
+    }
+}
@@ -0,0 +1,105 @@
+package ru.mityushin.jobfinder.server.service.search;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.mityushin.jobfinder.server.dto.SuggestionDTO;
+import ru.mityushin.jobfinder.server.model.Organization;
+import ru.mityushin.jobfinder.server.model.Publication;
+import ru.mityushin.jobfinder.server.repo.OrganizationRepository;
+import ru.mityushin.jobfinder.server.repo.PublicationRepository;
+import ru.mityushin.jobfinder.server.service.invalidation.InvalidationBus;
+import ru.mityushin.jobfinder.server.service.push.EntityChangedEvent;
+import ru.mityushin.jobfinder.server.service.push.PushTopic;
+import ru.mityushin.jobfinder.server.util.enums.SuggestionType;
+import ru.mityushin.jobfinder.server.util.exception.ServiceUnavailableException;
+import ru.mityushin.jobfinder.server.util.exception.data.MissingRequiredParametersException;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+
+public class SuggestServiceImplTest {
+    private static final UUID ORGANIZATION_UUID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID PUBLICATION_UUID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    private OrganizationRepository organizationRepository;
+    private InvalidationBus invalidationBus;
+    private SuggestServiceImpl suggestService;
+    private Organization organization;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void before() {
+        organizationRepository = Mockito.mock(OrganizationRepository.class);
+        PublicationRepository publicationRepository = Mockito.mock(PublicationRepository.class);
+        invalidationBus = Mockito.mock(InvalidationBus.class);
+        ObjectProvider<InvalidationBus> provider = Mockito.mock(ObjectProvider.class);
+        Mockito.when(provider.getIfAvailable()).thenReturn(invalidationBus);
+        TransactionTemplate transactionTemplate = Mockito.mock(TransactionTemplate.class);
+        Mockito.when(transactionTemplate.execute(Mockito.any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        suggestService = new SuggestServiceImpl(organizationRepository, publicationRepository,
+                Mockito.mock(EntityManager.class), transactionTemplate, provider, Mockito.mock(Logger.class));
+        suggestService.subscribe();
+
+        organization = Organization.builder()
+                .uuid(ORGANIZATION_UUID)
+                .title("Java Community")
+                .subscribersCount(12)
+                .deleted(false)
+                .build();
+        Publication publication = Publication.builder()
+                .uuid(PUBLICATION_UUID)
+                .title("Java developer")
+                .deleted(false)
+                .build();
+        Mockito.when(organizationRepository.streamAllByDeletedFalseOrderByIdAsc()).thenReturn(Stream.of(organization));
+        Mockito.when(publicationRepository.streamAllByDeletedFalseOrderByIdAsc()).thenReturn(Stream.of(publication));
+    }
+
+    @Test
+    public void subscribeToBus() {
+        Mockito.verify(invalidationBus).subscribe(suggestService);
+    }
+
+    @Test(expected = ServiceUnavailableException.class)
+    public void rejectBeforeBuilt() {
+        suggestService.suggest("java", null);
+    }
+
+    @Test(expected = MissingRequiredParametersException.class)
+    public void rejectBlankPrefix() {
+        suggestService.suggest("", null);
+    }
+
+    @Test
+    public void suggestOrganizationsAndPublications() {
+        suggestService.rebuild();
+        List<SuggestionDTO> suggestions = suggestService.suggest("Jav", null);
+        assertEquals(Arrays.asList(SuggestionType.ORGANIZATION, SuggestionType.PUBLICATION),
+                suggestions.stream().map(SuggestionDTO::getType).collect(Collectors.toList()));
+        assertEquals(Integer.valueOf(12), suggestions.get(0).getWeight());
+    }
+
+    @Test
+    public void followDeletedOrganizations() {
+        suggestService.rebuild();
+        organization.setDeleted(true);
+        Mockito.when(organizationRepository.findByUuid(ORGANIZATION_UUID)).thenReturn(organization);
+        suggestService.onEntityChanged(new EntityChangedEvent(PushTopic.ORGANIZATION, ORGANIZATION_UUID));
+        assertEquals(Collections.singletonList(PUBLICATION_UUID), suggestService.suggest("java", null).stream()
+                .map(SuggestionDTO::getUuid)
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,124 @@
+package ru.mityushin.jobfinder.server.service.search;
+
+import org.junit.Before;
+import org.junit.Test;
+import ru.mityushin.jobfinder.server.dto.SuggestionDTO;
+import ru.mityushin.jobfinder.server.util.enums.SuggestionType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+public class SuggestTrieTest {
+    private static final UUID JAVA = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID JAVASCRIPT = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final UUID JAVA_TEAM = UUID.fromString("00000000-0000-0000-0000-000000000003");
+    private static final UUID YANDEX = UUID.fromString("00000000-0000-0000-0000-000000000004");
+
+    private SuggestTrie trie;
+
+    @Before
+    public void before() {
+        trie = new SuggestTrie();
+        trie.put(suggestion(JAVA, "Java developer", 10));
+        trie.put(suggestion(JAVASCRIPT, "JavaScript developer", 30));
+        trie.put(suggestion(JAVA_TEAM, "Java team", 20));
+        trie.put(suggestion(YANDEX, "Яндекс", 100));
+    }
+
+    @Test
+    public void suggestHeaviestFirst() {
+        assertEquals(Arrays.asList(JAVASCRIPT, JAVA_TEAM, JAVA), uuids(trie.suggest("ja", 10)));
+        assertEquals(Arrays.asList(JAVASCRIPT, JAVA_TEAM), uuids(trie.suggest("JA", 2)));
+    }
+
+    @Test
+    public void matchWholeWords() {
+        assertEquals(Arrays.asList(JAVA_TEAM, JAVA), uuids(trie.suggest("java ", 10)));
+        assertEquals(Collections.singletonList(JAVA), uuids(trie.suggest("java-dev", 10)));
+        assertEquals(Collections.singletonList(YANDEX), uuids(trie.suggest("янд", 10)));
+    }
+
+    @Test
+    public void suggestNothingForUnknownPrefix() {
+        assertEquals(Collections.emptyList(), trie.suggest("javb", 10));
+        assertEquals(Collections.emptyList(), trie.suggest("java developers", 10));
+    }
+
+    @Test
+    public void reweigh() {
+        trie.put(suggestion(JAVA, "Java developer", 50));
+        assertEquals(Arrays.asList(JAVA, JAVASCRIPT, JAVA_TEAM), uuids(trie.suggest("java", 10)));
+        assertEquals(4, trie.size());
+    }
+
+    @Test
+    public void rename() {
+        trie.put(suggestion(JAVA_TEAM, "Kotlin team", 20));
+        assertEquals(Arrays.asList(JAVASCRIPT, JAVA), uuids(trie.suggest("java", 10)));
+        assertEquals(Collections.singletonList(JAVA_TEAM), uuids(trie.suggest("k", 10)));
+    }
+
+    @Test
+    public void removeAndMergeNodes() {
+        trie.remove(JAVASCRIPT);
+        trie.remove(JAVA_TEAM);
+        assertEquals(Collections.singletonList(JAVA), uuids(trie.suggest("java", 10)));
+        trie.remove(JAVA);
+        assertEquals(Collections.emptyList(), trie.suggest("j", 10));
+        assertEquals(Collections.singletonList(YANDEX), uuids(trie.suggest("я", 10)));
+    }
+
+    @Test
+    public void matchNaiveScan() {
+        Random random = new Random(11);
+        List<SuggestionDTO> all = new ArrayList<>();
+        SuggestTrie large = new SuggestTrie();
+        for (int i = 0; i < 3_000; i++) {
+            StringBuilder title = new StringBuilder();
+            for (int j = 0; j < 2 + random.nextInt(6); j++) {
+                title.append((char) ('a' + random.nextInt(3)));
+            }
+            SuggestionDTO suggestion = suggestion(new UUID(0, i), title.toString(), random.nextInt(1_000));
+            all.add(suggestion);
+            large.put(suggestion);
+            if (random.nextInt(4) == 0) {
+                SuggestionDTO removed = all.remove(random.nextInt(all.size()));
+                large.remove(removed.getUuid());
+            }
+        }
+        for (String prefix : Arrays.asList("a", "ab", "bca", "cc", "abcab")) {
+            List<Integer> expected = all.stream()
+                    .filter(suggestion -> suggestion.getTitle().startsWith(prefix))
+                    .map(SuggestionDTO::getWeight)
+                    .sorted(Comparator.reverseOrder())
+                    .limit(15)
+                    .collect(Collectors.toList());
+            List<Integer> actual = large.suggest(prefix, 15).stream()
+                    .map(SuggestionDTO::getWeight)
+                    .collect(Collectors.toList());
+            assertEquals(prefix, expected, actual);
+        }
+        assertEquals(all.size(), large.size());
+    }
+
+    private static SuggestionDTO suggestion(UUID uuid, String title, int weight) {
+        return SuggestionDTO.builder()
+                .type(SuggestionType.ORGANIZATION)
+                .uuid(uuid)
+                .title(title)
+                .weight(weight)
+                .build();
+    }
+
+    private static List<UUID> uuids(List<SuggestionDTO> suggestions) {
+        return suggestions.stream().map(SuggestionDTO::getUuid).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,120 @@
+package ru.mityushin.jobfinder.server.service.token;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+import ru.mityushin.jobfinder.server.dto.TokenDTO;
+import ru.mityushin.jobfinder.server.service.userdetails.ExtendedUserDetails;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(loader = AnnotationConfigContextLoader.class)
+public class TokenServiceImplTest {
+    private static final UUID DEFAULT_UUID = UUID.fromString("01234567-89ab-cdef-0123-456789abcdef");
+    private static final String SECRET = "c2VjcmV0LWtleS1mb3ItdGVzdHMtb25seS0xMjM0NTY=";
+    private ExtendedUserDetails userDetails;
+
+    @Autowired
+    private Logger log;
+    @Autowired
+    private TokenService tokenService;
+
+    @Configuration
+    static class ContextConfiguration {
+        @Bean
+        public Logger log() {
+            return Mockito.mock(Logger.class);
+        }
+
+        @Bean
+        public TokenService tokenService(Logger log) {
+            return new TokenServiceImpl(SECRET, false, 60, log);
+        }
+    }
+
+    @Before
+    public void before() {
+        userDetails = ExtendedUserDetails.builder()
+                .uuid(DEFAULT_UUID)
+                .username("user|name")
+                .password("pswd")
+                .roles(Arrays.asList("ROLE_USER", "ROLE_ADMIN"))
+                .accountNonLocked(true)
+                .enabled(true)
+                .build();
+    }
+
+    @Test
+    public void issueAndVerify() {
+        TokenDTO token = tokenService.issue(userDetails);
+        assertEquals("Bearer", token.getTokenType());
+        assertEquals(Long.valueOf(60), token.getExpiresIn());
+        ExtendedUserDetails verified = tokenService.verify(token.getToken());
+        assertEquals(DEFAULT_UUID, verified.getIdentifier());
+        assertEquals("user|name", verified.getUsername());
+        assertEquals(new HashSet<>(Arrays.asList(
+                new SimpleGrantedAuthority("ROLE_USER"),
+                new SimpleGrantedAuthority("ROLE_ADMIN"))), verified.getAuthorities());
+        assertTrue(verified.isEnabled());
+        assertTrue(verified.isAccountNonLocked());
+    }
+
+    @Test(expected = BadCredentialsException.class)
+    public void verifyTampered() {
+        String token = tokenService.issue(userDetails).getToken();
+        String forged = new TokenServiceImpl(SECRET, false, 60, log).issue(ExtendedUserDetails.builder()
+                .uuid(UUID.randomUUID())
+                .username("admin")
+                .build()).getToken();
+        tokenService.verify(forged.substring(0, forged.indexOf('.')) + token.substring(token.indexOf('.')));
+    }
+
+    @Test(expected = BadCredentialsException.class)
+    public void verifyWithOtherSecret() {
+        String token = new TokenServiceImpl("", true, 60, log).issue(userDetails).getToken();
+        tokenService.verify(token);
+    }
+
+    @Test(expected = CredentialsExpiredException.class)
+    public void verifyExpired() {
+        String token = new TokenServiceImpl(SECRET, false, -1, log).issue(userDetails).getToken();
+        tokenService.verify(token);
+    }
+
+    @Test(expected = BadCredentialsException.class)
+    public void verifyMalformed() {
+        tokenService.verify("not a token");
+    }
+
+    @Test(expected = BadCredentialsException.class)
+    public void verifyInvalidEncoding() {
+        tokenService.verify("!!!.???");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void requireSecret() {
+        new TokenServiceImpl("", false, 60, log);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectShortSecret() {
+        new TokenServiceImpl("c2hvcnQtc2VjcmV0", false, 60, log);
+    }
+}
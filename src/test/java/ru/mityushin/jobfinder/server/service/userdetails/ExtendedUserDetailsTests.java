@@ -14,14 +14,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.context.support.AnnotationConfigContextLoader;
 import ru.mityushin.jobfinder.server.model.Person;
-import ru.mityushin.jobfinder.server.model.Role;
+import ru.mityushin.jobfinder.server.util.enums.SecurityRole;
 
+import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -40,13 +45,11 @@ public class ExtendedUserDetailsTests {
     private static final Boolean DEFAULT_ENABLED = true;
     private static final UUID DEFAULT_UUID = UUID.randomUUID();
 
-    private Set<Role> roles;
+    private Set<SecurityRole> roles;
     private Set<SimpleGrantedAuthority> authorities;
 
     @Autowired
     private Person person;
-    @Autowired
-    private ExtendedUserDetails userDetails;
 
     @Configuration
     public static class ContextConfiguration {
@@ -54,21 +57,11 @@ public class ExtendedUserDetailsTests {
         public Person person() {
             return PowerMockito.mock(Person.class);
         }
-
-        @Bean
-        public ExtendedUserDetails userDetails(Person person) {
-            return new ExtendedUserDetails(person);
-        }
     }
 
     @Before
     public void before() {
-        roles = new HashSet<>();
-        roles.add(Role.builder().id(1L).name("ROLE_USER").persons(new HashSet<>()).build());
-        roles.add(Role.builder().id(2L).name("ROLE_ORGANIZATION_MANAGER").persons(new HashSet<>()).build());
-        roles.add(Role.builder().id(3L).name("ROLE_CONTENT_MAKER").persons(new HashSet<>()).build());
-        roles.add(Role.builder().id(4L).name("ROLE_MODERATOR").persons(new HashSet<>()).build());
-        roles.add(Role.builder().id(5L).name("ROLE_ADMIN").persons(new HashSet<>()).build());
+        roles = EnumSet.allOf(SecurityRole.class);
 
         authorities = new HashSet<>();
         authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
@@ -90,67 +83,122 @@ public class ExtendedUserDetailsTests {
         Mockito.reset(person);
     }
 
+    private ExtendedUserDetails userDetails() {
+        return new ExtendedUserDetails(person);
+    }
+
     @Test
     public void getAuthorities() {
-        assertEquals(authorities, userDetails.getAuthorities());
+        assertEquals(authorities, userDetails().getAuthorities());
     }
 
     @Test
     public void getPassword() {
-        assertEquals(PASSWORD, userDetails.getPassword());
+        assertEquals(PASSWORD, userDetails().getPassword());
     }
 
     @Test
     public void getUsername() {
-        assertEquals(USERNAME, userDetails.getUsername());
+        assertEquals(USERNAME, userDetails().getUsername());
     }
 
     @Test
     public void isAccountNonExpiredWithoutExpire() {
-        assertTrue(userDetails.isAccountNonExpired());
+        assertTrue(userDetails().isAccountNonExpired());
     }
 
     @Test
     public void isAccountNonExpiredNotExpired() {
         PowerMockito.when(person.getExpire()).thenReturn(ZonedDateTime.now().plusHours(2));
-        assertTrue(userDetails.isAccountNonExpired());
+        assertTrue(userDetails().isAccountNonExpired());
     }
 
     @Test
     public void isAccountNonExpiredExpired() {
         PowerMockito.when(person.getExpire()).thenReturn(ZonedDateTime.now().minusHours(2));
-        assertFalse(userDetails.isAccountNonExpired());
+        assertFalse(userDetails().isAccountNonExpired());
     }
 
     @Test
     public void isAccountNonLocked() {
-        assertTrue(userDetails.isAccountNonLocked());
+        assertTrue(userDetails().isAccountNonLocked());
     }
 
     @Test
     public void isCredentialsNonExpiredWithoutExpire() {
-        assertTrue(userDetails.isCredentialsNonExpired());
+        assertTrue(userDetails().isCredentialsNonExpired());
     }
 
     @Test
     public void isCredentialsNonExpiredNotExpired() {
         PowerMockito.when(person.getCredentialsExpire()).thenReturn(ZonedDateTime.now().plusHours(2));
-        assertTrue(userDetails.isCredentialsNonExpired());
+        assertTrue(userDetails().isCredentialsNonExpired());
     }
 
     @Test
     public void isCredentialsNonExpiredExpired() {
         PowerMockito.when(person.getCredentialsExpire()).thenReturn(ZonedDateTime.now().minusHours(2));
-        assertFalse(userDetails.isCredentialsNonExpired());
+        assertFalse(userDetails().isCredentialsNonExpired());
     }
 
     @Test
     public void isEnabled() {
-        assertTrue(userDetails.isEnabled());
+        assertTrue(userDetails().isEnabled());
     }
 
     @Test
     public void getIdentifier() {
+        assertEquals(DEFAULT_UUID, userDetails().getIdentifier());
+    }
+
+    @Test
+    public void getAuthoritiesWithoutAllocation() {
+        ExtendedUserDetails userDetails = userDetails();
+        assertSame(userDetails.getAuthorities(), userDetails.getAuthorities());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getAuthoritiesImmutable() {
+        ((Collection<GrantedAuthority>) userDetails().getAuthorities()).clear();
+    }
+
+    @Test
+    public void detachedFromPerson() {
+        ExtendedUserDetails userDetails = userDetails();
+        PowerMockito.when(person.getUsername()).thenReturn("other");
+        roles.clear();
+        assertEquals(USERNAME, userDetails.getUsername());
+        assertEquals(authorities, userDetails.getAuthorities());
+    }
+
+    @Test
+    public void shareAuthoritiesBetweenPrincipals() {
+        assertSame(userDetails().getAuthorities(), userDetails().getAuthorities());
+    }
+
+    @Test
+    public void hasRole() {
+        roles.remove(SecurityRole.ROLE_ADMIN);
+        ExtendedUserDetails userDetails = userDetails();
+        assertTrue(userDetails.hasRole(SecurityRole.ROLE_MODERATOR));
+        assertFalse(userDetails.hasRole(SecurityRole.ROLE_ADMIN));
+    }
+
+    @Test
+    public void build() {
+        ExtendedUserDetails userDetails = ExtendedUserDetails.builder()
+                .uuid(DEFAULT_UUID)
+                .username(USERNAME)
+                .roles(Arrays.asList("ROLE_USER", "ROLE_ADMIN"))
+                .accountNonLocked(true)
+                .enabled(true)
+                .expire(Instant.now().minusSeconds(60))
+                .build();
         assertEquals(DEFAULT_UUID, userDetails.getIdentifier());
+        assertEquals(2, userDetails.getAuthorities().size());
+        assertTrue(userDetails.hasRole(SecurityRole.ROLE_ADMIN));
+        assertNull(userDetails.getPassword());
+        assertFalse(userDetails.isAccountNonExpired());
+        assertTrue(userDetails.isCredentialsNonExpired());
     }
 }
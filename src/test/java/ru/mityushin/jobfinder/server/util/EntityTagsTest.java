@@ -0,0 +1,47 @@
+package ru.mityushin.jobfinder.server.util;
+
+import org.junit.Test;
+import ru.mityushin.jobfinder.server.util.exception.PreconditionFailedException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class EntityTagsTest {
+
+    @Test
+    public void of() {
+        assertEquals("\"12\"", EntityTags.of(12L));
+    }
+
+    @Test
+    public void ifMatch() {
+        assertEquals(Long.valueOf(12L), EntityTags.ifMatch(" \"12\" "));
+    }
+
+    @Test
+    public void ifMatchAny() {
+        assertNull(EntityTags.ifMatch(null));
+        assertNull(EntityTags.ifMatch("*"));
+    }
+
+    @Test(expected = PreconditionFailedException.class)
+    public void ifMatchWeak() {
+        EntityTags.ifMatch("W/\"12\"");
+    }
+
+    @Test(expected = PreconditionFailedException.class)
+    public void ifMatchForeign() {
+        EntityTags.ifMatch("\"5d41402abc4b2a76\"");
+    }
+
+    @Test
+    public void checkVersion() {
+        EntityTags.checkVersion(null, 3L);
+        EntityTags.checkVersion(3L, 3L);
+    }
+
+    @Test(expected = PreconditionFailedException.class)
+    public void checkStaleVersion() {
+        EntityTags.checkVersion(2L, 3L);
+    }
+}
@@ -0,0 +1,51 @@
+package ru.mityushin.jobfinder.server.util;
+
+import org.junit.Test;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ErrorBodyWriterTest {
+
+    @Test
+    public void write() {
+        assertEquals("{\"message\":\"Not found.\"}", body("Not found."));
+    }
+
+    @Test
+    public void writeEscaped() {
+        assertEquals("{\"message\":\"Role \\\"x\\\"\\n\\\\ не найдена\"}", body("Role \"x\"\n\\ не найдена"));
+    }
+
+    @Test
+    public void writeNull() {
+        assertEquals("{\"message\":null}", body(null));
+    }
+
+    @Test
+    public void writeCached() {
+        assertSame(ErrorBodyWriter.write("Cached."), ErrorBodyWriter.write(new String("Cached.")));
+    }
+
+    @Test
+    public void writeBoundedCache() {
+        for (int i = 0; i < ErrorBodyWriter.MAX_CACHED; i++) {
+            ErrorBodyWriter.write("Message " + i);
+        }
+        assertNotSame(ErrorBodyWriter.write("Uncached."), ErrorBodyWriter.write("Uncached."));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void headersReadOnly() {
+        assertEquals(MediaType.APPLICATION_JSON_UTF8, ErrorBodyWriter.HEADERS.getContentType());
+        ErrorBodyWriter.HEADERS.add("X-Test", "value");
+    }
+
+    private static String body(String message) {
+        return new String(ErrorBodyWriter.write(message), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,70 @@
+package ru.mityushin.jobfinder.server.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class JsonArrayStreamerTest {
+    private final JsonArrayStreamer streamer = new JsonArrayStreamer(new ObjectMapper());
+
+    @Test
+    public void streamElements() throws IOException {
+        assertEquals("[\"a\",\"b\\\"\"]", write(streamer.stream(String.class,
+                consumer -> Arrays.asList("a", "b\"").forEach(consumer))));
+    }
+
+    @Test
+    public void streamEmpty() throws IOException {
+        assertEquals("[]", write(streamer.stream(String.class, consumer -> { })));
+    }
+
+    @Test
+    public void streamLeavesTargetOpen() throws IOException {
+        ClosingAwareStream out = new ClosingAwareStream();
+        streamer.stream(Integer.class, consumer -> consumer.accept(1)).writeTo(out);
+        assertFalse(out.closed);
+        assertEquals("[1]", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test(expected = IOException.class)
+    public void streamPropagatesWriteFailure() throws IOException {
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        char[] large = new char[64 * 1024];
+        Arrays.fill(large, 'x');
+        streamer.stream(String.class, consumer -> consumer.accept(new String(large))).writeTo(broken);
+    }
+
+    private static String write(StreamingResponseBody body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static class ClosingAwareStream extends ByteArrayOutputStream {
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package ru.mityushin.jobfinder.server.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import ru.mityushin.jobfinder.server.util.exception.data.InvalidParametersException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class JsonItemReaderTest {
+    private final JsonItemReader reader = new JsonItemReader(new ObjectMapper());
+
+    @Test
+    public void readArray() throws IOException {
+        assertEquals(Arrays.asList("{\"a\":1}", "2", "null"), read(" [{\"a\": 1}, 2, null] "));
+    }
+
+    @Test
+    public void readNewlineDelimited() throws IOException {
+        assertEquals(Arrays.asList("{\"a\":1}", "{\"b\":[2]}"), read("{\"a\": 1}\n{\"b\": [2]}\n"));
+    }
+
+    @Test
+    public void readEmpty() throws IOException {
+        assertEquals(Collections.emptyList(), read(""));
+        assertEquals(Collections.emptyList(), read("[]"));
+    }
+
+    @Test
+    public void rejectMalformedItem() throws IOException {
+        List<String> items = new ArrayList<>();
+        try {
+            reader.read(stream("[{\"a\": 1}, {\"a\": }]"), item -> items.add(item.toString()));
+            fail();
+        } catch (InvalidParametersException e) {
+            assertEquals(Collections.singletonList("{\"a\":1}"), items);
+            assertTrue(e.getMessage().startsWith("Item 1 is not valid JSON"));
+        }
+    }
+
+    @Test(expected = InvalidParametersException.class)
+    public void rejectUnclosedArray() throws IOException {
+        read("[{\"a\": 1}");
+    }
+
+    private List<String> read(String body) throws IOException {
+        List<String> items = new ArrayList<>();
+        reader.read(stream(body), item -> items.add(String.valueOf(item)));
+        return items;
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,47 @@
+package ru.mityushin.jobfinder.server.util.enums;
+
+import org.junit.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SecurityRoleTest {
+
+    /**
+     * Masks are persisted, so changing any of them corrupts stored roles.
+     */
+    @Test
+    public void masksAreStable() {
+        assertEquals(1, SecurityRole.ROLE_ADMIN.getMask());
+        assertEquals(2, SecurityRole.ROLE_CONTENT_MAKER.getMask());
+        assertEquals(4, SecurityRole.ROLE_MODERATOR.getMask());
+        assertEquals(8, SecurityRole.ROLE_USER.getMask());
+        assertEquals(16, SecurityRole.ROLE_ORGANIZATION_MANAGER.getMask());
+    }
+
+    @Test
+    public void roundTrip() {
+        EnumSet<SecurityRole> roles = EnumSet.of(SecurityRole.ROLE_USER, SecurityRole.ROLE_CONTENT_MAKER);
+        int mask = SecurityRole.toMask(roles);
+        assertEquals(10, mask);
+        assertEquals(roles, SecurityRole.fromMask(mask));
+        assertEquals(EnumSet.allOf(SecurityRole.class), SecurityRole.fromMask(-1));
+        assertEquals(0, SecurityRole.toMask(null));
+    }
+
+    @Test
+    public void isIn() {
+        assertTrue(SecurityRole.ROLE_USER.isIn(10));
+        assertFalse(SecurityRole.ROLE_ADMIN.isIn(10));
+    }
+
+    @Test
+    public void find() {
+        assertEquals(SecurityRole.ROLE_MODERATOR, SecurityRole.find("ROLE_MODERATOR"));
+        assertNull(SecurityRole.find("MODERATOR"));
+    }
+}
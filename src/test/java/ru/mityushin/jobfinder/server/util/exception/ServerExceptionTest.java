@@ -0,0 +1,22 @@
+package ru.mityushin.jobfinder.server.util.exception;
+
+import org.junit.Test;
+import ru.mityushin.jobfinder.server.util.exception.data.DataNotFoundException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ServerExceptionTest {
+
+    @Test
+    public void stackless() {
+        DataNotFoundException exception = new DataNotFoundException("Not found.");
+        assertEquals("Not found.", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
+    @Test
+    public void unsupportedPrincipalKeepsStackTrace() {
+        assertTrue(new UnsupportedPrincipalException("principal").getStackTrace().length > 0);
+    }
+}
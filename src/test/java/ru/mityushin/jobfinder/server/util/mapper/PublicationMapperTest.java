@@ -4,8 +4,12 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
+import org.mockito.Mockito;
+import ru.mityushin.jobfinder.server.dto.PublicationChangeDTO;
 import ru.mityushin.jobfinder.server.dto.PublicationDTO;
+import ru.mityushin.jobfinder.server.dto.PublicationSummaryDTO;
 import ru.mityushin.jobfinder.server.model.Publication;
+import ru.mityushin.jobfinder.server.repo.projection.PublicationSummaryView;
 
 import java.util.UUID;
 
@@ -50,4 +54,39 @@ public class PublicationMapperTest {
         PublicationDTO publicationDTO = PublicationMapper.map(defaultPublication);
         assertEquals(defaultPublicationDTO, publicationDTO);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void mapSummary() {
+        PublicationSummaryView view = Mockito.mock(PublicationSummaryView.class);
+        Mockito.when(view.getUuid()).thenReturn(DEFAULT_UUID);
+        Mockito.when(view.getAuthorUuid()).thenReturn(DEFAULT_UUID);
+        Mockito.when(view.getTitle()).thenReturn("Title");
+        Mockito.when(view.getDescription()).thenReturn("description");
+        Mockito.when(view.getVisible()).thenReturn(true);
+        assertEquals(PublicationSummaryDTO.builder()
+                .uuid(DEFAULT_UUID)
+                .authorUuid(DEFAULT_UUID)
+                .title("Title")
+                .description("description")
+                .visible(true)
+                .build(), PublicationMapper.mapSummary(view));
+    }
+
+    @Test
+    public void mapChange() {
+        defaultPublication.setChangeSeq(7L);
+        PublicationChangeDTO change = PublicationMapper.mapChange(defaultPublication);
+        assertEquals(Long.valueOf(7L), change.getChangeSeq());
+        assertFalse(change.getDeleted());
+        assertEquals(defaultPublicationDTO, change.getPublication());
+    }
+
+    @Test
+    public void mapChangeOfDeleted() {
+        defaultPublication.setDeleted(true);
+        PublicationChangeDTO change = PublicationMapper.mapChange(defaultPublication);
+        assertEquals(DEFAULT_UUID, change.getUuid());
+        assertTrue(change.getDeleted());
+        assertNull(change.getPublication());
+    }
+}
@@ -0,0 +1,63 @@
+package ru.mityushin.jobfinder.server.util.search;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+public class TextAnalyzerTest {
+
+    @Test
+    public void splitAndLowerCase() {
+        assertEquals(Arrays.asList("java", "8", "spring", "boot"), TextAnalyzer.analyze("Java-8, Spring_Boot!"));
+    }
+
+    @Test
+    public void dropStopWords() {
+        assertEquals(Collections.singletonList("developer"), TextAnalyzer.analyze("the Developer"));
+        assertEquals(Collections.singletonList("москв"), TextAnalyzer.analyze("в Москве"));
+    }
+
+    @Test
+    public void conflateRussianInflections() {
+        assertEquals(TextAnalyzer.analyze("разработчик"), TextAnalyzer.analyze("разработчиками"));
+        assertEquals(TextAnalyzer.analyze("разработчик"), TextAnalyzer.analyze("разработчиков"));
+        assertEquals(TextAnalyzer.analyze("удаленная"), TextAnalyzer.analyze("удалённой"));
+        assertEquals(TextAnalyzer.analyze("вакансия"), TextAnalyzer.analyze("вакансии"));
+    }
+
+    @Test
+    public void conflateEnglishInflections() {
+        assertEquals(TextAnalyzer.analyze("develop"), TextAnalyzer.analyze("developing"));
+        assertEquals(TextAnalyzer.analyze("develop"), TextAnalyzer.analyze("developed"));
+        assertEquals(TextAnalyzer.analyze("company"), TextAnalyzer.analyze("companies"));
+        assertEquals(TextAnalyzer.analyze("run"), TextAnalyzer.analyze("running"));
+        assertEquals(Collections.singletonList("bus"), TextAnalyzer.analyze("bus"));
+    }
+
+    @Test
+    public void dropOverlongTokens() {
+        char[] token = new char[TextAnalyzer.MAX_TOKEN_LENGTH + 1];
+        Arrays.fill(token, 'x');
+        assertEquals(Collections.singletonList("java"), TextAnalyzer.analyze(new String(token) + " java"));
+    }
+
+    @Test
+    public void normalizePhrase() {
+        assertEquals("java developer", TextAnalyzer.normalize("  Java -- Developer"));
+        assertEquals("удаленная ", TextAnalyzer.normalize("Удалённая, "));
+        assertEquals("", TextAnalyzer.normalize("!?"));
+    }
+
+    @Test
+    public void keepWordsAsWritten() {
+        assertEquals(Arrays.asList("the", "developers", "в", "москве"), TextAnalyzer.words("The Developers в Москве"));
+    }
+
+    @Test
+    public void analyzeNull() {
+        assertEquals(Collections.emptyList(), TextAnalyzer.analyze(null));
+    }
+}